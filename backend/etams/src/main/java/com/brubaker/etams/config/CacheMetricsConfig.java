@@ -0,0 +1,75 @@
+package com.brubaker.etams.config;
+
+import com.brubaker.etams.entity.Employee;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Publishes Hibernate second-level cache statistics on actuator.
+ * <p>
+ * For each cached region the {@code hibernate.cache.requests} counter (tagged {@code result=hit|miss}),
+ * {@code hibernate.cache.puts} and the {@code hibernate.cache.hit.ratio} gauge are read from the session
+ * factory's statistics whenever they are scraped. The ratio is NaN until the region has been read.
+ * Statistics must be enabled with {@code hibernate.generate_statistics}, otherwise every value stays at zero.
+ */
+@Configuration
+public class CacheMetricsConfig {
+
+    private static final List<String> REGIONS = List.of(Employee.CACHE_REGION, Employee.USERNAME_CACHE_REGION);
+
+    @Bean
+    public MeterBinder hibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            for (String region : REGIONS) {
+                FunctionCounter.builder("hibernate.cache.requests", statistics,
+                                count(region, CacheRegionStatistics::getHitCount))
+                        .tags("region", region, "result", "hit")
+                        .description("Second-level cache lookups")
+                        .register(registry);
+                FunctionCounter.builder("hibernate.cache.requests", statistics,
+                                count(region, CacheRegionStatistics::getMissCount))
+                        .tags("region", region, "result", "miss")
+                        .description("Second-level cache lookups")
+                        .register(registry);
+                FunctionCounter.builder("hibernate.cache.puts", statistics,
+                                count(region, CacheRegionStatistics::getPutCount))
+                        .tags("region", region)
+                        .description("Entries written to the second-level cache")
+                        .register(registry);
+                Gauge.builder("hibernate.cache.hit.ratio", statistics, stats -> hitRatio(stats, region))
+                        .tags("region", region)
+                        .description("Share of second-level cache lookups served from the cache")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static ToDoubleFunction<Statistics> count(String region, ToLongFunction<CacheRegionStatistics> counter) {
+        return stats -> {
+            CacheRegionStatistics regionStatistics = stats.getCacheRegionStatistics(region);
+            return regionStatistics != null ? counter.applyAsLong(regionStatistics) : 0;
+        };
+    }
+
+    private static double hitRatio(Statistics stats, String region) {
+        CacheRegionStatistics regionStatistics = stats.getCacheRegionStatistics(region);
+        if (regionStatistics == null) {
+            return Double.NaN;
+        }
+        long hits = regionStatistics.getHitCount();
+        long lookups = hits + regionStatistics.getMissCount();
+        return lookups > 0 ? (double) hits / lookups : Double.NaN;
+    }
+}
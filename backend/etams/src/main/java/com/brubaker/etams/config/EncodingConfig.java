@@ -0,0 +1,24 @@
+package com.brubaker.etams.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Response encodings beyond plain JSON.
+ * <p>
+ * Clients that send {@code Accept: application/cbor} get the same DTOs encoded as CBOR, which is smaller
+ * and cheaper to produce than JSON for large listings. The converter is built from Spring Boot's Jackson
+ * builder, so {@code spring.jackson.*} settings and registered modules apply exactly as they do to JSON.
+ * JSON remains the default when no Accept header is sent.
+ */
+@Configuration
+public class EncodingConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
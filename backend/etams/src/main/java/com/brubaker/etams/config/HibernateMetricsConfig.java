@@ -0,0 +1,81 @@
+package com.brubaker.etams.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the session factory's Hibernate statistics on actuator, read whenever they are scraped.
+ * <p>
+ * Totals since startup: {@code hibernate.statements}, {@code hibernate.entities} (tagged
+ * {@code event=load|fetch|insert|update|delete}), {@code hibernate.collections} ({@code event=load|fetch}),
+ * {@code hibernate.queries}, {@code hibernate.sessions} ({@code event=open|close}), {@code hibernate.flushes},
+ * {@code hibernate.transactions} ({@code result=success|failure}) and {@code hibernate.optimistic.failures};
+ * plus the {@code hibernate.query.max.time} gauge. Per-request figures are published separately by
+ * {@link com.brubaker.etams.monitoring.RequestSqlMetricsFilter}.
+ * Statistics must be enabled with {@code hibernate.generate_statistics}, otherwise every value stays at zero.
+ */
+@Configuration
+public class HibernateMetricsConfig {
+
+    @Bean
+    public MeterBinder hibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            counter(registry, "hibernate.statements", "JDBC statements prepared", statistics,
+                    Statistics::getPrepareStatementCount);
+
+            counter(registry, "hibernate.entities", "Entity operations", statistics,
+                    Statistics::getEntityLoadCount, "event", "load");
+            counter(registry, "hibernate.entities", "Entity operations", statistics,
+                    Statistics::getEntityFetchCount, "event", "fetch");
+            counter(registry, "hibernate.entities", "Entity operations", statistics,
+                    Statistics::getEntityInsertCount, "event", "insert");
+            counter(registry, "hibernate.entities", "Entity operations", statistics,
+                    Statistics::getEntityUpdateCount, "event", "update");
+            counter(registry, "hibernate.entities", "Entity operations", statistics,
+                    Statistics::getEntityDeleteCount, "event", "delete");
+
+            counter(registry, "hibernate.collections", "Collection initializations", statistics,
+                    Statistics::getCollectionLoadCount, "event", "load");
+            counter(registry, "hibernate.collections", "Collection initializations", statistics,
+                    Statistics::getCollectionFetchCount, "event", "fetch");
+
+            counter(registry, "hibernate.queries", "HQL, criteria and native queries executed", statistics,
+                    Statistics::getQueryExecutionCount);
+            counter(registry, "hibernate.sessions", "Sessions opened and closed", statistics,
+                    Statistics::getSessionOpenCount, "event", "open");
+            counter(registry, "hibernate.sessions", "Sessions opened and closed", statistics,
+                    Statistics::getSessionCloseCount, "event", "close");
+            counter(registry, "hibernate.flushes", "Session flushes", statistics,
+                    Statistics::getFlushCount);
+            counter(registry, "hibernate.transactions", "Completed transactions", statistics,
+                    Statistics::getSuccessfulTransactionCount, "result", "success");
+            counter(registry, "hibernate.transactions", "Completed transactions", statistics,
+                    stats -> stats.getTransactionCount() - stats.getSuccessfulTransactionCount(), "result", "failure");
+            counter(registry, "hibernate.optimistic.failures", "Updates rejected by a version check", statistics,
+                    Statistics::getOptimisticFailureCount);
+
+            Gauge.builder("hibernate.query.max.time", statistics, Statistics::getQueryExecutionMaxTime)
+                    .baseUnit("milliseconds")
+                    .description("Duration of the slowest query since startup")
+                    .register(registry);
+        };
+    }
+
+    private static void counter(MeterRegistry registry, String name, String description, Statistics statistics,
+                                ToDoubleFunction<Statistics> count, String... tags) {
+        FunctionCounter.builder(name, statistics, count)
+                .tags(tags)
+                .description(description)
+                .register(registry);
+    }
+}
@@ -1,8 +1,12 @@
 package com.brubaker.etams.config;
 
+import com.brubaker.etams.security.BoundedPasswordEncoder;
+import com.brubaker.etams.security.CredentialVersionRegistry;
 import com.brubaker.etams.security.JwtAuthenticationFilter;
 import com.brubaker.etams.security.JwtUtil;
 import com.brubaker.etams.service.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -23,10 +27,16 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
+    private final CredentialVersionRegistry credentialVersions;
+    private final boolean statelessAuthentication;
 
-    public SecurityConfig(CustomUserDetailsService userDetailsService, JwtUtil jwtUtil) {
+    public SecurityConfig(CustomUserDetailsService userDetailsService, JwtUtil jwtUtil,
+                          CredentialVersionRegistry credentialVersions,
+                          @Value("${jwt.stateless:true}") boolean statelessAuthentication) {
         this.userDetailsService = userDetailsService;
         this.jwtUtil = jwtUtil;
+        this.credentialVersions = credentialVersions;
+        this.statelessAuthentication = statelessAuthentication;
     }
 
     @Bean
@@ -42,9 +52,9 @@ public class SecurityConfig {
                             "http://brubakerjm.com",
                             "http://www.brubakerjm.com"
                     ));
-                    config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-                    config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
-                    config.setExposedHeaders(List.of("Authorization"));
+                    config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
+                    config.setAllowedHeaders(List.of("Authorization", "Content-Type", "If-None-Match"));
+                    config.setExposedHeaders(List.of("Authorization", "ETag"));
                     config.setAllowCredentials(true);
                     config.setMaxAge(3600L);
                     return config;
@@ -52,7 +62,10 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable()) // Disable CSRF for JWT authentication
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Streamed responses finish on an async dispatch; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.GET, "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
                         // OpenAPI and Swagger whitelisting
                         .requestMatchers(
@@ -64,6 +77,7 @@ public class SecurityConfig {
                                 "/webjars/**"
                         ).permitAll()
                         .requestMatchers("/api/employees/**").hasAuthority("ROLE_ADMIN") // Admin-only access
+                        .requestMatchers("/api/metrics/**").hasAuthority("ROLE_ADMIN") // Dashboard is admin-only
                         .requestMatchers("/api/tasks/**").authenticated() // All users can access tasks
                         .anyRequest().authenticated()
                 )
@@ -75,7 +89,7 @@ public class SecurityConfig {
                             response.sendError(403, "Forbidden: You do not have permission to access this resource.");
                         })
                 )
-                .addFilterBefore(new JwtAuthenticationFilter(jwtUtil, userDetailsService), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(new JwtAuthenticationFilter(jwtUtil, userDetailsService, credentialVersions, statelessAuthentication), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -85,8 +99,15 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt, run on a bounded pool of its own so hashing bursts cannot occupy every request thread.
+     * The pool defaults to one thread per CPU; hashing is CPU-bound, so more threads would not add throughput.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength,
+                                           @Value("${security.hashing.threads:0}") int threads,
+                                           @Value("${security.hashing.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity);
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.brubaker.etams.config;
+
+import com.brubaker.etams.entity.Task;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the {@code task_seq} sequence past every existing task id before the application takes requests.
+ * <p>
+ * A database whose tasks were created with IDENTITY ids, or restored from a dump, can hold ids beyond the
+ * sequence: {@code ddl-auto=update} creates a missing sequence starting at 1. The first insert would then
+ * collide with an existing task, and delta sync relies on ids never being reused. Each value read from the
+ * sequence is the top of a block of {@link Task#ID_ALLOCATION_SIZE} ids, so a sequence that is behind is set
+ * to {@code MAX(task_id) + ID_ALLOCATION_SIZE}.
+ * <p>
+ * Where the database has native sequences the check reads one value, leaving a gap of one block per startup.
+ * On MySQL the sequence is the single-row {@code task_seq} table, which is read and updated in place.
+ * Runs while the context starts, after the schema update and before the web server accepts connections.
+ */
+@Component
+public class TaskSequenceInitializer {
+
+    private static final String SEQUENCE = "task_seq";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public TaskSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    /**
+     * Advances the sequence if the next block it hands out could contain an existing task id.
+     */
+    @PostConstruct
+    public void alignSequence() {
+        long maxId = jdbcTemplate.queryForObject("select coalesce(max(task_id), 0) from tasks", Long.class);
+        long required = maxId + Task.ID_ALLOCATION_SIZE;
+
+        if (dialect.getSequenceSupport().supportsSequences()) {
+            Long next = jdbcTemplate.queryForObject(
+                    dialect.getSequenceSupport().getSequenceNextValString(SEQUENCE), Long.class);
+            if (next == null || next < required) {
+                jdbcTemplate.execute("alter sequence " + SEQUENCE + " restart with " + required);
+            }
+            return;
+        }
+
+        // Table emulation: next_val is the value the next block is drawn from
+        Long next = jdbcTemplate.query("select next_val from " + SEQUENCE,
+                rs -> rs.next() ? rs.getLong(1) : null);
+        if (next == null) {
+            jdbcTemplate.update("insert into " + SEQUENCE + " (next_val) values (?)", required);
+        } else if (next < required) {
+            jdbcTemplate.update("update " + SEQUENCE + " set next_val = ?", required);
+        }
+    }
+}
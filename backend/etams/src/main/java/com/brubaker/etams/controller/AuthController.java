@@ -1,7 +1,11 @@
 package com.brubaker.etams.controller;
 
 import com.brubaker.etams.dto.LoginRequestDTO;
+import com.brubaker.etams.security.LoginRateLimiter;
 import com.brubaker.etams.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -20,9 +24,11 @@ public class AuthController {
 
 
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
 
-    public AuthController(AuthService authService) {
+    public AuthController(AuthService authService, LoginRateLimiter loginRateLimiter) {
         this.authService = authService;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
     /**
@@ -31,13 +37,21 @@ public class AuthController {
      * This method verifies the provided username and password, authenticates the user,
      * retrieves employee details, and generates a JWT token for authorized access.
      * It also includes proper HTTP error responses for invalid credentials and server errors.
+     * Attempts over the per-IP or per-username rate limit are refused with 429 before any password is hashed.
      *
      * @param loginRequest The login request containing username and password.
+     * @param request      The HTTP request, used for the client address.
      * @return A `ResponseEntity<LoginResponseDTO>` containing the JWT token and user details if authentication is successful.
      * Returns error responses for failed authentication scenarios.
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequestDTO loginRequest) {
+    public ResponseEntity<?> login(@RequestBody LoginRequestDTO loginRequest, HttpServletRequest request) {
+        long waitMillis = loginRateLimiter.tryAcquire(request.getRemoteAddr(), loginRequest.getUsername());
+        if (waitMillis > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf((waitMillis + 999) / 1000))
+                    .body("Too many login attempts. Please try again later.");
+        }
         return authService.login(loginRequest);
     }
 }
\ No newline at end of file
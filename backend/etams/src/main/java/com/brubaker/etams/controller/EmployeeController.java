@@ -1,11 +1,15 @@
 package com.brubaker.etams.controller;
 
 import com.brubaker.etams.dto.EmployeeDTO;
+import com.brubaker.etams.dto.EmployeeLookupDTO;
 import com.brubaker.etams.dto.PasswordUpdateDTO;
+import com.brubaker.etams.service.CollectionVersion;
 import com.brubaker.etams.service.EmployeeServiceImpl;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,14 +18,29 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeServiceImpl employeeService;
+    private final CollectionVersion collectionVersion;
 
-    public EmployeeController(EmployeeServiceImpl employeeService) {
+    public EmployeeController(EmployeeServiceImpl employeeService, CollectionVersion collectionVersion) {
         this.employeeService = employeeService;
+        this.collectionVersion = collectionVersion;
     }
 
     @GetMapping
-    public ResponseEntity<List<EmployeeDTO>> getAllEmployees() {
+    public ResponseEntity<List<EmployeeDTO>> getAllEmployees(WebRequest request) {
+        // 304 while the caller's copy is current, without loading or serializing anything
+        String eTag = collectionVersion.eTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
         List<EmployeeDTO> employees = employeeService.getAllEmployeesWithTaskCount();
+        return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache().cachePrivate()).body(employees);
+    }
+
+    @GetMapping("/lookup")
+    public ResponseEntity<List<EmployeeLookupDTO>> lookupEmployees(@RequestParam String prefix,
+                                                                   @RequestParam(required = false) Integer limit) {
+        List<EmployeeLookupDTO> employees = employeeService.lookupEmployees(prefix, limit);
         return ResponseEntity.ok(employees);
     }
 
@@ -0,0 +1,37 @@
+package com.brubaker.etams.controller;
+
+import com.brubaker.etams.dto.DashboardMetricsDTO;
+import com.brubaker.etams.service.MetricsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller exposing server-computed metrics.
+ */
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final MetricsService metricsService;
+
+    /**
+     * Constructs a MetricsController with the required MetricsService dependency.
+     *
+     * @param metricsService the service for metrics calculations
+     */
+    public MetricsController(MetricsService metricsService) {
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Retrieves the dashboard metrics.
+     *
+     * @return a ResponseEntity containing the DashboardMetricsDTO
+     */
+    @GetMapping("/dashboard")
+    public ResponseEntity<DashboardMetricsDTO> getDashboardMetrics() {
+        return ResponseEntity.ok(metricsService.getDashboardMetrics());
+    }
+}
@@ -0,0 +1,125 @@
+package com.brubaker.etams.controller;
+
+import com.brubaker.etams.dto.OverdueAssigneeDTO;
+import com.brubaker.etams.dto.TaskPageDTO;
+import com.brubaker.etams.dto.TimeInStatusDTO;
+import com.brubaker.etams.service.ActivityReportFormat;
+import com.brubaker.etams.service.ReportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for server-side reports.
+ */
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    private final ReportService reportService;
+    private final long activityTimeoutMs;
+
+    /**
+     * Constructs a ReportController with the required ReportService dependency.
+     *
+     * @param reportService     the service for report queries
+     * @param activityTimeoutMs time allowed to stream one activity export
+     */
+    public ReportController(ReportService reportService,
+                            @Value("${reports.activity.timeout-ms:600000}") long activityTimeoutMs) {
+        this.reportService = reportService;
+        this.activityTimeoutMs = activityTimeoutMs;
+    }
+
+    /**
+     * Retrieves overdue tasks, one keyset page at a time.
+     *
+     * @param cursor    the cursor returned with the previous page
+     * @param limit     the maximum number of tasks per page
+     * @param direction asc for most overdue first (default), desc for least overdue first
+     * @return a ResponseEntity containing the TaskPageDTO
+     */
+    @GetMapping("/overdue")
+    public ResponseEntity<TaskPageDTO> getOverdueTasks(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer limit,
+                                                       @RequestParam(required = false) String direction) {
+        return ResponseEntity.ok(reportService.getOverdueTasks(cursor, limit, direction));
+    }
+
+    /**
+     * Retrieves the number of overdue tasks per assignee.
+     *
+     * @return a ResponseEntity containing a list of OverdueAssigneeDTO objects
+     */
+    @GetMapping("/overdue/by-assignee")
+    public ResponseEntity<List<OverdueAssigneeDTO>> getOverdueTasksByAssignee() {
+        return ResponseEntity.ok(reportService.getOverdueTasksByAssignee());
+    }
+
+    /**
+     * Totals the time tasks spent in each status, for cycle-time analysis. Answered from the status
+     * journal, without querying the database.
+     *
+     * @param taskId     only this task, optional
+     * @param employeeId only time while assigned to this employee, optional
+     * @param from       first date to include (yyyy-MM-dd, UTC), optional
+     * @param to         last date to include (yyyy-MM-dd, UTC), optional
+     * @return a ResponseEntity containing the TimeInStatusDTO
+     */
+    @GetMapping("/time-in-status")
+    public ResponseEntity<TimeInStatusDTO> getTimeInStatus(
+            @RequestParam(required = false) Integer taskId,
+            @RequestParam(required = false) Integer employeeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        return ResponseEntity.ok(reportService.getTimeInStatus(taskId, employeeId, from, to));
+    }
+
+    /**
+     * Streams the tasks created in a date range, oldest first, as NDJSON or CSV.
+     * Rows are written while they are read from the database, so the export is never held in memory.
+     *
+     * @param from    first creation date to include (yyyy-MM-dd, UTC), optional
+     * @param to      last creation date to include (yyyy-MM-dd, UTC), optional
+     * @param format  ndjson (default) or csv
+     * @param request the current request, whose async timeout is raised for the export
+     * @return a ResponseEntity whose body is written after the handler returns
+     */
+    @GetMapping("/activity")
+    public ResponseEntity<StreamingResponseBody> getActivityReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String format,
+            HttpServletRequest request) {
+        // Validate before streaming starts; once the body is being written the status can no longer change
+        ActivityReportFormat reportFormat = ActivityReportFormat.fromParam(format);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+
+        // Only this response outlives the default async timeout; the body is started with the request's timeout
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(activityTimeoutMs);
+
+        StreamingResponseBody body = out -> reportService.writeActivityReport(from, to, reportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(reportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"task-activity." + reportFormat.getParam() + "\"")
+                .body(body);
+    }
+}
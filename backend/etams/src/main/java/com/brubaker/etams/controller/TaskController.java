@@ -1,10 +1,23 @@
 package com.brubaker.etams.controller;
 
+import com.brubaker.etams.dto.BulkStatusChangeDTO;
+import com.brubaker.etams.dto.BulkTaskResultDTO;
+import com.brubaker.etams.dto.CompactTaskListDTO;
+import com.brubaker.etams.dto.TaskChangesDTO;
 import com.brubaker.etams.dto.TaskDTO;
+import com.brubaker.etams.dto.TaskPageDTO;
+import com.brubaker.etams.dto.TaskPatchDTO;
+import com.brubaker.etams.dto.TaskSearchResultDTO;
+import com.brubaker.etams.service.CollectionVersion;
 import com.brubaker.etams.service.TaskService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -16,32 +29,147 @@ import java.util.List;
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+    // Cached copies must be revalidated, and only the requesting user may keep one
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final TaskService taskService;
+    private final CollectionVersion collectionVersion;
 
     /**
-     * Constructs a TaskController with the required TaskService dependency.
+     * Constructs a TaskController with the required dependencies.
      *
-     * @param taskService the service for task-related operations
+     * @param taskService       the service for task-related operations
+     * @param collectionVersion the write version the list ETags are derived from
      */
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, CollectionVersion collectionVersion) {
         this.taskService = taskService;
+        this.collectionVersion = collectionVersion;
     }
 
     /**
-     * Retrieves all tasks.
+     * Retrieves tasks.
+     * <p>
+     * Without paging parameters the full list is returned, as before. When any of {@code cursor},
+     * {@code limit}, {@code sort} or {@code direction} is supplied, a keyset-paginated {@link TaskPageDTO}
+     * is returned instead; pass its {@code nextCursor} back (with the same sort and direction) to fetch
+     * the following page.
+     * <p>
+     * Responses carry a weak ETag; a request whose {@code If-None-Match} still matches gets 304 without
+     * the tasks being loaded.
      *
-     * @return a ResponseEntity containing a list of TaskDTO objects
+     * @param cursor    the cursor returned with the previous page
+     * @param limit     the maximum number of tasks per page
+     * @param sort      the sort field: id, deadline, status, updatedAt or assigneeLastName
+     * @param direction asc or desc
+     * @param request   the current request, checked against the ETag
+     * @return a ResponseEntity containing either a list of TaskDTO objects or a TaskPageDTO
      */
     @GetMapping
-    public ResponseEntity<List<TaskDTO>> getAllTasks() {
-        List<TaskDTO> tasks = taskService.getAllTasks();
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<?> getAllTasks(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limit,
+                                         @RequestParam(required = false) String sort,
+                                         @RequestParam(required = false) String direction,
+                                         WebRequest request) {
+        String eTag = collectionVersion.eTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        if (cursor == null && limit == null && sort == null && direction == null) {
+            List<TaskDTO> tasks = taskService.getAllTasks();
+            return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(tasks);
+        }
+
+        TaskPageDTO page = taskService.getTaskPage(cursor, limit, sort, direction);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(page);
+    }
+
+    /**
+     * Retrieves all tasks in the compact layout: each assignee's name is sent once in an id-keyed
+     * dictionary, and timestamps are epoch milliseconds. Conditional requests behave as for the full list.
+     *
+     * @param request the current request, checked against the ETag
+     * @return a ResponseEntity containing the CompactTaskListDTO
+     */
+    @GetMapping("/compact")
+    public ResponseEntity<CompactTaskListDTO> getAllTasksCompact(WebRequest request) {
+        String eTag = collectionVersion.eTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        CompactTaskListDTO tasks = taskService.getAllTasksCompact();
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(tasks);
+    }
+
+    /**
+     * Searches task titles and descriptions.
+     *
+     * @param q    the search text; every word must match, and words also match as prefixes
+     * @param page the zero-based page number
+     * @param size the maximum number of tasks per page
+     * @return a ResponseEntity containing the ranked TaskSearchResultDTO
+     */
+    @GetMapping("/search")
+    public ResponseEntity<TaskSearchResultDTO> searchTasks(@RequestParam String q,
+                                                           @RequestParam(required = false) Integer page,
+                                                           @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(taskService.searchTasks(q, page, size));
     }
 
+    /**
+     * Retrieves the tasks created, updated or deleted since the caller last synced.
+     * <p>
+     * Call without {@code since} to get every task, then pass the returned {@code nextToken} on the next call
+     * to receive only what changed. A token older than the tombstone retention period is answered with 410,
+     * and the client should start again without one.
+     *
+     * @param since the {@code nextToken} from the previous response
+     * @return a ResponseEntity containing the TaskChangesDTO
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesDTO> getTaskChanges(@RequestParam(required = false) String since) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(taskService.getTaskChanges(since));
+    }
+
+    /**
+     * Retrieves the tasks assigned to an employee, answering 304 while the caller's ETag is current.
+     *
+     * @param employeeId the ID of the assigned employee
+     * @param request    the current request, checked against the ETag
+     * @return a ResponseEntity containing the list of TaskDTO objects
+     */
     @GetMapping("/user/{employeeId}")
-    public ResponseEntity<List<TaskDTO>> getTasksByEmployeeId(@PathVariable Integer employeeId) {
+    public ResponseEntity<List<TaskDTO>> getTasksByEmployeeId(@PathVariable Integer employeeId, WebRequest request) {
+        String eTag = collectionVersion.eTag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
         List<TaskDTO> tasks = taskService.getTasksByEmployeeId(employeeId);
-        return ResponseEntity.ok(tasks);
+        return ResponseEntity.ok().eTag(eTag).cacheControl(REVALIDATE).body(tasks);
+    }
+
+    /**
+     * Streams committed task changes as Server-Sent Events, so clients can apply them instead of refetching.
+     * <p>
+     * Events are named {@code created}, {@code updated} or {@code deleted} and carry a TaskEventDTO as JSON.
+     * Admins receive every change, other users changes to their own tasks. A client that falls behind is
+     * disconnected and should reconnect and reload its list; when too many streams are open the request
+     * is answered with 503.
+     *
+     * @param authentication the authenticated user
+     * @return the event stream
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTasks(Authentication authentication) {
+        boolean admin = authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+        SseEmitter emitter = taskService.streamChanges(authentication.getName(), admin);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header("X-Accel-Buffering", "no") // Keep reverse proxies from buffering the stream
+                .body(emitter);
     }
 
     /**
@@ -69,6 +197,21 @@ public class TaskController {
         return ResponseEntity.ok(updatedTask);
     }
 
+    /**
+     * Partially updates a task: only the fields present in the body are changed.
+     * <p>
+     * Send the {@code version} from the last read to have the update rejected with 409 if someone else
+     * changed the task in the meantime; the response carries the new version.
+     *
+     * @param id    the ID of the task to be updated
+     * @param patch the fields to change
+     * @return a ResponseEntity containing the updated TaskDTO
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<TaskDTO> patchTask(@PathVariable Integer id, @RequestBody TaskPatchDTO patch) {
+        return ResponseEntity.ok(taskService.patchTask(id, patch));
+    }
+
     /**
      * Deletes a task.
      *
@@ -80,4 +223,48 @@ public class TaskController {
         taskService.deleteTask(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates many tasks in one transaction. Invalid items are rejected individually.
+     *
+     * @param taskDTOs the tasks to create
+     * @return a ResponseEntity containing one BulkTaskResultDTO per item, in request order
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkTaskResultDTO>> createTasks(@RequestBody List<TaskDTO> taskDTOs) {
+        return ResponseEntity.ok(taskService.createTasks(taskDTOs));
+    }
+
+    /**
+     * Updates many tasks in one transaction. Each item must carry the id of the task it replaces.
+     *
+     * @param taskDTOs the updated task data
+     * @return a ResponseEntity containing one BulkTaskResultDTO per item, in request order
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<List<BulkTaskResultDTO>> updateTasks(@RequestBody List<TaskDTO> taskDTOs) {
+        return ResponseEntity.ok(taskService.updateTasks(taskDTOs));
+    }
+
+    /**
+     * Moves many tasks to the same status in one transaction.
+     *
+     * @param request the task ids and the new status
+     * @return a ResponseEntity containing one BulkTaskResultDTO per id, in request order
+     */
+    @PatchMapping("/bulk/status")
+    public ResponseEntity<List<BulkTaskResultDTO>> changeTaskStatus(@Valid @RequestBody BulkStatusChangeDTO request) {
+        return ResponseEntity.ok(taskService.changeTaskStatus(request.getIds(), request.getStatus()));
+    }
+
+    /**
+     * Deletes many tasks in one transaction.
+     *
+     * @param ids the ids of the tasks to delete
+     * @return a ResponseEntity containing one BulkTaskResultDTO per id, in request order
+     */
+    @DeleteMapping("/bulk")
+    public ResponseEntity<List<BulkTaskResultDTO>> deleteTasks(@RequestBody List<Integer> ids) {
+        return ResponseEntity.ok(taskService.deleteTasks(ids));
+    }
+}
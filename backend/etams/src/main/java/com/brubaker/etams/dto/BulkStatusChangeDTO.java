@@ -0,0 +1,44 @@
+package com.brubaker.etams.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Request body for moving many tasks to the same status.
+ */
+public class BulkStatusChangeDTO {
+
+    @NotNull(message = "Task ids must not be null")
+    private List<Integer> ids;
+
+    @NotBlank(message = "Status must not be blank")
+    private String status;
+
+    // Constructors
+    public BulkStatusChangeDTO() {
+    }
+
+    public BulkStatusChangeDTO(List<Integer> ids, String status) {
+        this.ids = ids;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public List<Integer> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Integer> ids) {
+        this.ids = ids;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
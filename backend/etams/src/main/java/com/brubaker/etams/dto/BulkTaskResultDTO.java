@@ -0,0 +1,85 @@
+package com.brubaker.etams.dto;
+
+/**
+ * Outcome of one item of a bulk task request.
+ * Results are returned in request order; {@code index} is the item's position in the request.
+ */
+public class BulkTaskResultDTO {
+
+    private int index;
+
+    private Integer id;
+
+    private boolean success;
+
+    /**
+     * Reason the item was rejected, or null on success.
+     */
+    private String error;
+
+    /**
+     * The task as stored after the operation, or null for deletions and failures.
+     */
+    private TaskDTO task;
+
+    // Constructors
+    public BulkTaskResultDTO() {
+    }
+
+    public BulkTaskResultDTO(int index, Integer id, boolean success, String error, TaskDTO task) {
+        this.index = index;
+        this.id = id;
+        this.success = success;
+        this.error = error;
+        this.task = task;
+    }
+
+    public static BulkTaskResultDTO succeeded(int index, Integer id, TaskDTO task) {
+        return new BulkTaskResultDTO(index, id, true, null, task);
+    }
+
+    public static BulkTaskResultDTO failed(int index, Integer id, String error) {
+        return new BulkTaskResultDTO(index, id, false, error, null);
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public TaskDTO getTask() {
+        return task;
+    }
+
+    public void setTask(TaskDTO task) {
+        this.task = task;
+    }
+}
@@ -0,0 +1,128 @@
+package com.brubaker.etams.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+/**
+ * Task row of the compact listing layout.
+ * The assignee is sent by id only (names are in the listing's employee dictionary),
+ * and timestamps are epoch milliseconds rather than ISO strings. Null fields are omitted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompactTaskDTO {
+
+    private Integer id;
+
+    private String title;
+
+    private String description;
+
+    private String status;
+
+    private LocalDate deadline;
+
+    /**
+     * Key into {@link CompactTaskListDTO#getEmployees()}, or null if unassigned.
+     */
+    private Integer assignedEmployeeId;
+
+    private Long createdAt;
+
+    private Long updatedAt;
+
+    /**
+     * Version the task was read at; clients send it back with an update, as with {@link TaskDTO}.
+     */
+    private Long version;
+
+    // Constructors
+    public CompactTaskDTO() {
+    }
+
+    public CompactTaskDTO(Integer id, String title, String description, String status, LocalDate deadline,
+                          Integer assignedEmployeeId, Long createdAt, Long updatedAt, Long version) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.deadline = deadline;
+        this.assignedEmployeeId = assignedEmployeeId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDate getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(LocalDate deadline) {
+        this.deadline = deadline;
+    }
+
+    public Integer getAssignedEmployeeId() {
+        return assignedEmployeeId;
+    }
+
+    public void setAssignedEmployeeId(Integer assignedEmployeeId) {
+        this.assignedEmployeeId = assignedEmployeeId;
+    }
+
+    public Long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
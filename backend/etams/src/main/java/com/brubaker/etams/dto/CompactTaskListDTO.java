@@ -0,0 +1,44 @@
+package com.brubaker.etams.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dictionary-style task listing: each referenced employee's display name is sent once,
+ * keyed by id, instead of being repeated on every task.
+ */
+public class CompactTaskListDTO {
+
+    /**
+     * Display names of the assigned employees, keyed by employee id.
+     */
+    private Map<Integer, String> employees;
+
+    private List<CompactTaskDTO> tasks;
+
+    // Constructors
+    public CompactTaskListDTO() {
+    }
+
+    public CompactTaskListDTO(Map<Integer, String> employees, List<CompactTaskDTO> tasks) {
+        this.employees = employees;
+        this.tasks = tasks;
+    }
+
+    // Getters and Setters
+    public Map<Integer, String> getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(Map<Integer, String> employees) {
+        this.employees = employees;
+    }
+
+    public List<CompactTaskDTO> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<CompactTaskDTO> tasks) {
+        this.tasks = tasks;
+    }
+}
@@ -0,0 +1,82 @@
+package com.brubaker.etams.dto;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object carrying the pre-aggregated figures shown on the dashboard.
+ */
+public class DashboardMetricsDTO {
+
+    private long totalEmployees;
+
+    private long totalTasks;
+
+    /**
+     * Number of tasks per status, keyed by status name (e.g., PENDING, IN_PROGRESS).
+     * Every status is present, with a zero count if no task has it.
+     */
+    private Map<String, Long> statusCounts;
+
+    /**
+     * Number of tasks in the UNASSIGNED status, as the task list's "Unassigned Tasks" card counts them.
+     */
+    private long unassignedTasks;
+
+    /**
+     * Number of tasks whose deadline is before today and that are not completed.
+     */
+    private long overdueTasks;
+
+    // Constructors
+    public DashboardMetricsDTO() {
+    }
+
+    public DashboardMetricsDTO(long totalEmployees, long totalTasks, Map<String, Long> statusCounts, long unassignedTasks, long overdueTasks) {
+        this.totalEmployees = totalEmployees;
+        this.totalTasks = totalTasks;
+        this.statusCounts = statusCounts;
+        this.unassignedTasks = unassignedTasks;
+        this.overdueTasks = overdueTasks;
+    }
+
+    // Getters and Setters
+    public long getTotalEmployees() {
+        return totalEmployees;
+    }
+
+    public void setTotalEmployees(long totalEmployees) {
+        this.totalEmployees = totalEmployees;
+    }
+
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public void setTotalTasks(long totalTasks) {
+        this.totalTasks = totalTasks;
+    }
+
+    public Map<String, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public void setStatusCounts(Map<String, Long> statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+
+    public long getUnassignedTasks() {
+        return unassignedTasks;
+    }
+
+    public void setUnassignedTasks(long unassignedTasks) {
+        this.unassignedTasks = unassignedTasks;
+    }
+
+    public long getOverdueTasks() {
+        return overdueTasks;
+    }
+
+    public void setOverdueTasks(long overdueTasks) {
+        this.overdueTasks = overdueTasks;
+    }
+}
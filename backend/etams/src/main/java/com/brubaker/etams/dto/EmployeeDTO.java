@@ -20,6 +20,9 @@ public class EmployeeDTO {
     private String createdAt;
     private String updatedAt;
     private int taskCount;
+    private int pendingTaskCount;
+    private int inProgressTaskCount;
+    private int completedTaskCount;
 
     // Password field for creating or updating passwords
     private String password;
@@ -105,6 +108,30 @@ public class EmployeeDTO {
         this.taskCount = taskCount;
     }
 
+    public int getPendingTaskCount() {
+        return pendingTaskCount;
+    }
+
+    public void setPendingTaskCount(int pendingTaskCount) {
+        this.pendingTaskCount = pendingTaskCount;
+    }
+
+    public int getInProgressTaskCount() {
+        return inProgressTaskCount;
+    }
+
+    public void setInProgressTaskCount(int inProgressTaskCount) {
+        this.inProgressTaskCount = inProgressTaskCount;
+    }
+
+    public int getCompletedTaskCount() {
+        return completedTaskCount;
+    }
+
+    public void setCompletedTaskCount(int completedTaskCount) {
+        this.completedTaskCount = completedTaskCount;
+    }
+
     public String getPassword() {
         return password;
     }
@@ -0,0 +1,40 @@
+package com.brubaker.etams.dto;
+
+/**
+ * Minimal employee reference returned by the type-ahead lookup.
+ */
+public class EmployeeLookupDTO {
+
+    private Integer id;
+
+    /**
+     * Full name of the employee, for display purposes.
+     */
+    private String displayName;
+
+    // Constructors
+    public EmployeeLookupDTO() {
+    }
+
+    public EmployeeLookupDTO(Integer id, String displayName) {
+        this.id = id;
+        this.displayName = displayName;
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public void setDisplayName(String displayName) {
+        this.displayName = displayName;
+    }
+}
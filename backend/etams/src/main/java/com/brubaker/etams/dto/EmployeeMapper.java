@@ -1,6 +1,7 @@
 package com.brubaker.etams.dto;
 
 import com.brubaker.etams.entity.Employee;
+import com.brubaker.etams.repository.EmployeeTaskCount;
 
 import java.time.format.DateTimeFormatter;
 
@@ -17,12 +18,33 @@ public class EmployeeMapper {
         dto.setUsername(employee.getUsername());
         dto.setRole(employee.getRole());
         dto.setAdmin(employee.isAdmin());
-        dto.setTaskCount(employee.getTasks() != null ? employee.getTasks().size() : 0);
         dto.setCreatedAt(employee.getCreatedAt() != null ? employee.getCreatedAt().toString() : null);
         dto.setUpdatedAt(employee.getUpdatedAt() != null ? employee.getUpdatedAt().toString() : null);
         return dto;
     }
 
+    /**
+     * Maps an employee projection, including its task counts, to a DTO.
+     * Unlike {@link #toDTO(Employee)}, this never touches the lazy {@code tasks} collection.
+     */
+    public EmployeeDTO toDTO(EmployeeTaskCount employee) {
+        EmployeeDTO dto = new EmployeeDTO();
+        dto.setId(employee.id());
+        dto.setFirstName(employee.firstName());
+        dto.setLastName(employee.lastName());
+        dto.setEmail(employee.email());
+        dto.setUsername(employee.username());
+        dto.setRole(employee.role());
+        dto.setAdmin(employee.admin());
+        dto.setTaskCount((int) employee.taskCount());
+        dto.setPendingTaskCount((int) employee.pendingTaskCount());
+        dto.setInProgressTaskCount((int) employee.inProgressTaskCount());
+        dto.setCompletedTaskCount((int) employee.completedTaskCount());
+        dto.setCreatedAt(employee.createdAt() != null ? employee.createdAt().toString() : null);
+        dto.setUpdatedAt(employee.updatedAt() != null ? employee.updatedAt().toString() : null);
+        return dto;
+    }
+
     public Employee toEntity(EmployeeDTO employeeDTO) {
         Employee employee = new Employee();
         employee.setId(employeeDTO.getId());
@@ -0,0 +1,70 @@
+package com.brubaker.etams.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object summarizing the overdue tasks of a single assignee.
+ */
+public class OverdueAssigneeDTO {
+
+    /**
+     * ID of the assigned employee, or null for unassigned tasks.
+     */
+    private Integer employeeId;
+
+    /**
+     * Full name of the assigned employee, for display purposes.
+     */
+    private String employeeName;
+
+    private long overdueCount;
+
+    /**
+     * Earliest deadline among the assignee's overdue tasks.
+     */
+    private LocalDate oldestDeadline;
+
+    // Constructors
+    public OverdueAssigneeDTO() {
+    }
+
+    public OverdueAssigneeDTO(Integer employeeId, String employeeName, long overdueCount, LocalDate oldestDeadline) {
+        this.employeeId = employeeId;
+        this.employeeName = employeeName;
+        this.overdueCount = overdueCount;
+        this.oldestDeadline = oldestDeadline;
+    }
+
+    // Getters and Setters
+    public Integer getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Integer employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getEmployeeName() {
+        return employeeName;
+    }
+
+    public void setEmployeeName(String employeeName) {
+        this.employeeName = employeeName;
+    }
+
+    public long getOverdueCount() {
+        return overdueCount;
+    }
+
+    public void setOverdueCount(long overdueCount) {
+        this.overdueCount = overdueCount;
+    }
+
+    public LocalDate getOldestDeadline() {
+        return oldestDeadline;
+    }
+
+    public void setOldestDeadline(LocalDate oldestDeadline) {
+        this.oldestDeadline = oldestDeadline;
+    }
+}
@@ -0,0 +1,60 @@
+package com.brubaker.etams.dto;
+
+import java.util.List;
+
+/**
+ * Changes to the task listing since a sync token.
+ * Without a token, {@code changed} is the full listing and {@code deleted} is empty.
+ */
+public class TaskChangesDTO {
+
+    /**
+     * Tasks created or updated since the token, in update order. May repeat tasks the client already has.
+     */
+    private List<TaskDTO> changed;
+
+    /**
+     * Ids of the tasks deleted since the token.
+     */
+    private List<Integer> deleted;
+
+    /**
+     * Token to send as {@code since} on the next request.
+     */
+    private String nextToken;
+
+    // Constructors
+    public TaskChangesDTO() {
+    }
+
+    public TaskChangesDTO(List<TaskDTO> changed, List<Integer> deleted, String nextToken) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.nextToken = nextToken;
+    }
+
+    // Getters and Setters
+    public List<TaskDTO> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<TaskDTO> changed) {
+        this.changed = changed;
+    }
+
+    public List<Integer> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<Integer> deleted) {
+        this.deleted = deleted;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public void setNextToken(String nextToken) {
+        this.nextToken = nextToken;
+    }
+}
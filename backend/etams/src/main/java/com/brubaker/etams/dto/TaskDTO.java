@@ -36,11 +36,17 @@ public class TaskDTO {
 
     private String updatedAt;
 
+    /**
+     * Version the task was read at. Sent back with an update, it makes the update fail with 409
+     * if the task has changed since; omitted, the update applies unconditionally.
+     */
+    private Long version;
+
     // Constructors
     public TaskDTO() {
     }
 
-    public TaskDTO(Integer id, String title, String description, String status, LocalDate deadline, Integer assignedEmployeeId, String assignedEmployeeName, String createdAt, String updatedAt) {
+    public TaskDTO(Integer id, String title, String description, String status, LocalDate deadline, Integer assignedEmployeeId, String assignedEmployeeName, String createdAt, String updatedAt, Long version) {
         this.id = id;
         this.title = title;
         this.description = description;
@@ -50,6 +56,7 @@ public class TaskDTO {
         this.assignedEmployeeName = assignedEmployeeName;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
     }
 
     // Getters and Setters
@@ -124,4 +131,12 @@ public class TaskDTO {
     public void setUpdatedAt(String updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
\ No newline at end of file
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,70 @@
+package com.brubaker.etams.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One change pushed on the task stream.
+ * <p>
+ * {@code created} and {@code updated} events carry the task in the compact layout plus its assignee's
+ * display name; {@code deleted} events carry only the id. A non-admin subscriber also receives
+ * {@code deleted} for a task that was reassigned away from them. Null fields are omitted.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskEventDTO {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+
+    private String type;
+
+    private Integer id;
+
+    private CompactTaskDTO task;
+
+    private String assignedEmployeeName;
+
+    // Constructors
+    public TaskEventDTO() {
+    }
+
+    public TaskEventDTO(String type, Integer id, CompactTaskDTO task, String assignedEmployeeName) {
+        this.type = type;
+        this.id = id;
+        this.task = task;
+        this.assignedEmployeeName = assignedEmployeeName;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public CompactTaskDTO getTask() {
+        return task;
+    }
+
+    public void setTask(CompactTaskDTO task) {
+        this.task = task;
+    }
+
+    public String getAssignedEmployeeName() {
+        return assignedEmployeeName;
+    }
+
+    public void setAssignedEmployeeName(String assignedEmployeeName) {
+        this.assignedEmployeeName = assignedEmployeeName;
+    }
+}
@@ -2,6 +2,13 @@ package com.brubaker.etams.dto;
 
 import com.brubaker.etams.entity.Task;
 import com.brubaker.etams.entity.TaskStatus;
+import com.brubaker.etams.repository.TaskRow;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public class TaskMapper {
 
@@ -24,7 +31,83 @@ public class TaskMapper {
                 task.getAssignedEmployee() != null ? task.getAssignedEmployee().getId() : null,
                 assignedEmployeeName,
                 task.getCreatedAt() != null ? task.getCreatedAt().toString() : null,
-                task.getUpdatedAt() != null ? task.getUpdatedAt().toString() : null
+                task.getUpdatedAt() != null ? task.getUpdatedAt().toString() : null,
+                task.getVersion()
+        );
+    }
+
+    /**
+     * Maps a projected task row to a DTO. The assignee's name is already part of the row,
+     * so this never triggers a lazy load.
+     */
+    public TaskDTO toDTO(TaskRow task) {
+        if (task == null) {
+            return null;
+        }
+
+        String assignedEmployeeName = null;
+        if (task.assignedEmployeeId() != null) {
+            assignedEmployeeName = task.assignedEmployeeFirstName() + " " + task.assignedEmployeeLastName();
+        }
+
+        return new TaskDTO(
+                task.id(),
+                task.title(),
+                task.description(),
+                task.status().toString(),
+                task.deadline(),
+                task.assignedEmployeeId(),
+                assignedEmployeeName,
+                task.createdAt() != null ? task.createdAt().toString() : null,
+                task.updatedAt() != null ? task.updatedAt().toString() : null,
+                task.version()
+        );
+    }
+
+    /**
+     * Builds the dictionary-style listing; each assignee's name is added once, on first reference.
+     */
+    public CompactTaskListDTO toCompactListDTO(List<TaskRow> rows) {
+        Map<Integer, String> employees = new LinkedHashMap<>();
+        List<CompactTaskDTO> tasks = new ArrayList<>(rows.size());
+        for (TaskRow task : rows) {
+            if (task.assignedEmployeeId() != null && !employees.containsKey(task.assignedEmployeeId())) {
+                employees.put(task.assignedEmployeeId(),
+                        task.assignedEmployeeFirstName() + " " + task.assignedEmployeeLastName());
+            }
+            tasks.add(new CompactTaskDTO(
+                    task.id(),
+                    task.title(),
+                    task.description(),
+                    task.status().toString(),
+                    task.deadline(),
+                    task.assignedEmployeeId(),
+                    toEpochMilli(task.createdAt()),
+                    toEpochMilli(task.updatedAt()),
+                    task.version()
+            ));
+        }
+        return new CompactTaskListDTO(employees, tasks);
+    }
+
+    /**
+     * Maps a task to the compact layout. Only the assignee's id is read, so a lazy assignee is not loaded.
+     */
+    public CompactTaskDTO toCompactDTO(Task task) {
+        if (task == null) {
+            return null;
+        }
+
+        return new CompactTaskDTO(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.getStatus().toString(),
+                task.getDeadline(),
+                task.getAssignedEmployee() != null ? task.getAssignedEmployee().getId() : null,
+                toEpochMilli(task.getCreatedAt()),
+                toEpochMilli(task.getUpdatedAt()),
+                task.getVersion()
         );
     }
 
@@ -43,4 +126,8 @@ public class TaskMapper {
         task.setDeadline(taskDTO.getDeadline());
         return task;
     }
-}
\ No newline at end of file
+
+    private static Long toEpochMilli(Instant instant) {
+        return instant != null ? instant.toEpochMilli() : null;
+    }
+}
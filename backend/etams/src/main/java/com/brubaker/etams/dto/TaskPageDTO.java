@@ -0,0 +1,42 @@
+package com.brubaker.etams.dto;
+
+import java.util.List;
+
+/**
+ * A single keyset-paginated slice of the task listing.
+ */
+public class TaskPageDTO {
+
+    private List<TaskDTO> items;
+
+    /**
+     * Opaque cursor for the next slice, or null when there are no more rows.
+     */
+    private String nextCursor;
+
+    // Constructors
+    public TaskPageDTO() {
+    }
+
+    public TaskPageDTO(List<TaskDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<TaskDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TaskDTO> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
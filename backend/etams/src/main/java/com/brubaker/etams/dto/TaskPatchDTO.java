@@ -0,0 +1,105 @@
+package com.brubaker.etams.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Request body for a partial task update. Only the fields present in the JSON are applied;
+ * {@code description}, {@code deadline} and {@code assignedEmployeeId} may be sent as null to clear them.
+ */
+public class TaskPatchDTO {
+
+    private String title;
+
+    private String description;
+
+    private String status;
+
+    private LocalDate deadline;
+
+    private Integer assignedEmployeeId;
+
+    /**
+     * Version the client last read. When present, the update fails with 409 if the task has changed since.
+     */
+    private Long version;
+
+    // Set by the setters, so a field sent as null can be told apart from one that was left out
+    private boolean descriptionPresent;
+    private boolean deadlinePresent;
+    private boolean assignedEmployeeIdPresent;
+
+    // Constructors
+    public TaskPatchDTO() {
+    }
+
+    // Getters and Setters
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        this.descriptionPresent = true;
+    }
+
+    public boolean hasDescription() {
+        return descriptionPresent;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public LocalDate getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(LocalDate deadline) {
+        this.deadline = deadline;
+        this.deadlinePresent = true;
+    }
+
+    public boolean hasDeadline() {
+        return deadlinePresent;
+    }
+
+    public Integer getAssignedEmployeeId() {
+        return assignedEmployeeId;
+    }
+
+    public void setAssignedEmployeeId(Integer assignedEmployeeId) {
+        this.assignedEmployeeId = assignedEmployeeId;
+        this.assignedEmployeeIdPresent = true;
+    }
+
+    public boolean hasAssignedEmployeeId() {
+        return assignedEmployeeIdPresent;
+    }
+
+    /**
+     * Returns whether any task field is present; the version alone changes nothing.
+     */
+    public boolean hasChanges() {
+        return title != null || status != null || descriptionPresent || deadlinePresent || assignedEmployeeIdPresent;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
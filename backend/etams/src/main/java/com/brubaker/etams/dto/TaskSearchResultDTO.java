@@ -0,0 +1,64 @@
+package com.brubaker.etams.dto;
+
+import java.util.List;
+
+/**
+ * One page of ranked task search results.
+ */
+public class TaskSearchResultDTO {
+
+    private List<TaskDTO> items;
+
+    /**
+     * Total number of tasks matching the query, across all pages.
+     */
+    private int total;
+
+    private int page;
+
+    private int size;
+
+    // Constructors
+    public TaskSearchResultDTO() {
+    }
+
+    public TaskSearchResultDTO(List<TaskDTO> items, int total, int page, int size) {
+        this.items = items;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+    }
+
+    // Getters and Setters
+    public List<TaskDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TaskDTO> items) {
+        this.items = items;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,59 @@
+package com.brubaker.etams.dto;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object totalling the time tasks spent in each status, computed from the status journal.
+ */
+public class TimeInStatusDTO {
+
+    /**
+     * Milliseconds spent in each status, keyed by status name; every status is present.
+     */
+    private Map<String, Long> millisInStatus;
+
+    /**
+     * Number of tasks that spent any time in the range.
+     */
+    private int taskCount;
+
+    /**
+     * Number of status changes made in the range.
+     */
+    private long transitionCount;
+
+    // Constructors
+    public TimeInStatusDTO() {
+    }
+
+    public TimeInStatusDTO(Map<String, Long> millisInStatus, int taskCount, long transitionCount) {
+        this.millisInStatus = millisInStatus;
+        this.taskCount = taskCount;
+        this.transitionCount = transitionCount;
+    }
+
+    // Getters and Setters
+    public Map<String, Long> getMillisInStatus() {
+        return millisInStatus;
+    }
+
+    public void setMillisInStatus(Map<String, Long> millisInStatus) {
+        this.millisInStatus = millisInStatus;
+    }
+
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public long getTransitionCount() {
+        return transitionCount;
+    }
+
+    public void setTransitionCount(long transitionCount) {
+        this.transitionCount = transitionCount;
+    }
+}
@@ -3,13 +3,26 @@ package com.brubaker.etams.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.Instant;
 import java.util.List;
 
 @Entity
-@Table(name = "Employees")
+@Table(name = "Employees", indexes = {
+        @Index(name = "idx_employees_last_name_id", columnList = "last_name, employee_id")
+})
+// Second-level cached: read on every login and task assignment, written rarely (see application.conf for limits)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employee.CACHE_REGION)
+@NaturalIdCache(region = Employee.USERNAME_CACHE_REGION)
 public class Employee {
+    public static final String CACHE_REGION = "employees";
+    public static final String USERNAME_CACHE_REGION = "employee-usernames";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "employee_id", nullable = false)
@@ -29,6 +42,7 @@ public class Employee {
     private String email;
 
     @NotBlank(message = "Username must not be blank")
+    @NaturalId(mutable = true)
     @Column(name = "username", nullable = false, unique = true)
     private String username;
 
@@ -52,6 +66,12 @@ public class Employee {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    // Optimistic-lock version: concurrent updates of the same employee fail instead of overwriting each other
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Automatically set createdAt and updatedAt during entity creation
     @PrePersist
     protected void onCreate() {
@@ -154,4 +174,7 @@ public class Employee {
         this.updatedAt = updatedAt;
     }
 
-}
\ No newline at end of file
+    public Long getVersion() {
+        return version;
+    }
+}
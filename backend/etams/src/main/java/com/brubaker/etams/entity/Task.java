@@ -3,6 +3,7 @@ package com.brubaker.etams.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -15,11 +16,29 @@ import java.time.LocalDate;
  * This entity maps to the "Tasks" table in the database.
  */
 @Entity
-@Table(name = "Tasks")
+@Table(name = "Tasks", indexes = {
+        // Keyset pagination: (sort column, task_id) lets each page be a single index range scan
+        @Index(name = "idx_tasks_deadline_id", columnList = "deadline, task_id"),
+        @Index(name = "idx_tasks_status_id", columnList = "status, task_id"),
+        @Index(name = "idx_tasks_updated_at_id", columnList = "updated_at, task_id"),
+        // Overdue report: status IN (open statuses) AND deadline < today
+        @Index(name = "idx_tasks_status_deadline", columnList = "status, deadline, task_id"),
+        // Activity report: created_at range streamed in (created_at, task_id) order
+        @Index(name = "idx_tasks_created_at_id", columnList = "created_at, task_id")
+})
 public class Task {
 
+    /** Ids reserved by each round trip to the {@code task_seq} sequence */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Ids come from a pooled sequence (emulated with the {@code task_seq} table on MySQL) rather than
+     * IDENTITY, so inserts can be JDBC-batched; each sequence round trip reserves 50 ids.
+     * {@link com.brubaker.etams.config.TaskSequenceInitializer} moves the sequence past existing ids at startup.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "task_id", nullable = false)
     private Integer id;
 
@@ -53,6 +72,15 @@ public class Task {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    /**
+     * Optimistic-lock version, incremented by every UPDATE. A write based on an older version fails
+     * instead of silently overwriting a concurrent change. The default fills the column for existing rows.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = Instant.now();
@@ -124,4 +152,8 @@ public class Task {
     public void setUpdatedAt(Instant updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.brubaker.etams.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Record of a deleted task, kept so delta-sync clients learn about the deletion.
+ * Tombstones are purged once they are older than the sync retention period.
+ */
+@Entity
+@Table(name = "TaskTombstones", indexes = {
+        // Delta sync: deleted_at > token, in (deleted_at, task_id) order
+        @Index(name = "idx_task_tombstones_deleted_at_id", columnList = "deleted_at, task_id")
+})
+public class TaskTombstone implements Persistable<Integer> {
+
+    // Task ids come from a sequence and are never reused, so the id alone identifies the tombstone
+    @Id
+    @Column(name = "task_id", nullable = false)
+    private Integer taskId;
+
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private Instant deletedAt;
+
+    // Ids are assigned, so tell Spring Data a new tombstone is new instead of letting it merge (and SELECT)
+    @Transient
+    private boolean isNew = true;
+
+    public TaskTombstone() {
+    }
+
+    public TaskTombstone(Integer taskId, Instant deletedAt) {
+        this.taskId = taskId;
+        this.deletedAt = deletedAt;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        this.isNew = false;
+    }
+
+    // Getters and setters
+    public Integer getTaskId() {
+        return taskId;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+
+    @Override
+    public Integer getId() {
+        return taskId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+}
@@ -0,0 +1,12 @@
+package com.brubaker.etams.exception;
+
+/**
+ * Thrown when a delta-sync token is older than the tombstone retention period, so deletions since
+ * then can no longer be reported. The client must reload the full listing.
+ */
+public class SyncTokenExpiredException extends RuntimeException {
+
+    public SyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
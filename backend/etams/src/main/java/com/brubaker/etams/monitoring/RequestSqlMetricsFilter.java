@@ -0,0 +1,85 @@
+package com.brubaker.etams.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements, entity loads, collection loads and query rows each request causes.
+ * <p>
+ * The counts are recorded in the {@code db.request.statements}, {@code db.request.entity.loads},
+ * {@code db.request.collection.loads} and {@code db.request.rows} histograms, tagged with the controller
+ * method that handled the request ({@code none} if no controller did), and set as request attributes so
+ * the access log can print them.
+ * Runs before every other filter, so queries made while authenticating are included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestSqlMetricsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_ATTRIBUTE = "sql.statements";
+    public static final String ENTITY_LOADS_ATTRIBUTE = "sql.entityLoads";
+    public static final String COLLECTION_LOADS_ATTRIBUTE = "sql.collectionLoads";
+    public static final String ROWS_ATTRIBUTE = "sql.rows";
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestSqlMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlActivity activity = SqlActivity.begin(request.getMethod() + " " + request.getRequestURI());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlActivity.end();
+            request.setAttribute(STATEMENTS_ATTRIBUTE, activity.statements());
+            request.setAttribute(ENTITY_LOADS_ATTRIBUTE, activity.entityLoads());
+            request.setAttribute(COLLECTION_LOADS_ATTRIBUTE, activity.collectionLoads());
+            request.setAttribute(ROWS_ATTRIBUTE, activity.rows());
+
+            String handler = handler(request);
+            record("db.request.statements", "SQL statements prepared per request", handler, activity.statements());
+            record("db.request.entity.loads", "Entities loaded per request", handler, activity.entityLoads());
+            record("db.request.collection.loads", "Collections initialized per request", handler,
+                    activity.collectionLoads());
+            record("db.request.rows", "Rows returned by queries per request", handler, activity.rows());
+        }
+    }
+
+    private void record(String name, String description, String handler, long amount) {
+        DistributionSummary.builder(name)
+                .description(description)
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(10_000.0)
+                .register(meterRegistry)
+                .record(amount);
+    }
+
+    /**
+     * Names the controller method, e.g. {@code TaskController.getAllTasks}; the set of names is bounded,
+     * unlike request paths with ids in them.
+     */
+    private static String handler(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,126 @@
+package com.brubaker.etams.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the most recent queries that ran longer than {@code monitoring.sql.slow-query-threshold-ms},
+ * served at {@code /actuator/slowqueries} (newest first) and counted as {@code db.queries.slow}.
+ * <p>
+ * Each entry holds the statement's shape rather than its values: the SQL with whitespace collapsed, IN lists
+ * of placeholders reduced to their length, and the number of bound parameters. Parameter values are never
+ * captured, so entries are safe to show to operators.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+public class SlowQueryLog {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+
+    /**
+     * One captured query.
+     *
+     * @param at         when the query finished
+     * @param request    the request that ran it, or null outside a request
+     * @param millis     how long it took
+     * @param rows       the rows it returned
+     * @param query      the HQL or native query as written in the repository
+     * @param statement  the shape of the SQL sent to the database
+     * @param parameters the number of bound parameters
+     */
+    public record SlowQuery(Instant at, String request, long millis, int rows, String query, String statement,
+                            int parameters) {
+    }
+
+    private final long thresholdMillis;
+    private final int capacity;
+    private final Deque<SlowQuery> recent;
+    // Guards recent, which is not thread-safe
+    private final ReentrantLock recentLock = new ReentrantLock();
+    private final Counter slowQueries;
+
+    public SlowQueryLog(MeterRegistry meterRegistry,
+                        @Value("${monitoring.sql.slow-query-threshold-ms:250}") long thresholdMillis,
+                        @Value("${monitoring.sql.slow-query-capacity:100}") int capacity) {
+        this.thresholdMillis = thresholdMillis;
+        this.capacity = capacity;
+        this.recent = new ArrayDeque<>(capacity);
+        this.slowQueries = Counter.builder("db.queries.slow")
+                .description("Queries that took longer than the slow-query threshold")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Captures the query if it ran longer than the threshold.
+     */
+    void executed(String query, String sql, int rows, long millis, SqlActivity activity) {
+        if (millis < thresholdMillis) {
+            return;
+        }
+        slowQueries.increment();
+        SlowQuery slowQuery = new SlowQuery(Instant.now(), activity != null ? activity.request() : null, millis,
+                rows, collapse(query), shape(sql), parameterCount(sql));
+        recentLock.lock();
+        try {
+            if (recent.size() == capacity) {
+                recent.removeLast();
+            }
+            recent.addFirst(slowQuery);
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    @ReadOperation
+    public List<SlowQuery> slowQueries() {
+        recentLock.lock();
+        try {
+            return new ArrayList<>(recent);
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    /**
+     * Collapses whitespace and replaces each IN list of placeholders with its length,
+     * so the same query with different list sizes has one recognizable shape.
+     */
+    static String shape(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        Matcher inList = IN_LIST.matcher(collapse(sql));
+        return inList.replaceAll(match -> "(?*" + parameterCount(match.group()) + ")");
+    }
+
+    private static String collapse(String text) {
+        return text != null ? WHITESPACE.matcher(text.trim()).replaceAll(" ") : null;
+    }
+
+    static int parameterCount(String sql) {
+        if (sql == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,111 @@
+package com.brubaker.etams.monitoring;
+
+/**
+ * The SQL work done for one HTTP request, collected on the request's thread.
+ * <p>
+ * {@link RequestSqlMetricsFilter} opens an activity around each request and {@link SqlActivityStatistics}
+ * adds to the activity of the current thread, if there is one. Work done on other threads, such as the body
+ * of a streamed response, is not attributed to the request.
+ */
+final class SqlActivity {
+
+    private static final ThreadLocal<SqlActivity> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The last SQL prepared on this thread, so a slow query can be reported with its statement. Cleared when
+     * a query consumes it and when the Hibernate session closes, so threads outside a request, such as
+     * schedulers and writers, do not hold on to it.
+     */
+    private static final ThreadLocal<String> LAST_STATEMENT = new ThreadLocal<>();
+
+    private final String request;
+    private int statements;
+    private int entityLoads;
+    private int collectionLoads;
+    private long rows;
+
+    private SqlActivity(String request) {
+        this.request = request;
+    }
+
+    /**
+     * Starts collecting for a request on the current thread.
+     *
+     * @param request the request, as method and path
+     */
+    static SqlActivity begin(String request) {
+        SqlActivity activity = new SqlActivity(request);
+        CURRENT.set(activity);
+        return activity;
+    }
+
+    static void end() {
+        CURRENT.remove();
+        LAST_STATEMENT.remove();
+    }
+
+    static SqlActivity current() {
+        return CURRENT.get();
+    }
+
+    static void prepared(String sql) {
+        LAST_STATEMENT.set(sql);
+    }
+
+    /**
+     * Returns and forgets the last SQL prepared on this thread.
+     */
+    static String takeLastStatement() {
+        String sql = LAST_STATEMENT.get();
+        LAST_STATEMENT.remove();
+        return sql;
+    }
+
+    static String lastStatement() {
+        return LAST_STATEMENT.get();
+    }
+
+    static void clearLastStatement() {
+        LAST_STATEMENT.remove();
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void collectionLoaded() {
+        collectionLoads++;
+    }
+
+    void queryExecuted(int queryRows) {
+        rows += queryRows;
+    }
+
+    String request() {
+        return request;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    int entityLoads() {
+        return entityLoads;
+    }
+
+    int collectionLoads() {
+        return collectionLoads;
+    }
+
+    /**
+     * The rows returned by HQL, criteria and native queries; entities loaded by id are counted in
+     * {@link #entityLoads()} instead.
+     */
+    long rows() {
+        return rows;
+    }
+}
@@ -0,0 +1,72 @@
+package com.brubaker.etams.monitoring;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+/**
+ * Hibernate's statistics, additionally attributing each prepared statement, entity load, collection load
+ * and the rows of each query to the current request's {@link SqlActivity}, and passing every query
+ * execution to the {@link SlowQueryLog}.
+ * <p>
+ * Hibernate only reports these events while {@code hibernate.generate_statistics} is on. This subclasses
+ * Hibernate's internal statistics class, so {@code SqlActivityStatisticsTest} runs real queries through it and
+ * fails if an upgrade stops calling these overrides.
+ */
+class SqlActivityStatistics extends StatisticsImpl {
+
+    private final SlowQueryLog slowQueries;
+
+    SqlActivityStatistics(SessionFactoryImplementor sessionFactory, SlowQueryLog slowQueries) {
+        super(sessionFactory);
+        this.slowQueries = slowQueries;
+    }
+
+    @Override
+    public void prepareStatement() {
+        super.prepareStatement();
+        SqlActivity activity = SqlActivity.current();
+        if (activity != null) {
+            activity.statementPrepared();
+        }
+    }
+
+    @Override
+    public void loadEntity(String entityName) {
+        super.loadEntity(entityName);
+        SqlActivity activity = SqlActivity.current();
+        if (activity != null) {
+            activity.entityLoaded();
+        }
+    }
+
+    @Override
+    public void loadCollection(String role) {
+        super.loadCollection(role);
+        SqlActivity activity = SqlActivity.current();
+        if (activity != null) {
+            activity.collectionLoaded();
+        }
+    }
+
+    /**
+     * Called after each HQL, criteria or native query with its duration in milliseconds.
+     */
+    @Override
+    public void queryExecuted(String query, int rows, long time) {
+        super.queryExecuted(query, rows, time);
+        SqlActivity activity = SqlActivity.current();
+        if (activity != null) {
+            activity.queryExecuted(rows);
+        }
+        slowQueries.executed(query, SqlActivity.takeLastStatement(), rows, time, activity);
+    }
+
+    /**
+     * Forgets the last statement when a session closes, including statements no query consumed.
+     */
+    @Override
+    public void closeSession() {
+        super.closeSession();
+        SqlActivity.clearLastStatement();
+    }
+}
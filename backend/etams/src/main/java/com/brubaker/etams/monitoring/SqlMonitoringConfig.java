@@ -0,0 +1,30 @@
+package com.brubaker.etams.monitoring;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Installs the Hibernate hooks behind the per-request SQL metrics and the slow-query log:
+ * a statistics implementation that reports to the current {@link SqlActivity}, and a statement inspector
+ * that remembers the last SQL prepared on each thread. The inspector leaves the SQL unchanged.
+ */
+@Configuration
+public class SqlMonitoringConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlMonitoringHibernateProperties(SlowQueryLog slowQueryLog) {
+        StatisticsFactory statistics = sessionFactory -> new SqlActivityStatistics(sessionFactory, slowQueryLog);
+        StatementInspector inspector = sql -> {
+            SqlActivity.prepared(sql);
+            return sql;
+        };
+        return properties -> {
+            properties.put(AvailableSettings.STATS_BUILDER, statistics);
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        };
+    }
+}
@@ -0,0 +1,14 @@
+package com.brubaker.etams.repository;
+
+import com.brubaker.etams.entity.TaskStatus;
+
+/**
+ * Projection of the number of tasks with one status held by one assignee.
+ * A null {@code employeeId} counts the tasks that have no assignee.
+ */
+public record AssigneeStatusCount(
+        Integer employeeId,
+        TaskStatus status,
+        long count
+) {
+}
@@ -0,0 +1,12 @@
+package com.brubaker.etams.repository;
+
+import java.time.Instant;
+
+/**
+ * Projection of the columns needed to seed the in-memory credential version table.
+ */
+public interface EmployeeCredentialVersion {
+    Integer getId();
+
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,12 @@
+package com.brubaker.etams.repository;
+
+/**
+ * Projection of the fields the employee lookup index is built from.
+ */
+public record EmployeeNameRow(
+        Integer id,
+        String firstName,
+        String lastName,
+        String username
+) {
+}
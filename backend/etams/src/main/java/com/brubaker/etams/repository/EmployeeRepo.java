@@ -2,12 +2,27 @@ package com.brubaker.etams.repository;
 
 import com.brubaker.etams.entity.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 
 //@CrossOrigin(origins = "http://localhost:4200")
 @Repository
-public interface EmployeeRepo extends JpaRepository<Employee, Integer> {
-    Optional<Employee> findByUsername(String username);
-}
\ No newline at end of file
+public interface EmployeeRepo extends JpaRepository<Employee, Integer>, EmployeeRepoCustom {
+
+    @Query("select e.id as id, e.updatedAt as updatedAt from Employee e")
+    List<EmployeeCredentialVersion> findAllCredentialVersions();
+
+    @Query("select new com.brubaker.etams.repository.EmployeeNameRow(e.id, e.firstName, e.lastName, e.username) from Employee e")
+    List<EmployeeNameRow> findAllNameRows();
+
+    // Employees' public columns in a single statement; their task counts are kept by TaskCountMatrix
+    @Query("""
+            select new com.brubaker.etams.repository.EmployeeRow(
+                e.id, e.firstName, e.lastName, e.email, e.username, e.role, e.admin, e.createdAt, e.updatedAt)
+            from Employee e
+            order by e.id
+            """)
+    List<EmployeeRow> findAllRows();
+}
@@ -0,0 +1,22 @@
+package com.brubaker.etams.repository;
+
+import com.brubaker.etams.entity.Employee;
+
+import java.util.Optional;
+
+/**
+ * Custom query fragment for {@link EmployeeRepo} covering lookups that go through Hibernate's native API.
+ */
+public interface EmployeeRepoCustom {
+
+    /**
+     * Finds an employee by username through the natural-id cache.
+     * <p>
+     * A cached username resolves to its id, and the employee itself then comes from the entity cache,
+     * so repeated lookups do not reach the database until an employee write or the cache TTL evicts them.
+     *
+     * @param username the username to look up
+     * @return the employee, or empty if no employee has that username
+     */
+    Optional<Employee> findByUsername(String username);
+}
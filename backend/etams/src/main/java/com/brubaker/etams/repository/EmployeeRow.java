@@ -0,0 +1,19 @@
+package com.brubaker.etams.repository;
+
+import java.time.Instant;
+
+/**
+ * Read-only projection of an employee's public columns, without the password hash or the tasks.
+ */
+public record EmployeeRow(
+        Integer id,
+        String firstName,
+        String lastName,
+        String email,
+        String username,
+        String role,
+        boolean admin,
+        Instant createdAt,
+        Instant updatedAt
+) {
+}
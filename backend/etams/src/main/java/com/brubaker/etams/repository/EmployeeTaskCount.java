@@ -0,0 +1,26 @@
+package com.brubaker.etams.repository;
+
+import java.time.Instant;
+
+/**
+ * Read-only projection of an employee's public columns together with their task counts.
+ * <p>
+ * Assembled from an {@link EmployeeRow} and the in-memory task counters, so listing employees never
+ * initializes the {@code Employee.tasks} collection or reads the password hash.
+ */
+public record EmployeeTaskCount(
+        Integer id,
+        String firstName,
+        String lastName,
+        String email,
+        String username,
+        String role,
+        boolean admin,
+        Instant createdAt,
+        Instant updatedAt,
+        long taskCount,
+        long pendingTaskCount,
+        long inProgressTaskCount,
+        long completedTaskCount
+) {
+}
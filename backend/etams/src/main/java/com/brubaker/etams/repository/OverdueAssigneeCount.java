@@ -0,0 +1,16 @@
+package com.brubaker.etams.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the number of overdue tasks held by one assignee.
+ * A null {@code employeeId} groups the overdue tasks that have no assignee.
+ */
+public record OverdueAssigneeCount(
+        Integer employeeId,
+        String firstName,
+        String lastName,
+        long overdueCount,
+        LocalDate oldestDeadline
+) {
+}
@@ -1,13 +1,73 @@
 package com.brubaker.etams.repository;
 
 import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.entity.TaskStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 //@CrossOrigin(origins = "http://localhost:4200")
 @Repository
-public interface TaskRepo extends JpaRepository<Task, Integer> {
+public interface TaskRepo extends JpaRepository<Task, Integer>, TaskRepoCustom {
+
+    String TASK_ROW_PROJECTION = """
+            select new com.brubaker.etams.repository.TaskRow(
+                t.id, t.title, t.description, t.status, t.deadline,
+                e.id, e.firstName, e.lastName, t.createdAt, t.updatedAt, t.version)
+            from Task t left join t.assignedEmployee e
+            """;
+
     List<Task> findByAssignedEmployee_Id(Integer assignedEmployeeId);
+
+    // Partial updates: the task and its assignee in one statement, so the response needs no second SELECT
+    @Query("select t from Task t left join fetch t.assignedEmployee where t.id = :id")
+    Optional<Task> findWithAssigneeById(@Param("id") Integer id);
+
+    // Bulk updates: load every target task and its assignee with one IN query
+    @Query("select t from Task t left join fetch t.assignedEmployee where t.id in :ids")
+    List<Task> findAllWithAssigneeByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Task listings as flat rows: one statement, assignee name joined in, no entities or proxies
+    @Query(TASK_ROW_PROJECTION + " order by t.id")
+    List<TaskRow> findAllRows();
+
+    @Query(TASK_ROW_PROJECTION + " where t.assignedEmployee.id = :employeeId order by t.id")
+    List<TaskRow> findRowsByAssignedEmployeeId(@Param("employeeId") Integer employeeId);
+
+    @Query(TASK_ROW_PROJECTION + " where t.id in :ids")
+    List<TaskRow> findRowsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Delta sync: rows changed after the client's token, a range scan of the (updated_at, task_id) index
+    @Query(TASK_ROW_PROJECTION + " where t.updatedAt > :since order by t.updatedAt, t.id")
+    List<TaskRow> findRowsUpdatedAfter(@Param("since") Instant since);
+
+    // Task counts per (assignee, status), read from the foreign key without joining the employees
+    @Query("""
+            select new com.brubaker.etams.repository.AssigneeStatusCount(t.assignedEmployee.id, t.status, count(t))
+            from Task t
+            group by t.assignedEmployee.id, t.status
+            """)
+    List<AssigneeStatusCount> countGroupedByAssigneeAndStatus();
+
+    // Aggregate queries for dashboard metrics
+    long countByDeadlineBeforeAndStatusNot(LocalDate date, TaskStatus status);
+
+    // Overdue tasks per assignee, answered from the (status, deadline) index
+    @Query("""
+            select new com.brubaker.etams.repository.OverdueAssigneeCount(
+                e.id, e.firstName, e.lastName, count(t), min(t.deadline))
+            from Task t left join t.assignedEmployee e
+            where t.status in :openStatuses and t.deadline < :today
+            group by e.id, e.firstName, e.lastName
+            order by count(t) desc, min(t.deadline)
+            """)
+    List<OverdueAssigneeCount> countOverdueByAssignee(@Param("openStatuses") Collection<TaskStatus> openStatuses,
+                                                      @Param("today") LocalDate today);
 }
@@ -0,0 +1,60 @@
+package com.brubaker.etams.repository;
+
+import com.brubaker.etams.entity.TaskStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Custom query fragment for {@link TaskRepo} covering queries that Spring Data cannot derive.
+ */
+public interface TaskRepoCustom {
+
+    /**
+     * Returns the next slice of tasks in keyset order.
+     * <p>
+     * Rows are ordered by {@code sortField} and then by task id. Null sort values are placed last
+     * when ascending and first when descending, so a descending walk is the exact reverse of an
+     * ascending one. Passing a null {@code afterId} starts from the beginning.
+     *
+     * @param sortField  the column to order by
+     * @param descending whether to walk the ordering backwards
+     * @param afterValue the sort value of the last row already returned (may be null for nullable fields)
+     * @param afterId    the id of the last row already returned, or null for the first page
+     * @param limit      the maximum number of rows to return
+     * @return up to {@code limit} task rows, each already carrying its assignee's name
+     */
+    List<TaskRow> findTasksAfter(TaskSortField sortField, boolean descending, Object afterValue, Integer afterId, int limit);
+
+    /**
+     * Returns the next slice of overdue tasks (open status, deadline before today), ordered by deadline and id.
+     * Ascending order lists the most overdue tasks first.
+     *
+     * @param openStatuses  the statuses that count as not yet completed
+     * @param today         the first date that is not overdue
+     * @param descending    whether to list the least overdue tasks first
+     * @param afterDeadline the deadline of the last row already returned
+     * @param afterId       the id of the last row already returned, or null for the first page
+     * @param limit         the maximum number of rows to return
+     * @return up to {@code limit} overdue task rows
+     */
+    List<TaskRow> findOverdueAfter(Collection<TaskStatus> openStatuses, LocalDate today, boolean descending,
+                                   LocalDate afterDeadline, Integer afterId, int limit);
+
+    /**
+     * Walks every task created in {@code [from, to)} in (createdAt, id) order, handing each row to
+     * {@code action} as it is read from a forward-only cursor.
+     * <p>
+     * Rows are projections rather than entities, so nothing accumulates in the persistence context
+     * and memory use does not grow with the size of the range. Must be called inside a transaction.
+     *
+     * @param from      inclusive lower bound, or null for no lower bound
+     * @param to        exclusive upper bound, or null for no upper bound
+     * @param fetchSize the number of rows the driver fetches per round trip
+     * @param action    the callback receiving each row
+     */
+    void scrollCreatedBetween(Instant from, Instant to, int fetchSize, Consumer<TaskRow> action);
+}
@@ -0,0 +1,139 @@
+package com.brubaker.etams.repository;
+
+import com.brubaker.etams.entity.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * JPQL implementation of {@link TaskRepoCustom}.
+ */
+public class TaskRepoCustomImpl implements TaskRepoCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskRow> findTasksAfter(TaskSortField sortField, boolean descending, Object afterValue, Integer afterId, int limit) {
+        return findRowsAfter(null, Map.of(), sortField, descending, afterValue, afterId, limit);
+    }
+
+    @Override
+    public List<TaskRow> findOverdueAfter(Collection<TaskStatus> openStatuses, LocalDate today, boolean descending,
+                                          LocalDate afterDeadline, Integer afterId, int limit) {
+        // (status, deadline) index: one range per open status, bounded above by today
+        return findRowsAfter("t.status in :openStatuses and t.deadline < :today",
+                Map.of("openStatuses", openStatuses, "today", today),
+                TaskSortField.DEADLINE, descending, afterDeadline, afterId, limit);
+    }
+
+    @Override
+    public void scrollCreatedBetween(Instant from, Instant to, int fetchSize, Consumer<TaskRow> action) {
+        StringBuilder jpql = new StringBuilder(TaskRepo.TASK_ROW_PROJECTION);
+        List<String> conditions = new ArrayList<>();
+        if (from != null) {
+            conditions.add("t.createdAt >= :from");
+        }
+        if (to != null) {
+            conditions.add("t.createdAt < :to");
+        }
+        if (!conditions.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", conditions));
+        }
+        jpql.append(" order by t.createdAt, t.id");
+
+        @SuppressWarnings("unchecked")
+        Query<TaskRow> query = entityManager.createQuery(jpql.toString(), TaskRow.class).unwrap(Query.class);
+        if (from != null) {
+            query.setParameter("from", from);
+        }
+        if (to != null) {
+            query.setParameter("to", to);
+        }
+        query.setFetchSize(fetchSize).setReadOnly(true);
+
+        try (ScrollableResults<TaskRow> rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                action.accept(rows.get());
+            }
+        }
+    }
+
+    /**
+     * Runs the keyset query, optionally narrowed by an extra JPQL condition.
+     */
+    private List<TaskRow> findRowsAfter(String filter, Map<String, Object> filterParams, TaskSortField sortField,
+                                        boolean descending, Object afterValue, Integer afterId, int limit) {
+        String expr = sortField.getExpression();
+        String direction = descending ? "desc" : "asc";
+
+        StringBuilder jpql = new StringBuilder(TaskRepo.TASK_ROW_PROJECTION);
+
+        List<String> conditions = new ArrayList<>();
+        if (filter != null) {
+            conditions.add(filter);
+        }
+        if (afterId != null) {
+            conditions.add(keysetPredicate(sortField, descending, afterValue));
+        }
+        if (!conditions.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", conditions));
+        }
+
+        jpql.append(" order by ");
+        if (sortField != TaskSortField.ID) {
+            jpql.append(expr).append(' ').append(direction);
+            if (sortField.isNullable()) {
+                jpql.append(descending ? " nulls first" : " nulls last");
+            }
+            jpql.append(", ");
+        }
+        jpql.append("t.id ").append(direction);
+
+        TypedQuery<TaskRow> query = entityManager.createQuery(jpql.toString(), TaskRow.class);
+        filterParams.forEach(query::setParameter);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+            if (sortField != TaskSortField.ID && afterValue != null) {
+                query.setParameter("afterValue", afterValue);
+            }
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Builds the "strictly after (value, id)" predicate for the given ordering.
+     * Nulls sort last ascending and first descending, matching the ORDER BY clause.
+     */
+    private String keysetPredicate(TaskSortField sortField, boolean descending, Object afterValue) {
+        String expr = sortField.getExpression();
+        String cmp = descending ? "<" : ">";
+
+        if (sortField == TaskSortField.ID) {
+            return "t.id " + cmp + " :afterId";
+        }
+
+        if (afterValue == null) {
+            // The previous page ended inside the block of null values.
+            String sameBlock = "(" + expr + " is null and t.id " + cmp + " :afterId)";
+            return descending ? "(" + expr + " is not null or " + sameBlock + ")" : sameBlock;
+        }
+
+        String predicate = "(" + expr + " " + cmp + " :afterValue or (" + expr + " = :afterValue and t.id " + cmp + " :afterId)";
+        if (sortField.isNullable() && !descending) {
+            predicate += " or " + expr + " is null";
+        }
+        return predicate + ")";
+    }
+}
@@ -0,0 +1,28 @@
+package com.brubaker.etams.repository;
+
+import com.brubaker.etams.entity.TaskStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Read-only projection of a task joined with the name of its assigned employee.
+ * <p>
+ * List endpoints select these rows directly with a JPQL constructor expression, so a whole listing
+ * is one statement and no {@code Task} or lazy {@code Employee} proxies are created that could be
+ * initialized later during JSON rendering.
+ */
+public record TaskRow(
+        Integer id,
+        String title,
+        String description,
+        TaskStatus status,
+        LocalDate deadline,
+        Integer assignedEmployeeId,
+        String assignedEmployeeFirstName,
+        String assignedEmployeeLastName,
+        Instant createdAt,
+        Instant updatedAt,
+        Long version
+) {
+}
@@ -0,0 +1,88 @@
+package com.brubaker.etams.repository;
+
+import com.brubaker.etams.entity.TaskStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Columns the task listing can be keyset-paginated on.
+ * <p>
+ * Each field knows its JPQL expression (relative to the aliases {@code t} for the task and
+ * {@code e} for the assigned employee), whether it can be null, and how to carry its value
+ * inside a cursor. The task id is always used as the tie-breaker so every ordering is total.
+ * <p>
+ * Status is sorted and compared on the column itself, so the (status, task_id) index serves both. The column
+ * is an enum whose values are declared alphabetically (see init-db.sql), so it sorts by name, just as a bound
+ * status compares against it.
+ */
+public enum TaskSortField {
+
+    ID("id", "t.id", false),
+    DEADLINE("deadline", "t.deadline", true),
+    STATUS("status", "t.status", false),
+    UPDATED_AT("updatedAt", "t.updatedAt", false),
+    ASSIGNEE_LAST_NAME("assigneeLastName", "e.lastName", true);
+
+    private final String param;
+    private final String expression;
+    private final boolean nullable;
+
+    TaskSortField(String param, String expression, boolean nullable) {
+        this.param = param;
+        this.expression = expression;
+        this.nullable = nullable;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    /**
+     * Resolves a sort field from its request parameter name (e.g. {@code updatedAt}).
+     *
+     * @throws IllegalArgumentException if the name is not a supported sort field
+     */
+    public static TaskSortField fromParam(String param) {
+        for (TaskSortField field : values()) {
+            if (field.param.equalsIgnoreCase(param)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort field: " + param);
+    }
+
+    /**
+     * Extracts this field's sort value from a task row, as it would be compared in the query.
+     */
+    public Object valueOf(TaskRow task) {
+        return switch (this) {
+            case ID -> task.id();
+            case DEADLINE -> task.deadline();
+            case STATUS -> task.status();
+            case UPDATED_AT -> task.updatedAt();
+            case ASSIGNEE_LAST_NAME -> task.assignedEmployeeLastName();
+        };
+    }
+
+    /**
+     * Parses a value previously written by {@link Object#toString()} back into the type used by the query.
+     */
+    public Object parseValue(String value) {
+        return switch (this) {
+            case ID -> Integer.valueOf(value);
+            case DEADLINE -> LocalDate.parse(value);
+            case STATUS -> TaskStatus.valueOf(value);
+            case ASSIGNEE_LAST_NAME -> value;
+            case UPDATED_AT -> Instant.parse(value);
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.brubaker.etams.repository;
+
+import com.brubaker.etams.entity.TaskTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepo extends JpaRepository<TaskTombstone, Integer> {
+
+    // Delta sync: ids of the tasks deleted after the client's token, from the (deleted_at, task_id) index
+    @Query("select t.taskId from TaskTombstone t where t.deletedAt > :since order by t.deletedAt, t.taskId")
+    List<Integer> findTaskIdsDeletedAfter(@Param("since") Instant since);
+
+    @Modifying
+    @Query("delete from TaskTombstone t where t.deletedAt < :cutoff")
+    int deleteByDeletedAtBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,18 @@
+package com.brubaker.etams.security;
+
+import java.security.Principal;
+
+/**
+ * Principal built directly from verified JWT claims, without loading the employee from the database.
+ *
+ * @param employeeId the employee's id
+ * @param username   the employee's username
+ * @param admin      whether the employee has admin rights
+ */
+public record AuthenticatedEmployee(Integer employeeId, String username, boolean admin) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
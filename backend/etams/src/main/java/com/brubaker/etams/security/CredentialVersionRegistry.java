@@ -0,0 +1,86 @@
+package com.brubaker.etams.security;
+
+import com.brubaker.etams.repository.EmployeeCredentialVersion;
+import com.brubaker.etams.repository.EmployeeRepo;
+import com.brubaker.etams.service.AfterCommit;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory table of per-employee credential versions.
+ * <p>
+ * Every token carries the version current at login in its {@code ver} claim. A token is accepted only
+ * while its version is at least the employee's current version, so bumping the version revokes every
+ * token issued before a role change, password change or deletion, without a database lookup per request.
+ * <p>
+ * Versions are millisecond timestamps. At startup the table is seeded from each employee's
+ * {@code updated_at}, so changes made before a restart still revoke older tokens. The column may hold whole
+ * seconds only, rounded or truncated, so the seed is the end of the stored second: every token issued before
+ * the change is rejected, at the cost of also rejecting one issued within that second after it.
+ */
+@Component
+public class CredentialVersionRegistry {
+
+    private static final long REVOKED = Long.MAX_VALUE;
+
+    private final Map<Integer, Long> versions = new ConcurrentHashMap<>();
+
+    public CredentialVersionRegistry(EmployeeRepo employeeRepo) {
+        for (EmployeeCredentialVersion row : employeeRepo.findAllCredentialVersions()) {
+            if (row.getUpdatedAt() != null) {
+                versions.put(row.getId(), seedVersion(row.getUpdatedAt()));
+            }
+        }
+    }
+
+    /**
+     * Returns the version to embed in a newly issued token.
+     */
+    public long currentVersion(Integer employeeId) {
+        return versions.getOrDefault(employeeId, 0L);
+    }
+
+    /**
+     * Checks whether a token carrying {@code tokenVersion} is still valid for the employee.
+     */
+    public boolean isCurrent(Integer employeeId, long tokenVersion) {
+        long current = currentVersion(employeeId);
+        return current != REVOKED && tokenVersion >= current;
+    }
+
+    /**
+     * Revokes all tokens issued so far for the employee, e.g. after a role or password change.
+     * <p>
+     * The version is bumped immediately and again after the surrounding transaction commits, so a login
+     * that reads the old row while the change is in flight cannot mint a token that outlives it.
+     */
+    public void invalidate(Integer employeeId) {
+        bump(employeeId);
+        AfterCommit.run(() -> bump(employeeId));
+    }
+
+    /**
+     * Permanently rejects the employee's tokens once their deletion commits.
+     */
+    public void revoke(Integer employeeId) {
+        bump(employeeId);
+        AfterCommit.run(() -> versions.put(employeeId, REVOKED));
+    }
+
+    /**
+     * Returns the version seeded for a change stored with the given timestamp: the end of its second.
+     */
+    static long seedVersion(Instant updatedAt) {
+        return updatedAt.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1).toEpochMilli();
+    }
+
+    private void bump(Integer employeeId) {
+        long now = System.currentTimeMillis();
+        versions.compute(employeeId, (id, current) ->
+                current == null ? now : current == REVOKED ? REVOKED : Math.max(now, current + 1));
+    }
+}
@@ -2,29 +2,39 @@ package com.brubaker.etams.security;
 
 import com.brubaker.etams.service.CustomUserDetailsService;
 import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collections;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final CredentialVersionRegistry credentialVersions;
+    private final boolean stateless;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    /**
+     * @param credentialVersions the per-employee credential versions tokens are checked against
+     * @param stateless          whether to build the principal from token claims instead of loading the employee
+     */
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService,
+                                   CredentialVersionRegistry credentialVersions, boolean stateless) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.credentialVersions = credentialVersions;
+        this.stateless = stateless;
     }
 
     @Override
@@ -39,14 +49,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authorizationHeader.substring(7); // Extract the token (remove "Bearer ")
-        String username = null;
+        JwtClaims claims;
 
+        // Verify signature and expiry once; repeat tokens are served from JwtUtil's cache
         try {
-            username = jwtUtil.extractUsername(token);
+            claims = jwtUtil.parseToken(token);
         } catch (ExpiredJwtException e) {
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token has expired");
             return;
-        } catch (MalformedJwtException | UnsupportedJwtException e) {
+        } catch (JwtException e) {
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid token");
             return;
         } catch (IllegalArgumentException e) {
@@ -54,13 +65,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        String username = claims.username();
+
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UsernamePasswordAuthenticationToken authentication = null;
+
+            if (stateless && claims.employeeId() != null && claims.version() != null) {
+                // Stateless: the verified claims are the principal; only the in-memory version table is consulted
+                if (!credentialVersions.isCurrent(claims.employeeId(), claims.version())) {
+                    response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token has been revoked");
+                    return;
+                }
 
-            if (jwtUtil.validateToken(token, userDetails.getUsername())) {
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                AuthenticatedEmployee principal = new AuthenticatedEmployee(claims.employeeId(), username, claims.admin());
+                authentication = new UsernamePasswordAuthenticationToken(principal, null,
+                        Collections.singletonList(new SimpleGrantedAuthority(claims.admin() ? "ROLE_ADMIN" : "ROLE_USER")));
+            } else {
+                // Tokens without a version claim (or stateless mode disabled) are checked against the database
+                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+
+                if (username.equals(userDetails.getUsername())) {
+                    authentication = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                }
+            }
 
+            if (authentication != null) {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -0,0 +1,20 @@
+package com.brubaker.etams.security;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of the claims of a JWT whose signature and expiry have already been verified.
+ *
+ * @param username   the subject of the token
+ * @param employeeId the {@code employeeId} claim
+ * @param admin      the {@code admin} claim
+ * @param version    the {@code ver} credential version claim, or null for tokens issued without one
+ * @param issuedAt   when the token was issued
+ * @param expiration when the token expires
+ */
+public record JwtClaims(String username, Integer employeeId, boolean admin, Long version, Instant issuedAt, Instant expiration) {
+
+    public boolean isExpired(Instant now) {
+        return !expiration.isAfter(now);
+    }
+}
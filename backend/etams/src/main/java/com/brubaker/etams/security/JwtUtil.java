@@ -1,66 +1,146 @@
 package com.brubaker.etams.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
-import java.util.function.Function;
 
+/**
+ * Issues and verifies JWTs.
+ * <p>
+ * The signing key and parser are built once at startup. Verified tokens are kept in a bounded
+ * Caffeine cache keyed by the full token string, so repeat requests carrying the same bearer token
+ * skip Base64 decoding, JSON parsing and the HMAC check entirely. Each entry expires with its token,
+ * and the least valuable entries are evicted in constant time once the cache is full.
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final long expirationTime;
+    /** null when the cache is disabled */
+    private final Cache<String, JwtClaims> verifiedTokens;
 
-    @Value("${jwt.expiration}")
-    private long expirationTime;
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = java.util.Base64.getDecoder().decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * @param secretKey      the Base64-encoded HMAC secret
+     * @param expirationTime token lifetime in milliseconds
+     * @param cacheSize      maximum number of verified tokens to remember; 0 disables the cache
+     */
+    public JwtUtil(@Value("${jwt.secret}") String secretKey,
+                   @Value("${jwt.expiration}") long expirationTime,
+                   @Value("${jwt.cache-size:10000}") int cacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.expirationTime = expirationTime;
+        this.verifiedTokens = cacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(cacheSize).expireAfter(new TokenExpiry()).build()
+                : null;
     }
 
-    public String generateToken(Integer employeeId, String username, boolean isAdmin) {
+    /**
+     * Issues a token for an employee.
+     *
+     * @param credentialVersion the employee's current version from {@link CredentialVersionRegistry}
+     */
+    public String generateToken(Integer employeeId, String username, boolean isAdmin, long credentialVersion) {
         return Jwts.builder()
                 .subject(username)
                 .claim("employeeId", employeeId)
                 .claim("admin", isAdmin)
+                .claim("ver", credentialVersion)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(getSigningKey()) // Sign the JWT with our secret key
+                .signWith(signingKey) // Sign the JWT with our secret key
                 .compact();
     }
 
+    /**
+     * Verifies a token and returns its claims.
+     * <p>
+     * The signature is checked at most once per distinct token while it stays in the cache;
+     * cached entries are dropped as soon as the token expires.
+     *
+     * @param token the compact JWT
+     * @return the verified claims
+     * @throws io.jsonwebtoken.ExpiredJwtException if the token has expired
+     * @throws io.jsonwebtoken.JwtException        if the token is malformed, its signature is invalid or it has
+     *                                             no expiration
+     * @throws IllegalArgumentException            if the token is null or empty
+     */
+    public JwtClaims parseToken(String token) {
+        // An expired token is never returned by the cache, so the parser raises the usual ExpiredJwtException
+        JwtClaims cached = verifiedTokens != null && token != null ? verifiedTokens.getIfPresent(token) : null;
+        if (cached != null) {
+            return cached;
+        }
+
+        JwtClaims claims = verify(token);
+        if (verifiedTokens != null) {
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
+    }
+
     public boolean validateToken(String token, String username) {
-        return (username.equals(extractUsername(token)) && !isTokenExpired(token));
+        JwtClaims claims = parseToken(token);
+        return username.equals(claims.username()) && !claims.isExpired(Instant.now());
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseToken(token).username();
     }
 
     public boolean extractAdminFlag(String token) {
-        return extractClaim(token, claims -> claims.get("admin", Boolean.class));
+        return parseToken(token).admin();
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    private JwtClaims verify(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        // Every token this application issues expires, and the cache evicts entries at that time
+        if (claims.getExpiration() == null) {
+            throw new JwtException("Token has no expiration");
+        }
+        return new JwtClaims(
+                claims.getSubject(),
+                claims.get("employeeId", Integer.class),
+                Boolean.TRUE.equals(claims.get("admin", Boolean.class)),
+                claims.get("ver", Long.class),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration().toInstant()
+        );
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser() // No arguments needed here
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
+    /**
+     * Expires each cached token at its own {@code exp}; reads and updates leave the deadline unchanged.
+     */
+    private static final class TokenExpiry implements Expiry<String, JwtClaims> {
+
+        @Override
+        public long expireAfterCreate(String token, JwtClaims claims, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), claims.expiration()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, JwtClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+        @Override
+        public long expireAfterRead(String token, JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,155 @@
+package com.brubaker.etams.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket throttle for login attempts, applied per client IP and per username before any password
+ * is hashed.
+ * <p>
+ * Each dimension is a fixed table of atomic slots, so memory stays bounded however many distinct keys
+ * arrive. A slot packs a 24-bit key fingerprint with the bucket's theoretical arrival time (GCRA), and is
+ * updated with a single compare-and-set, without locks. Every key has two candidate slots: it uses the one
+ * it owns, otherwise claims one whose bucket has refilled completely (idle slots are evicted this way), and
+ * only if both are busy shares a bucket with another key, which can make its limit stricter, never looser.
+ * <p>
+ * Rejections are counted in the {@code auth.login.throttled} meter, tagged with the limit that applied.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final int TIME_BITS = 40;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+
+    private final Buckets byIp;
+    private final Buckets byUsername;
+    private final Counter ipRejections;
+    private final Counter usernameRejections;
+    private final LongSupplier clock;
+    private final long start;
+
+    @Autowired
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${security.login-limit.ip.per-minute:120}") int ipPerMinute,
+                            @Value("${security.login-limit.ip.burst:60}") int ipBurst,
+                            @Value("${security.login-limit.username.per-minute:10}") int usernamePerMinute,
+                            @Value("${security.login-limit.username.burst:5}") int usernameBurst,
+                            @Value("${security.login-limit.slots:65536}") int slots) {
+        this(meterRegistry, ipPerMinute, ipBurst, usernamePerMinute, usernameBurst, slots, System::currentTimeMillis);
+    }
+
+    LoginRateLimiter(MeterRegistry meterRegistry, int ipPerMinute, int ipBurst, int usernamePerMinute,
+                     int usernameBurst, int slots, LongSupplier clock) {
+        this.byIp = new Buckets(ipPerMinute, ipBurst, slots);
+        this.byUsername = new Buckets(usernamePerMinute, usernameBurst, slots);
+        this.ipRejections = Counter.builder("auth.login.throttled").tag("limit", "ip")
+                .description("Login attempts rejected by the rate limiter").register(meterRegistry);
+        this.usernameRejections = Counter.builder("auth.login.throttled").tag("limit", "username")
+                .description("Login attempts rejected by the rate limiter").register(meterRegistry);
+        this.clock = clock;
+        this.start = clock.getAsLong();
+    }
+
+    /**
+     * Takes a token for the client and the username.
+     *
+     * @param clientIp the address the attempt comes from
+     * @param username the username being logged in to, or null if missing
+     * @return 0 if the attempt may proceed, otherwise the number of milliseconds until it would be allowed
+     */
+    public long tryAcquire(String clientIp, String username) {
+        long now = clock.getAsLong() - start;
+
+        long wait = byIp.tryAcquire(clientIp != null ? clientIp : "", now);
+        if (wait > 0) {
+            ipRejections.increment();
+            return wait;
+        }
+        if (username != null) {
+            wait = byUsername.tryAcquire(username.trim().toLowerCase(Locale.ROOT), now);
+            if (wait > 0) {
+                usernameRejections.increment();
+                return wait;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * One limited dimension: a power-of-two table of packed (fingerprint, theoretical arrival time) slots.
+     */
+    private static final class Buckets {
+
+        private final AtomicLongArray slots;
+        private final int mask;
+        private final long interval;
+        private final long tolerance;
+
+        Buckets(int perMinute, int burst, int slotCount) {
+            if (perMinute < 1 || burst < 1 || slotCount < 1) {
+                throw new IllegalArgumentException("Login limits and slot count must be positive");
+            }
+            this.slots = new AtomicLongArray(Integer.highestOneBit(Math.max(slotCount - 1, 1)) << 1);
+            this.mask = slots.length() - 1;
+            this.interval = Math.max(1, 60_000L / perMinute);
+            this.tolerance = interval * (burst - 1);
+        }
+
+        long tryAcquire(String key, long now) {
+            long hash = mix(key.hashCode());
+            long fingerprint = hash >>> TIME_BITS;
+            int index = slotFor(fingerprint, (int) hash & mask, (int) (hash >>> 20) & mask, now);
+
+            while (true) {
+                long current = slots.get(index);
+                long owner = current >>> TIME_BITS;
+                long arrival = current & TIME_MASK;
+                if (arrival <= now) {
+                    // Idle: the bucket has refilled completely, so the slot can change hands
+                    owner = fingerprint;
+                }
+
+                long earliest = Math.max(arrival, now);
+                if (earliest - now > tolerance) {
+                    return earliest - now - tolerance;
+                }
+                long updated = (owner << TIME_BITS) | ((earliest + interval) & TIME_MASK);
+                if (slots.compareAndSet(index, current, updated)) {
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * Picks between the key's two candidate slots: the one it already owns, else an idle one,
+         * else the first, shared with its current owner.
+         */
+        private int slotFor(long fingerprint, int first, int second, long now) {
+            long a = slots.get(first);
+            long b = slots.get(second);
+            if (a >>> TIME_BITS == fingerprint) {
+                return first;
+            }
+            if (b >>> TIME_BITS == fingerprint) {
+                return second;
+            }
+            if ((a & TIME_MASK) > now && (b & TIME_MASK) <= now) {
+                return second;
+            }
+            return first;
+        }
+
+        private static long mix(int hashCode) {
+            long z = hashCode * 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 32)) * 0xD6E8FEB86659FD93L;
+            return z ^ (z >>> 32);
+        }
+    }
+}
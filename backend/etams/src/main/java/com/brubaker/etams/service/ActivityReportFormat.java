@@ -0,0 +1,43 @@
+package com.brubaker.etams.service;
+
+/**
+ * Output formats supported by the streamed activity report.
+ */
+public enum ActivityReportFormat {
+
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+
+    private final String param;
+    private final String contentType;
+
+    ActivityReportFormat(String param, String contentType) {
+        this.param = param;
+        this.contentType = contentType;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Resolves a format from its request parameter; null means NDJSON.
+     *
+     * @throws IllegalArgumentException if the name is not a supported format
+     */
+    public static ActivityReportFormat fromParam(String param) {
+        if (param == null) {
+            return NDJSON;
+        }
+        for (ActivityReportFormat format : values()) {
+            if (format.param.equalsIgnoreCase(param)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported report format: " + param);
+    }
+}
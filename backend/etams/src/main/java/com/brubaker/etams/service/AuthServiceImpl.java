@@ -4,31 +4,39 @@ import com.brubaker.etams.dto.LoginRequestDTO;
 import com.brubaker.etams.dto.LoginResponseDTO;
 import com.brubaker.etams.entity.Employee;
 import com.brubaker.etams.repository.EmployeeRepo;
+import com.brubaker.etams.security.CredentialVersionRegistry;
 import com.brubaker.etams.security.JwtUtil;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 public class AuthServiceImpl implements AuthService {
 
-    private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
     private final EmployeeRepo employeeRepo;
+    private final CredentialVersionRegistry credentialVersions;
+    private final PasswordEncoder passwordEncoder;
 
-    public AuthServiceImpl(AuthenticationManager authenticationManager, JwtUtil jwtUtil, EmployeeRepo employeeRepo) {
-        this.authenticationManager = authenticationManager;
+    public AuthServiceImpl(JwtUtil jwtUtil, EmployeeRepo employeeRepo, CredentialVersionRegistry credentialVersions,
+                           PasswordEncoder passwordEncoder) {
         this.jwtUtil = jwtUtil;
         this.employeeRepo = employeeRepo;
+        this.credentialVersions = credentialVersions;
+        this.passwordEncoder = passwordEncoder;
     }
 
+    /**
+     * Authenticates an employee and issues a token.
+     * <p>
+     * The employee is loaded once and its stored hash verified directly, rather than going through the
+     * AuthenticationManager, which would load the same row again via the UserDetailsService. Verification
+     * runs on the password encoder's bounded pool; when that pool is saturated the login is refused with 503.
+     */
     @Override
     public ResponseEntity<?> login(LoginRequestDTO loginRequest) {
         if (loginRequest.getUsername() == null || loginRequest.getPassword() == null) {
@@ -42,25 +50,24 @@ public class AuthServiceImpl implements AuthService {
         }
 
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            loginRequest.getUsername(),
-                            loginRequest.getPassword()
-                    )
-            );
-
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            User userDetails = (User) authentication.getPrincipal();
-
             Employee employee = employeeOpt.get();
+            // Read with the row, before the slow hash check: a credential change committing during the check
+            // bumps the version past this one, so the token is issued already revoked
+            long credentialVersion = credentialVersions.currentVersion(employee.getId());
+            if (!passwordEncoder.matches(loginRequest.getPassword(), employee.getPasswordHash())) {
+                return ResponseEntity.status(401).body("Incorrect username or password.");
+            }
+
             boolean isAdmin = employee.isAdmin();
 
-            String jwtToken = jwtUtil.generateToken(employee.getId(), userDetails.getUsername(), isAdmin);
+            String jwtToken = jwtUtil.generateToken(employee.getId(), employee.getUsername(), isAdmin,
+                    credentialVersion);
 
-            return ResponseEntity.ok(new LoginResponseDTO(jwtToken, userDetails.getUsername(), isAdmin, employee.getId()));
+            return ResponseEntity.ok(new LoginResponseDTO(jwtToken, employee.getUsername(), isAdmin, employee.getId()));
 
-        } catch (BadCredentialsException e) {
-            return ResponseEntity.status(401).body("Incorrect username or password.");
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Too many logins in progress. Please try again shortly.");
         } catch (Exception e) {
             return ResponseEntity.status(500).body("Something went wrong on our end. Please try again later.");
         }
@@ -0,0 +1,44 @@
+package com.brubaker.etams.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-version counter behind the weak ETags of the task and employee collections.
+ * <p>
+ * Task listings embed assignee names and employee listings embed task counts, so any task or employee
+ * write changes both collections; a single counter covers them. The service layer bumps it after each
+ * write commits, once the in-memory state the listings are built from (such as {@link TaskCountMatrix})
+ * has been updated; the count matrix also bumps it whenever a load or reconciliation changes a count.
+ * Controllers read it before loading data, so a response is never labelled with a version newer than
+ * its content. The ETag also carries the startup time, so tags issued before a
+ * restart never match.
+ */
+@Component
+public class CollectionVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Marks the collections as changed once the current transaction commits.
+     */
+    public void changedAfterCommit() {
+        AfterCommit.run(this::changed);
+    }
+
+    /**
+     * Marks the collections as changed now, for state that is not written in a transaction.
+     */
+    public void changed() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * Returns the weak ETag describing the current state of the collections.
+     */
+    public String eTag() {
+        return "W/\"" + epoch + "-" + version.get() + "\"";
+    }
+}
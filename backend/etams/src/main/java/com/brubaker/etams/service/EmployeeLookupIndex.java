@@ -0,0 +1,175 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.EmployeeLookupDTO;
+import com.brubaker.etams.repository.EmployeeNameRow;
+import com.brubaker.etams.repository.EmployeeRepo;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix index over employee names for type-ahead lookups.
+ * <p>
+ * Each employee contributes up to four keys: first name, last name, "first last" and username, all
+ * accent-stripped and lowercased. The keys are held in one sorted array with parallel arrays of ids and
+ * display names, so a lookup is a binary search to the first key at or after the prefix followed by a
+ * short forward scan. Readers use an immutable snapshot without locking; writes (rare) build the next
+ * snapshot with a linear merge and publish it atomically.
+ */
+@Component
+public class EmployeeLookupIndex {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private record Entry(String key, int id, String displayName) {
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator.comparing(Entry::key).thenComparingInt(Entry::id);
+
+    /**
+     * Sorted keys with the id and display name of the employee each key belongs to.
+     */
+    private record Snapshot(String[] keys, int[] ids, String[] displayNames) {
+    }
+
+    private volatile Snapshot snapshot;
+
+    // Serializes writers, so two merges cannot publish snapshots that each miss the other's change
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    public EmployeeLookupIndex(EmployeeRepo employeeRepo) {
+        List<Entry> entries = new ArrayList<>();
+        for (EmployeeNameRow row : employeeRepo.findAllNameRows()) {
+            entries.addAll(entriesFor(row.id(), row.firstName(), row.lastName(), row.username()));
+        }
+        entries.sort(ORDER);
+        snapshot = toSnapshot(entries);
+    }
+
+    /**
+     * Returns up to {@code limit} employees whose first name, last name, full name or username starts with
+     * {@code prefix}, ordered by the matching key. Each employee appears at most once.
+     */
+    public List<EmployeeLookupDTO> lookup(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Snapshot current = snapshot;
+        String[] keys = current.keys();
+        int start = Arrays.binarySearch(keys, normalized);
+        if (start < 0) {
+            start = -start - 1;
+        } else {
+            // binarySearch may land on any of several equal keys; step back to the first
+            while (start > 0 && keys[start - 1].equals(normalized)) {
+                start--;
+            }
+        }
+
+        Set<Integer> seen = new LinkedHashSet<>();
+        List<EmployeeLookupDTO> results = new ArrayList<>(limit);
+        for (int i = start; i < keys.length && results.size() < limit && keys[i].startsWith(normalized); i++) {
+            if (seen.add(current.ids()[i])) {
+                results.add(new EmployeeLookupDTO(current.ids()[i], current.displayNames()[i]));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Adds or replaces an employee's keys once the current transaction commits.
+     */
+    public void putAfterCommit(Integer id, String firstName, String lastName, String username) {
+        AfterCommit.run(() -> put(id, firstName, lastName, username));
+    }
+
+    /**
+     * Removes an employee's keys once the current transaction commits.
+     */
+    public void removeAfterCommit(Integer id) {
+        AfterCommit.run(() -> replace(id, List.of()));
+    }
+
+    void put(Integer id, String firstName, String lastName, String username) {
+        List<Entry> added = entriesFor(id, firstName, lastName, username);
+        added.sort(ORDER);
+        replace(id, added);
+    }
+
+    /**
+     * Publishes a snapshot in which the employee's old keys are replaced by {@code added} (already sorted).
+     */
+    private void replace(int id, List<Entry> added) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            String[] keys = current.keys();
+            List<Entry> merged = new ArrayList<>(keys.length + added.size());
+
+            int next = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (current.ids()[i] == id) {
+                    continue;
+                }
+                Entry existing = new Entry(keys[i], current.ids()[i], current.displayNames()[i]);
+                while (next < added.size() && ORDER.compare(added.get(next), existing) < 0) {
+                    merged.add(added.get(next++));
+                }
+                merged.add(existing);
+            }
+            while (next < added.size()) {
+                merged.add(added.get(next++));
+            }
+            snapshot = toSnapshot(merged);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static List<Entry> entriesFor(int id, String firstName, String lastName, String username) {
+        String displayName = ((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "")).trim();
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalize(firstName));
+        keys.add(normalize(lastName));
+        keys.add(normalize(displayName));
+        keys.add(normalize(username));
+        keys.remove("");
+
+        List<Entry> entries = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            entries.add(new Entry(key, id, displayName));
+        }
+        return entries;
+    }
+
+    private static Snapshot toSnapshot(List<Entry> entries) {
+        String[] keys = new String[entries.size()];
+        int[] ids = new int[entries.size()];
+        String[] displayNames = new String[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            keys[i] = entries.get(i).key();
+            ids[i] = entries.get(i).id();
+            displayNames[i] = entries.get(i).displayName();
+        }
+        return new Snapshot(keys, ids, displayNames);
+    }
+
+    /**
+     * Lowercases, strips accents and collapses whitespace, so "  José  Díaz" and "jose diaz" compare equal.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return WHITESPACE.matcher(TextNormalizer.fold(text).trim()).replaceAll(" ");
+    }
+}
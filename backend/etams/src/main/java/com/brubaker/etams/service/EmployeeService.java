@@ -1,6 +1,7 @@
 package com.brubaker.etams.service;
 
 import com.brubaker.etams.dto.EmployeeDTO;
+import com.brubaker.etams.dto.EmployeeLookupDTO;
 
 import java.util.List;
 
@@ -8,6 +9,9 @@ public interface EmployeeService {
     // Get all employees with task counts
     List<EmployeeDTO> getAllEmployeesWithTaskCount();
 
+    // Look up employees by name or username prefix
+    List<EmployeeLookupDTO> lookupEmployees(String prefix, Integer limit);
+
     // Create a new employee
     EmployeeDTO createEmployee(EmployeeDTO employeeDTO);
 
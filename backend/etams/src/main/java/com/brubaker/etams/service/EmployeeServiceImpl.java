@@ -1,13 +1,24 @@
 package com.brubaker.etams.service;
 
 import com.brubaker.etams.dto.EmployeeDTO;
+import com.brubaker.etams.dto.EmployeeLookupDTO;
 import com.brubaker.etams.dto.EmployeeMapper;
 import com.brubaker.etams.entity.Employee;
+import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.entity.TaskStatus;
 import com.brubaker.etams.repository.EmployeeRepo;
+import com.brubaker.etams.repository.EmployeeRow;
+import com.brubaker.etams.repository.EmployeeTaskCount;
+import com.brubaker.etams.repository.TaskRepo;
+import com.brubaker.etams.security.CredentialVersionRegistry;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,28 +27,54 @@ public class EmployeeServiceImpl implements EmployeeService {
     private final EmployeeRepo employeeRepo;
     private final EmployeeMapper employeeMapper;
     private final PasswordEncoder passwordEncoder;
-
-    public EmployeeServiceImpl(EmployeeRepo employeeRepo, PasswordEncoder passwordEncoder, EmployeeMapper employeeMapper) {
+    private final CredentialVersionRegistry credentialVersions;
+    private final EmployeeLookupIndex lookupIndex;
+    private final CollectionVersion collectionVersion;
+    private final TaskRepo taskRepo;
+    private final TaskEventBroadcaster taskEvents;
+    private final TaskStatusJournal statusJournal;
+    private final TaskCountMatrix taskCounts;
+
+    static final int DEFAULT_LOOKUP_LIMIT = 10;
+    static final int MAX_LOOKUP_LIMIT = 50;
+
+    public EmployeeServiceImpl(EmployeeRepo employeeRepo, PasswordEncoder passwordEncoder, EmployeeMapper employeeMapper,
+                               CredentialVersionRegistry credentialVersions, EmployeeLookupIndex lookupIndex,
+                               CollectionVersion collectionVersion, TaskRepo taskRepo,
+                               TaskEventBroadcaster taskEvents, TaskStatusJournal statusJournal,
+                               TaskCountMatrix taskCounts) {
         this.employeeRepo = employeeRepo;
         this.employeeMapper = employeeMapper;
         this.passwordEncoder = passwordEncoder;
+        this.credentialVersions = credentialVersions;
+        this.lookupIndex = lookupIndex;
+        this.collectionVersion = collectionVersion;
+        this.taskRepo = taskRepo;
+        this.taskEvents = taskEvents;
+        this.statusJournal = statusJournal;
+        this.taskCounts = taskCounts;
     }
 
-    // Get all employees with task counts
+    // Get all employees with task counts (one query for the employees, counts from the in-memory matrix)
     @Override
+    @Transactional(readOnly = true)
     public List<EmployeeDTO> getAllEmployeesWithTaskCount() {
-        List<Employee> employees = employeeRepo.findAll();
-        return employees.stream()
-                .map(employee -> {
-                    EmployeeDTO dto = employeeMapper.toDTO(employee);
-                    dto.setTaskCount(employee.getTasks() != null ? employee.getTasks().size() : 0); // Add task count
-                    return dto;
-                })
+        return employeeRepo.findAllRows().stream()
+                .map(this::withTaskCounts)
+                .map(employeeMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
+    // Type-ahead lookup by name or username prefix, answered from the in-memory index (no query)
+    @Override
+    public List<EmployeeLookupDTO> lookupEmployees(String prefix, Integer limit) {
+        int max = limit == null ? DEFAULT_LOOKUP_LIMIT : Math.max(1, Math.min(limit, MAX_LOOKUP_LIMIT));
+        return lookupIndex.lookup(prefix, max);
+    }
+
     // Create a new employee
     @Override
+    @Transactional
     public EmployeeDTO createEmployee(EmployeeDTO employeeDTO) {
         Employee employee = employeeMapper.toEntity(employeeDTO);
 
@@ -46,14 +83,21 @@ public class EmployeeServiceImpl implements EmployeeService {
             employee.setPasswordHash(passwordEncoder.encode(employeeDTO.getPassword()));
         }
 
-        return employeeMapper.toDTO(employeeRepo.save(employee));
+        Employee savedEmployee = employeeRepo.save(employee);
+        lookupIndex.putAfterCommit(savedEmployee.getId(), savedEmployee.getFirstName(), savedEmployee.getLastName(),
+                savedEmployee.getUsername());
+        collectionVersion.changedAfterCommit();
+        return employeeMapper.toDTO(savedEmployee);
     }
 
     // Update an existing employee
     @Override
+    @Transactional(timeoutString = TaskChangeLog.WRITE_TIMEOUT)
     public EmployeeDTO updateEmployee(Integer id, EmployeeDTO employeeDTO) {
         Employee existingEmployee = employeeRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
+        boolean renamed = !Objects.equals(existingEmployee.getFirstName(), employeeDTO.getFirstName())
+                || !Objects.equals(existingEmployee.getLastName(), employeeDTO.getLastName());
 
         // Update fields manually (to avoid overwriting sensitive data)
         existingEmployee.setFirstName(employeeDTO.getFirstName());
@@ -68,11 +112,34 @@ public class EmployeeServiceImpl implements EmployeeService {
             existingEmployee.setPasswordHash(passwordEncoder.encode(employeeDTO.getPassword()));
         }
 
-        return employeeMapper.toDTO(employeeRepo.save(existingEmployee));
+        Employee savedEmployee = employeeRepo.save(existingEmployee);
+
+        // Tasks show their assignee's name: stamp them so their updatedAt moves and delta-sync clients
+        // and the task stream see the new name
+        if (renamed) {
+            Instant now = Instant.now();
+            for (Task task : taskRepo.findByAssignedEmployee_Id(id)) {
+                task.setUpdatedAt(now);
+                taskEvents.updatedAfterCommit(task, id);
+            }
+        }
+
+        // Role, username or password may have changed: revoke tokens issued before this update
+        credentialVersions.invalidate(id);
+        lookupIndex.putAfterCommit(id, savedEmployee.getFirstName(), savedEmployee.getLastName(),
+                savedEmployee.getUsername());
+        collectionVersion.changedAfterCommit();
+
+        // Task counts come from the in-memory matrix, so the tasks are never loaded
+        return employeeMapper.toDTO(withTaskCounts(new EmployeeRow(savedEmployee.getId(),
+                savedEmployee.getFirstName(), savedEmployee.getLastName(), savedEmployee.getEmail(),
+                savedEmployee.getUsername(), savedEmployee.getRole(), savedEmployee.isAdmin(),
+                savedEmployee.getCreatedAt(), savedEmployee.getUpdatedAt())));
     }
 
     // Update the password for an employee
     @Override
+    @Transactional
     public void updatePassword(Integer id, String password) {
         Employee existingEmployee = employeeRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Employee not found"));
@@ -81,14 +148,42 @@ public class EmployeeServiceImpl implements EmployeeService {
         existingEmployee.setPasswordHash(passwordEncoder.encode(password));
 
         employeeRepo.save(existingEmployee);
+        credentialVersions.invalidate(id);
     }
 
     // Optional: Delete an employee (if needed)
     @Override
+    @Transactional(timeoutString = TaskChangeLog.WRITE_TIMEOUT)
     public void deleteEmployee(Integer id) {
         if (!employeeRepo.existsById(id)) {
             throw new RuntimeException("Employee not found");
         }
+
+        // Unassign the tasks here rather than leaving it to ON DELETE SET NULL, so their updatedAt moves
+        // and delta-sync clients, the task stream and the status journal see the change
+        List<Task> tasks = taskRepo.findByAssignedEmployee_Id(id);
+        for (Task task : tasks) {
+            task.setAssignedEmployee(null);
+            taskEvents.updatedAfterCommit(task, id);
+            statusJournal.changedAfterCommit(task, task.getStatus(), id);
+            taskCounts.changedAfterCommit(task, task.getStatus(), id);
+        }
+        taskRepo.flush();
+
         employeeRepo.deleteById(id);
+        credentialVersions.revoke(id);
+        lookupIndex.removeAfterCommit(id);
+        taskCounts.removedAfterCommit(id);
+        collectionVersion.changedAfterCommit();
+    }
+
+    private EmployeeTaskCount withTaskCounts(EmployeeRow employee) {
+        Map<TaskStatus, Long> counts = taskCounts.countsFor(employee.id());
+        return new EmployeeTaskCount(employee.id(), employee.firstName(), employee.lastName(), employee.email(),
+                employee.username(), employee.role(), employee.admin(), employee.createdAt(), employee.updatedAt(),
+                counts.values().stream().mapToLong(Long::longValue).sum(),
+                counts.get(TaskStatus.PENDING),
+                counts.get(TaskStatus.IN_PROGRESS),
+                counts.get(TaskStatus.COMPLETED));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,7 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.DashboardMetricsDTO;
+
+public interface MetricsService {
+    DashboardMetricsDTO getDashboardMetrics();
+}
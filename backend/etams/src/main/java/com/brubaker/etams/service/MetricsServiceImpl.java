@@ -0,0 +1,61 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.DashboardMetricsDTO;
+import com.brubaker.etams.entity.TaskStatus;
+import com.brubaker.etams.repository.EmployeeRepo;
+import com.brubaker.etams.repository.TaskRepo;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Service layer for dashboard metrics.
+ * Task totals come from the in-memory {@link TaskCountMatrix}; the remaining figures are COUNT queries,
+ * so no task or employee rows are loaded.
+ */
+@Service
+public class MetricsServiceImpl implements MetricsService {
+
+    private final TaskRepo taskRepo;
+    private final EmployeeRepo employeeRepo;
+    private final TaskCountMatrix taskCounts;
+
+    /**
+     * Constructs a MetricsService with the required dependencies.
+     *
+     * @param taskRepo     the repository for task operations
+     * @param employeeRepo the repository for employee operations
+     * @param taskCounts   the per-employee, per-status task counters
+     */
+    public MetricsServiceImpl(TaskRepo taskRepo, EmployeeRepo employeeRepo, TaskCountMatrix taskCounts) {
+        this.taskRepo = taskRepo;
+        this.employeeRepo = employeeRepo;
+        this.taskCounts = taskCounts;
+    }
+
+    /**
+     * Computes the dashboard metrics.
+     *
+     * @return the total employee and task counts, per-status counts, the count of tasks in the UNASSIGNED
+     * status, and the overdue count
+     */
+    @Override
+    public DashboardMetricsDTO getDashboardMetrics() {
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        long totalTasks = 0;
+        for (Map.Entry<TaskStatus, Long> entry : taskCounts.totals().entrySet()) {
+            statusCounts.put(entry.getKey().name(), entry.getValue());
+            totalTasks += entry.getValue();
+        }
+
+        return new DashboardMetricsDTO(
+                employeeRepo.count(),
+                totalTasks,
+                statusCounts,
+                statusCounts.get(TaskStatus.UNASSIGNED.name()),
+                taskRepo.countByDeadlineBeforeAndStatusNot(LocalDate.now(), TaskStatus.COMPLETED)
+        );
+    }
+}
@@ -0,0 +1,20 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.OverdueAssigneeDTO;
+import com.brubaker.etams.dto.TaskPageDTO;
+import com.brubaker.etams.dto.TimeInStatusDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ReportService {
+    TaskPageDTO getOverdueTasks(String cursor, Integer limit, String direction);
+
+    List<OverdueAssigneeDTO> getOverdueTasksByAssignee();
+
+    TimeInStatusDTO getTimeInStatus(Integer taskId, Integer employeeId, LocalDate from, LocalDate to);
+
+    void writeActivityReport(LocalDate from, LocalDate to, ActivityReportFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,238 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.OverdueAssigneeDTO;
+import com.brubaker.etams.dto.TaskDTO;
+import com.brubaker.etams.dto.TaskMapper;
+import com.brubaker.etams.dto.TaskPageDTO;
+import com.brubaker.etams.dto.TimeInStatusDTO;
+import com.brubaker.etams.entity.TaskStatus;
+import com.brubaker.etams.repository.TaskRepo;
+import com.brubaker.etams.repository.TaskRow;
+import com.brubaker.etams.repository.TaskSortField;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service layer for reports.
+ * Reports are answered by filtered, index-backed queries rather than by loading every task.
+ */
+@Service
+public class ReportServiceImpl implements ReportService {
+
+    /**
+     * Statuses that count as not yet done; a task with one of these and a past deadline is overdue.
+     */
+    private static final Set<TaskStatus> OPEN_STATUSES = EnumSet.complementOf(EnumSet.of(TaskStatus.COMPLETED));
+
+    private static final String CSV_HEADER =
+            "id,title,description,status,deadline,assignedEmployeeId,assignedEmployeeName,createdAt,updatedAt";
+
+    private final TaskRepo taskRepo;
+    private final TaskMapper taskMapper;
+    private final ObjectWriter taskWriter;
+    private final int fetchSize;
+    private final TaskStatusJournal statusJournal;
+
+    /**
+     * Constructs a ReportService with the required dependencies.
+     *
+     * @param taskRepo     the repository for task operations
+     * @param taskMapper   the mapper for Entity <-> DTO
+     * @param objectMapper the application's JSON mapper, used for NDJSON rows
+     * @param fetchSize     rows fetched per database round trip when streaming, also the flush interval
+     * @param statusJournal the journal of status transitions, read for time-in-status reports
+     */
+    public ReportServiceImpl(TaskRepo taskRepo, TaskMapper taskMapper, ObjectMapper objectMapper,
+                             @Value("${reports.activity.fetch-size:500}") int fetchSize,
+                             TaskStatusJournal statusJournal) {
+        this.taskRepo = taskRepo;
+        this.taskMapper = taskMapper;
+        // Flushing is done per chunk below, not after every row
+        this.taskWriter = objectMapper.writerFor(TaskDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+        this.statusJournal = statusJournal;
+    }
+
+    /**
+     * Retrieves one keyset-paginated slice of overdue tasks: not completed, with a deadline before today.
+     *
+     * @param cursor    the cursor returned with the previous page, or null for the first page
+     * @param limit     the page size
+     * @param direction asc (most overdue first, the default) or desc (least overdue first)
+     * @return the page of overdue tasks and the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for a different ordering
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPageDTO getOverdueTasks(String cursor, Integer limit, String direction) {
+        boolean descending = TaskCursor.parseDirection(direction);
+        int pageSize = TaskServiceImpl.pageSize(limit);
+
+        TaskCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = TaskCursor.decode(cursor);
+            if (after.sortField() != TaskSortField.DEADLINE || after.descending() != descending) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort order");
+            }
+        }
+
+        List<TaskRow> rows = taskRepo.findOverdueAfter(OPEN_STATUSES, LocalDate.now(), descending,
+                after != null ? (LocalDate) after.value() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TaskRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = hasMore
+                ? TaskCursor.after(TaskSortField.DEADLINE, descending, page.get(page.size() - 1)).encode()
+                : null;
+
+        return new TaskPageDTO(page.stream().map(taskMapper::toDTO).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Counts overdue tasks per assignee, most overdue tasks first.
+     *
+     * @return one entry per assignee holding overdue tasks, plus one with a null id for unassigned tasks
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<OverdueAssigneeDTO> getOverdueTasksByAssignee() {
+        return taskRepo.countOverdueByAssignee(OPEN_STATUSES, LocalDate.now()).stream()
+                .map(row -> new OverdueAssigneeDTO(
+                        row.employeeId(),
+                        row.employeeId() != null ? row.firstName() + " " + row.lastName() : null,
+                        row.overdueCount(),
+                        row.oldestDeadline()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Totals the time spent in each status between {@code from} and {@code to} (both inclusive, UTC dates),
+     * read from the status journal rather than the database.
+     *
+     * @param taskId     only this task, or null for every task
+     * @param employeeId only time while the task was assigned to this employee, or null for everyone
+     * @param from       first date to include, or null for no lower bound
+     * @param to         last date to include, or null for up to now
+     * @return milliseconds per status, with the number of tasks and status changes counted
+     */
+    @Override
+    public TimeInStatusDTO getTimeInStatus(Integer taskId, Integer employeeId, LocalDate from, LocalDate to) {
+        Long start = from != null ? from.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli() : null;
+        Long end = to != null ? to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli() : null;
+        return statusJournal.timeInStatus(taskId, employeeId, start, end);
+    }
+
+    /**
+     * Streams every task created between {@code from} and {@code to} (both inclusive, UTC dates) to {@code out},
+     * oldest first. Rows are read from a forward-only cursor and written as they arrive, flushing every
+     * {@code fetchSize} rows, so memory use is independent of the size of the range.
+     *
+     * @param from   first creation date to include, or null for no lower bound
+     * @param to     last creation date to include, or null for no upper bound
+     * @param format NDJSON (one TaskDTO object per line) or CSV (with a header row)
+     * @param out    the response body; left open for the caller to close
+     * @throws IOException if writing to the client fails
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void writeActivityReport(LocalDate from, LocalDate to, ActivityReportFormat format, OutputStream out)
+            throws IOException {
+        Instant start = from != null ? from.atStartOfDay(ZoneOffset.UTC).toInstant() : null;
+        Instant end = to != null ? to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant() : null;
+
+        try {
+            if (format == ActivityReportFormat.CSV) {
+                writeCsv(start, end, out);
+            } else {
+                writeNdjson(start, end, out);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeNdjson(Instant start, Instant end, OutputStream out) throws IOException {
+        try (JsonGenerator generator = taskWriter.createGenerator(out)) {
+            // The servlet container owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            int[] written = {0};
+            taskRepo.scrollCreatedBetween(start, end, fetchSize, row -> {
+                try {
+                    taskWriter.writeValue(generator, taskMapper.toDTO(row));
+                    generator.writeRaw('\n');
+                    if (++written[0] % fetchSize == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void writeCsv(Instant start, Instant end, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        int[] written = {0};
+        taskRepo.scrollCreatedBetween(start, end, fetchSize, row -> {
+            try {
+                TaskDTO task = taskMapper.toDTO(row);
+                writer.write(String.join(",",
+                        csvField(task.getId()),
+                        csvField(task.getTitle()),
+                        csvField(task.getDescription()),
+                        csvField(task.getStatus()),
+                        csvField(task.getDeadline()),
+                        csvField(task.getAssignedEmployeeId()),
+                        csvField(task.getAssignedEmployeeName()),
+                        csvField(task.getCreatedAt()),
+                        csvField(task.getUpdatedAt())));
+                writer.write("\r\n");
+                if (++written[0] % fetchSize == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    /**
+     * Formats a value as an RFC 4180 field, quoting it when it contains a separator, quote or line break.
+     */
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,149 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.TaskChangesDTO;
+import com.brubaker.etams.dto.TaskDTO;
+import com.brubaker.etams.dto.TaskMapper;
+import com.brubaker.etams.entity.TaskTombstone;
+import com.brubaker.etams.exception.SyncTokenExpiredException;
+import com.brubaker.etams.repository.TaskRepo;
+import com.brubaker.etams.repository.TaskRow;
+import com.brubaker.etams.repository.TaskTombstoneRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync for the task listing: what changed since a client's sync token.
+ * <p>
+ * Created and updated tasks are found by {@code updated_at}; deleted tasks leave a tombstone, written in
+ * the deleting transaction. A token is the instant the previous sync read the data, minus a grace period:
+ * {@code updated_at} is stamped at flush, before commit, so a write committing while a sync runs can carry
+ * a timestamp the sync has already passed. Re-reading the grace window on every sync catches it, at the cost
+ * of some tasks being sent twice; clients apply changes by id, so that is harmless.
+ * <p>
+ * The window is tied to the transaction timeout of every write that stamps tasks or tombstones
+ * ({@code tasks.sync.write-timeout-s}, see {@link #WRITE_TIMEOUT}): such a write cannot run a statement, and so cannot stamp anything,
+ * once its timeout has passed, and it commits straight after its last statement. A grace at least as long
+ * as that timeout therefore never skips a committed change. Startup fails if the grace is shorter; a write
+ * timeout of -1 (none) drops the guarantee and is meant for tests only.
+ * <p>
+ * Tombstones older than the retention period are purged, and tokens that old are answered with 410 so the
+ * client reloads the full listing.
+ */
+@Component
+public class TaskChangeLog {
+
+    /** Transaction timeout, in seconds, of the writes the grace period has to cover */
+    static final String WRITE_TIMEOUT = "${tasks.sync.write-timeout-s:4}";
+
+    private static final String TOKEN_PREFIX = "v1:";
+
+    private final TaskRepo taskRepo;
+    private final TaskTombstoneRepo tombstoneRepo;
+    private final TaskMapper taskMapper;
+    private final Duration grace;
+    private final Duration retention;
+    private final Clock clock;
+
+    @Autowired
+    public TaskChangeLog(TaskRepo taskRepo, TaskTombstoneRepo tombstoneRepo, TaskMapper taskMapper,
+                         @Value("${tasks.sync.grace-ms:5000}") long graceMs,
+                         @Value(WRITE_TIMEOUT) int writeTimeoutSeconds,
+                         @Value("${tasks.sync.retention-days:30}") int retentionDays) {
+        this(taskRepo, tombstoneRepo, taskMapper, Duration.ofMillis(graceMs), Duration.ofDays(retentionDays),
+                Clock.systemUTC());
+        if (writeTimeoutSeconds >= 0 && grace.compareTo(Duration.ofSeconds(writeTimeoutSeconds)) < 0) {
+            throw new IllegalArgumentException("tasks.sync.grace-ms (" + graceMs
+                    + ") must be at least tasks.sync.write-timeout-s (" + writeTimeoutSeconds + " s)");
+        }
+    }
+
+    TaskChangeLog(TaskRepo taskRepo, TaskTombstoneRepo tombstoneRepo, TaskMapper taskMapper,
+                  Duration grace, Duration retention, Clock clock) {
+        this.taskRepo = taskRepo;
+        this.tombstoneRepo = tombstoneRepo;
+        this.taskMapper = taskMapper;
+        this.grace = grace;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    /**
+     * Records the deletion of tasks in the current transaction, so it commits or rolls back with them.
+     *
+     * @param taskIds the ids of the deleted tasks
+     */
+    public void recordDeleted(Collection<Integer> taskIds) {
+        Instant now = clock.instant();
+        tombstoneRepo.saveAll(taskIds.stream()
+                .map(id -> new TaskTombstone(id, now))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Returns the tasks changed and deleted since the token, or the full listing when there is no token.
+     *
+     * @param since the token returned by the previous sync, or null
+     * @return the changes and the token for the next sync
+     * @throws IllegalArgumentException  if the token is malformed
+     * @throws SyncTokenExpiredException if the token is older than the tombstone retention
+     */
+    @Transactional(readOnly = true)
+    public TaskChangesDTO changesSince(String since) {
+        // Taken before reading, so nothing committed after this point can be skipped by the next token
+        Instant readAt = clock.instant();
+        String nextToken = encode(readAt.minus(grace));
+
+        if (since == null || since.isBlank()) {
+            return new TaskChangesDTO(toDTOs(taskRepo.findAllRows()), List.of(), nextToken);
+        }
+
+        Instant after = decode(since);
+        if (after.isBefore(readAt.minus(retention))) {
+            throw new SyncTokenExpiredException("Sync token has expired; reload the full task list");
+        }
+        return new TaskChangesDTO(toDTOs(taskRepo.findRowsUpdatedAfter(after)),
+                tombstoneRepo.findTaskIdsDeletedAfter(after), nextToken);
+    }
+
+    /**
+     * Deletes tombstones no token can still ask for.
+     */
+    @Scheduled(fixedDelayString = "${tasks.sync.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        tombstoneRepo.deleteByDeletedAtBefore(clock.instant().minus(retention).minus(grace));
+    }
+
+    private List<TaskDTO> toDTOs(List<TaskRow> rows) {
+        return rows.stream().map(taskMapper::toDTO).collect(Collectors.toList());
+    }
+
+    private static String encode(Instant instant) {
+        String raw = TOKEN_PREFIX + instant.toEpochMilli();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Instant decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(TOKEN_PREFIX)) {
+                throw new IllegalArgumentException("Invalid sync token");
+            }
+            return Instant.ofEpochMilli(Long.parseLong(raw.substring(TOKEN_PREFIX.length())));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid sync token", e);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.entity.TaskStatus;
+import com.brubaker.etams.repository.AssigneeStatusCount;
+import com.brubaker.etams.repository.TaskRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory task counts per assignee and status, so employee task counts and dashboard totals are read
+ * without querying the tasks.
+ * <p>
+ * The matrix is loaded from one GROUP BY query once the application is ready, then kept current by
+ * {@link TaskServiceImpl} and {@link EmployeeServiceImpl}, which apply each create, change and delete after
+ * its transaction commits. Cells are {@link LongAdder}s, so concurrent writers to the same cell do not contend.
+ * <p>
+ * A periodic reconciliation re-runs the query and corrects any cell that has drifted, for instance through a
+ * change made outside the services. The total difference found is published as the {@code tasks.counts.drift}
+ * gauge. Each cell is corrected by the difference between the query and the cell as it was just before the query,
+ * added rather than set, so a change applied meanwhile is kept. A reconciliation is skipped if counts changed
+ * while the query ran, since the query may or may not have seen that change.
+ * A load, and any reconciliation that corrects a cell, bumps the {@link CollectionVersion}, since employee
+ * listings embed these counts.
+ */
+@Component
+public class TaskCountMatrix {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final TaskRepo taskRepo;
+    private final CollectionVersion collectionVersion;
+
+    /** employee id -> one adder per status, by ordinal */
+    private final Map<Integer, LongAdder[]> byEmployee = new ConcurrentHashMap<>();
+    private final LongAdder[] unassigned = newRow();
+    /** Bumped by every applied change, so a reconciliation can tell whether counts moved under it */
+    private final LongAdder changes = new LongAdder();
+    private final AtomicLong drift = new AtomicLong();
+
+    private final Counter consistent;
+    private final Counter corrected;
+    private final Counter skipped;
+
+    public TaskCountMatrix(TaskRepo taskRepo, CollectionVersion collectionVersion, MeterRegistry meterRegistry) {
+        this.taskRepo = taskRepo;
+        this.collectionVersion = collectionVersion;
+        Gauge.builder("tasks.counts.drift", drift, AtomicLong::get)
+                .description("Task count difference from the database found by the last reconciliation")
+                .register(meterRegistry);
+        this.consistent = reconciliations(meterRegistry, "consistent");
+        this.corrected = reconciliations(meterRegistry, "corrected");
+        this.skipped = reconciliations(meterRegistry, "skipped");
+    }
+
+    private static Counter reconciliations(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("tasks.counts.reconciliations").tag("result", result)
+                .description("Reconciliations of the in-memory task counts against the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the counts from the database; the difference from the empty matrix is not reported as drift.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        Map<Integer, long[]> expected = snapshot();
+        correct(expected, query());
+        collectionVersion.changed();
+    }
+
+    /**
+     * Compares the counts with the database and corrects the cells that differ.
+     */
+    @Scheduled(initialDelayString = "${tasks.counts.reconcile-interval-ms:300000}",
+            fixedDelayString = "${tasks.counts.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        long before = changes.sum();
+        Map<Integer, long[]> expected = snapshot();
+        Map<Integer, long[]> actual = query();
+        if (changes.sum() != before) {
+            skipped.increment();
+            return;
+        }
+        long difference = correct(expected, actual);
+        drift.set(difference);
+        if (difference == 0) {
+            consistent.increment();
+        } else {
+            collectionVersion.changed();
+            corrected.increment();
+        }
+    }
+
+    /**
+     * Counts a new task once the current transaction commits.
+     */
+    public void createdAfterCommit(Task task) {
+        Integer assigneeId = assigneeId(task);
+        TaskStatus status = task.getStatus();
+        AfterCommit.run(() -> add(assigneeId, status, 1));
+    }
+
+    /**
+     * Moves a task between cells once the current transaction commits, if its status or assignee changed.
+     *
+     * @param task               the task in its new state
+     * @param previousStatus     the status before the change
+     * @param previousAssigneeId the assignee before the change
+     */
+    public void changedAfterCommit(Task task, TaskStatus previousStatus, Integer previousAssigneeId) {
+        Integer assigneeId = assigneeId(task);
+        TaskStatus status = task.getStatus();
+        if (status != previousStatus || !Objects.equals(assigneeId, previousAssigneeId)) {
+            AfterCommit.run(() -> {
+                add(previousAssigneeId, previousStatus, -1);
+                add(assigneeId, status, 1);
+            });
+        }
+    }
+
+    /**
+     * Uncounts a deleted task once the current transaction commits.
+     */
+    public void deletedAfterCommit(Task task) {
+        Integer assigneeId = assigneeId(task);
+        TaskStatus status = task.getStatus();
+        AfterCommit.run(() -> add(assigneeId, status, -1));
+    }
+
+    /**
+     * Drops a deleted employee's row once the current transaction commits. Their tasks must already have
+     * been moved out with {@link #changedAfterCommit}, earlier in the same transaction.
+     */
+    public void removedAfterCommit(Integer employeeId) {
+        AfterCommit.run(() -> {
+            byEmployee.remove(employeeId);
+            changes.increment();
+        });
+    }
+
+    /**
+     * Returns an employee's task counts per status.
+     *
+     * @param employeeId the employee, or null for unassigned tasks
+     */
+    public Map<TaskStatus, Long> countsFor(Integer employeeId) {
+        LongAdder[] row = employeeId != null ? byEmployee.get(employeeId) : unassigned;
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : STATUSES) {
+            counts.put(status, row != null ? row[status.ordinal()].sum() : 0L);
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the number of tasks in each status, assigned or not.
+     */
+    public Map<TaskStatus, Long> totals() {
+        Map<TaskStatus, Long> totals = countsFor(null);
+        for (LongAdder[] row : byEmployee.values()) {
+            for (TaskStatus status : STATUSES) {
+                totals.merge(status, row[status.ordinal()].sum(), Long::sum);
+            }
+        }
+        return totals;
+    }
+
+    boolean hasRow(Integer employeeId) {
+        return byEmployee.containsKey(employeeId);
+    }
+
+    void add(Integer employeeId, TaskStatus status, long delta) {
+        if (status == null) {
+            return;
+        }
+        LongAdder[] row = employeeId != null
+                ? byEmployee.computeIfAbsent(employeeId, id -> newRow())
+                : unassigned;
+        row[status.ordinal()].add(delta);
+        changes.increment();
+    }
+
+    /**
+     * Copies the current counts, keyed like {@link #query()}: by employee id, null for unassigned tasks.
+     */
+    private Map<Integer, long[]> snapshot() {
+        Map<Integer, long[]> counts = new HashMap<>();
+        counts.put(null, sums(unassigned));
+        byEmployee.forEach((employeeId, row) -> counts.put(employeeId, sums(row)));
+        return counts;
+    }
+
+    private Map<Integer, long[]> query() {
+        Map<Integer, long[]> actual = new HashMap<>();
+        for (AssigneeStatusCount row : taskRepo.countGroupedByAssigneeAndStatus()) {
+            long[] counts = actual.computeIfAbsent(row.employeeId(), id -> new long[STATUSES.length]);
+            counts[row.status().ordinal()] = row.count();
+        }
+        return actual;
+    }
+
+    /**
+     * Adds the difference between the queried and the expected counts to every cell.
+     *
+     * @param expected the counts the query is compared with, from {@link #snapshot()}
+     * @param actual   the counts from {@link #query()}
+     * @return the total absolute difference that was corrected
+     */
+    private long correct(Map<Integer, long[]> expected, Map<Integer, long[]> actual) {
+        Set<Integer> employeeIds = new HashSet<>(expected.keySet());
+        employeeIds.addAll(actual.keySet());
+        employeeIds.remove(null);
+
+        long difference = correctRow(unassigned, expected.get(null), actual.get(null));
+        for (Integer employeeId : employeeIds) {
+            difference += correctRow(byEmployee.computeIfAbsent(employeeId, id -> newRow()),
+                    expected.get(employeeId), actual.get(employeeId));
+        }
+        return difference;
+    }
+
+    private static long correctRow(LongAdder[] row, long[] expected, long[] actual) {
+        long difference = 0;
+        for (int i = 0; i < row.length; i++) {
+            long delta = (actual != null ? actual[i] : 0) - (expected != null ? expected[i] : 0);
+            if (delta != 0) {
+                row[i].add(delta);
+                difference += Math.abs(delta);
+            }
+        }
+        return difference;
+    }
+
+    private static long[] sums(LongAdder[] row) {
+        long[] sums = new long[row.length];
+        for (int i = 0; i < row.length; i++) {
+            sums[i] = row[i].sum();
+        }
+        return sums;
+    }
+
+    private static LongAdder[] newRow() {
+        LongAdder[] row = new LongAdder[STATUSES.length];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = new LongAdder();
+        }
+        return row;
+    }
+
+    private static Integer assigneeId(Task task) {
+        return task.getAssignedEmployee() != null ? task.getAssignedEmployee().getId() : null;
+    }
+}
@@ -0,0 +1,77 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.repository.TaskRow;
+import com.brubaker.etams.repository.TaskSortField;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page.
+ * <p>
+ * The cursor records the ordering it was produced for together with the sort value and id of the
+ * last row returned. Because the next page is defined as "rows strictly after (value, id)", rows
+ * inserted concurrently never shift or duplicate what the client has already seen.
+ * Clients receive it as an opaque URL-safe Base64 string.
+ */
+record TaskCursor(TaskSortField sortField, boolean descending, Object value, Integer id) {
+
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Creates the cursor pointing just past the given task.
+     */
+    static TaskCursor after(TaskSortField sortField, boolean descending, TaskRow task) {
+        return new TaskCursor(sortField, descending, sortField.valueOf(task), task.id());
+    }
+
+    /**
+     * Encodes the cursor as an opaque token.
+     * Layout before encoding: {@code field:direction:id[:value]}; the value is last so it may contain separators.
+     */
+    String encode() {
+        String raw = sortField.getParam() + SEPARATOR + (descending ? "desc" : "asc") + SEPARATOR + id
+                + (value != null ? SEPARATOR + value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 4);
+            if (parts.length < 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+
+            TaskSortField sortField = TaskSortField.fromParam(parts[0]);
+            boolean descending = "desc".equals(parts[1]);
+            Integer id = Integer.valueOf(parts[2]);
+            Object value = parts.length == 4 ? sortField.parseValue(parts[3]) : null;
+
+            return new TaskCursor(sortField, descending, value, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Parses a sort direction parameter; null means ascending.
+     *
+     * @return true for descending
+     * @throws IllegalArgumentException if the value is neither asc nor desc
+     */
+    static boolean parseDirection(String direction) {
+        if (direction == null || direction.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (direction.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unsupported sort direction: " + direction);
+    }
+}
@@ -0,0 +1,380 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.TaskEventDTO;
+import com.brubaker.etams.dto.TaskMapper;
+import com.brubaker.etams.entity.Employee;
+import com.brubaker.etams.entity.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pushes task changes to Server-Sent Event subscribers once the writing transaction commits.
+ * <p>
+ * Publishing never blocks the committing thread: each change is serialized once and offered to every
+ * subscriber's bounded queue, and each queue is drained onto its connection by a virtual thread of its own,
+ * so a client that stops reading holds up no one else. A subscriber whose queue is full has fallen too far
+ * behind, and one whose write has been blocked for longer than the write timeout has stopped reading; either
+ * is disconnected, and its client reconnects and reloads. Admins see every change; other employees see changes to tasks assigned to them, plus a
+ * {@code deleted} event when a task is reassigned away from them.
+ * <p>
+ * A comment is sent to every subscriber at the heartbeat interval, so connections that died silently
+ * are found and proxies do not close idle streams. Open streams are published as the
+ * {@code tasks.stream.subscribers} gauge and disconnections as {@code tasks.stream.dropped}, tagged
+ * {@code reason=slow|stalled|error}.
+ */
+@Component
+public class TaskEventBroadcaster implements AutoCloseable {
+
+    private final TaskMapper taskMapper;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long writeTimeoutNanos;
+    private final Supplier<SseEmitter> emitters;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeat;
+    private final Counter slowConsumers;
+    private final Counter stalledWrites;
+    private final Counter failedSends;
+
+    @Autowired
+    public TaskEventBroadcaster(TaskMapper taskMapper, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                @Value("${tasks.stream.buffer-size:256}") int bufferSize,
+                                @Value("${tasks.stream.max-subscribers:5000}") int maxSubscribers,
+                                @Value("${tasks.stream.write-timeout-ms:10000}") long writeTimeoutMs,
+                                @Value("${tasks.stream.heartbeat-ms:30000}") long heartbeatMs,
+                                @Value("${tasks.stream.timeout-ms:1800000}") long timeoutMs) {
+        this(taskMapper, objectMapper, meterRegistry, bufferSize, maxSubscribers, writeTimeoutMs, heartbeatMs,
+                () -> new SseEmitter(timeoutMs));
+    }
+
+    TaskEventBroadcaster(TaskMapper taskMapper, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                         int bufferSize, int maxSubscribers, long writeTimeoutMs, long heartbeatMs,
+                         Supplier<SseEmitter> emitters) {
+        if (bufferSize < 1 || maxSubscribers < 1 || writeTimeoutMs < 1 || heartbeatMs < 1) {
+            throw new IllegalArgumentException("Task stream buffer, subscriber, timeout and heartbeat limits must be positive");
+        }
+        this.taskMapper = taskMapper;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        this.emitters = emitters;
+        this.senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-stream-", 1).factory());
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(new StreamThreadFactory("task-stream-heartbeat-"));
+        this.heartbeat.scheduleAtFixedRate(this::sendHeartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        // Checked twice per timeout, so a stalled write is found at most one and a half timeouts after it began
+        long checkMs = Math.max(1, writeTimeoutMs / 2);
+        this.heartbeat.scheduleAtFixedRate(this::dropStalled, checkMs, checkMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("tasks.stream.subscribers", subscribers, Set::size)
+                .description("Open task event streams")
+                .register(meterRegistry);
+        this.slowConsumers = Counter.builder("tasks.stream.dropped").tag("reason", "slow")
+                .description("Task event streams closed by the server")
+                .register(meterRegistry);
+        this.stalledWrites = Counter.builder("tasks.stream.dropped").tag("reason", "stalled")
+                .description("Task event streams closed by the server")
+                .register(meterRegistry);
+        this.failedSends = Counter.builder("tasks.stream.dropped").tag("reason", "error")
+                .description("Task event streams closed by the server")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of task changes.
+     *
+     * @param employeeId the employee whose tasks to stream, or null to stream every task
+     * @return the emitter to return from the controller
+     * @throws RejectedExecutionException if the subscriber limit has been reached
+     */
+    public SseEmitter subscribe(Integer employeeId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RejectedExecutionException("Too many open task streams");
+        }
+        SseEmitter emitter = emitters.get();
+        Subscriber subscriber = new Subscriber(emitter, employeeId);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::complete);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+
+        // Flushes the response headers so the client knows the stream is live
+        subscriber.offer(SseEmitter.event().comment("connected").build());
+        return emitter;
+    }
+
+    /**
+     * Publishes a new task once the current transaction commits.
+     */
+    public void createdAfterCommit(Task task) {
+        AfterCommit.run(() -> publish(TaskEventDTO.CREATED, task, assigneeId(task)));
+    }
+
+    /**
+     * Publishes a changed task once the current transaction commits.
+     *
+     * @param task               the task, with its assignee initialized
+     * @param previousAssigneeId the assignee before the change, so they can be told the task has left them
+     */
+    public void updatedAfterCommit(Task task, Integer previousAssigneeId) {
+        AfterCommit.run(() -> publish(TaskEventDTO.UPDATED, task, previousAssigneeId));
+    }
+
+    /**
+     * Publishes a task deletion once the current transaction commits.
+     *
+     * @param taskId     the deleted task's id
+     * @param assigneeId the employee the task was assigned to, or null
+     */
+    public void deletedAfterCommit(Integer taskId, Integer assigneeId) {
+        AfterCommit.run(() -> {
+            if (!subscribers.isEmpty()) {
+                Set<DataWithMediaType> deleted = serialize(new TaskEventDTO(TaskEventDTO.DELETED, taskId, null, null));
+                fanOut(assigneeId, null, deleted, deleted);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of open streams.
+     */
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Ends every open stream when shutdown begins; otherwise graceful shutdown would wait for them to time out.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void completeAll() {
+        subscribers.forEach(Subscriber::complete);
+    }
+
+    @Override
+    public void close() {
+        heartbeat.shutdownNow();
+        completeAll();
+        senders.shutdown();
+    }
+
+    private void publish(String type, Task task, Integer previousAssigneeId) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Employee assignee = task.getAssignedEmployee();
+        Set<DataWithMediaType> event = serialize(new TaskEventDTO(type, task.getId(), taskMapper.toCompactDTO(task),
+                assignee != null ? assignee.getFirstName() + " " + assignee.getLastName() : null));
+        Set<DataWithMediaType> removed = Objects.equals(previousAssigneeId, assigneeId(task))
+                ? null
+                : serialize(new TaskEventDTO(TaskEventDTO.DELETED, task.getId(), null, null));
+        fanOut(assigneeId(task), previousAssigneeId, event, removed);
+    }
+
+    /**
+     * Offers the event to admins and to the assignee, and the removal to the previous assignee.
+     */
+    private void fanOut(Integer assigneeId, Integer previousAssigneeId,
+                        Set<DataWithMediaType> event, Set<DataWithMediaType> removed) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.employeeId == null || subscriber.employeeId.equals(assigneeId)) {
+                subscriber.offer(event);
+            } else if (removed != null && subscriber.employeeId.equals(previousAssigneeId)) {
+                subscriber.offer(removed);
+            }
+        }
+    }
+
+    /**
+     * Serializes the event once, so fan-out does no per-subscriber JSON work.
+     */
+    private Set<DataWithMediaType> serialize(TaskEventDTO event) {
+        try {
+            return SseEmitter.event()
+                    .name(event.getType())
+                    .data(objectMapper.writeValueAsString(event), MediaType.TEXT_PLAIN)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task event", e);
+        }
+    }
+
+    private void sendHeartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        subscribers.forEach(subscriber -> subscriber.offer(ping));
+    }
+
+    private void dropStalled() {
+        long now = System.nanoTime();
+        subscribers.forEach(subscriber -> subscriber.dropIfStalled(now));
+    }
+
+    private static Integer assigneeId(Task task) {
+        return task.getAssignedEmployee() != null ? task.getAssignedEmployee().getId() : null;
+    }
+
+    /**
+     * One open stream: a bounded queue of serialized events, drained by at most one sender thread at a time.
+     * While a write is in progress the subscriber records when it began and which thread is writing.
+     */
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final Integer employeeId;
+        private final ArrayBlockingQueue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean closed;
+        private volatile boolean completing;
+        private volatile boolean completed;
+        private volatile long writeStarted;
+        private volatile Thread writer;
+
+        Subscriber(SseEmitter emitter, Integer employeeId) {
+            this.emitter = emitter;
+            this.employeeId = employeeId;
+        }
+
+        /**
+         * Queues an event without blocking; a full queue disconnects the subscriber.
+         */
+        void offer(Set<DataWithMediaType> event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                slowConsumers.increment();
+                complete();
+                return;
+            }
+            schedule();
+        }
+
+        /**
+         * Stops delivery and has a sender thread end the response. The emitter is not touched here,
+         * because a sender may be blocked writing to it.
+         */
+        void complete() {
+            completing = true;
+            close();
+            schedule();
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        /**
+         * Disconnects the subscriber if its current write has been blocked past the write timeout: the client has
+         * stopped reading. The writing thread is interrupted, and ends the response once the write gives up.
+         */
+        void dropIfStalled(long now) {
+            Thread thread = writer;
+            if (thread != null && !closed && now - writeStarted > writeTimeoutNanos) {
+                stalledWrites.increment();
+                complete();
+                thread.interrupt();
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                drain();
+            } finally {
+                scheduled.set(false);
+            }
+            // Work offered after the last poll, or a completion requested meanwhile, found the flag still set
+            if ((completing && !completed) || (!closed && !queue.isEmpty())) {
+                schedule();
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> event;
+                while (!closed && (event = queue.poll()) != null) {
+                    writeStarted = System.nanoTime();
+                    writer = Thread.currentThread();
+                    try {
+                        emitter.send(event);
+                    } finally {
+                        writer = null;
+                    }
+                }
+                if (completing && !completed) {
+                    completed = true;
+                    queue.clear();
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the response is already closed; the container ends the request
+                if (!closed) {
+                    failedSends.increment();
+                }
+                completed = true;
+                queue.clear();
+                close();
+            }
+        }
+    }
+
+    private static final class StreamThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        StreamThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.repository.TaskRepo;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over task titles and descriptions.
+ * <p>
+ * Text is normalized (accents stripped, lowercased) and split on anything that is not a letter or digit.
+ * Each term maps to the tasks containing it, with a weight that counts title occurrences
+ * {@value #TITLE_WEIGHT} times. Terms are kept sorted so a query token also matches every term it is a
+ * prefix of. Every query token must match (exactly or as a prefix); tasks are ranked by a BM25-style
+ * score in which exact matches count more than prefix matches.
+ * <p>
+ * The index is built from the database once the application is ready and then kept current by
+ * {@link TaskServiceImpl}, which reindexes or removes a task after the transaction that changed it commits.
+ */
+@Component
+public class TaskSearchIndex {
+
+    static final int TITLE_WEIGHT = 3;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    /** Shortest token expanded to the terms it prefixes; shorter tokens only match exactly. */
+    private static final int MIN_PREFIX_LENGTH = 2;
+    /** Upper bound on the number of terms a single prefix expands to. */
+    private static final int MAX_PREFIX_EXPANSION = 512;
+    /** Score multiplier for a term reached by prefix expansion rather than an exact match. */
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+    /** BM25 term-frequency saturation. */
+    private static final double K1 = 1.2;
+
+    private final TaskRepo taskRepo;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** term -> (task id -> weighted term frequency) */
+    private final NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    /** task id -> its distinct terms, so a task can be removed or replaced */
+    private final Map<Integer, String[]> taskTerms = new HashMap<>();
+
+    public TaskSearchIndex(TaskRepo taskRepo) {
+        this.taskRepo = taskRepo;
+    }
+
+    /**
+     * A page of matching task ids, best match first, and the total number of matches.
+     */
+    public record Hits(int total, List<Integer> ids) {
+    }
+
+    /**
+     * Rebuilds the index from every task in the database, reading rows from a forward-only cursor.
+     * Writers wait on the lock meanwhile, so changes committed during the rebuild are applied after it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            taskTerms.clear();
+            taskRepo.scrollCreatedBetween(null, null, 1000,
+                    row -> add(row.id(), row.title(), row.description()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes (or reindexes) a task once the current transaction commits.
+     */
+    public void indexAfterCommit(Integer taskId, String title, String description) {
+        AfterCommit.run(() -> index(taskId, title, description));
+    }
+
+    /**
+     * Removes a task from the index once the current transaction commits.
+     */
+    public void removeAfterCommit(Integer taskId) {
+        AfterCommit.run(() -> remove(taskId));
+    }
+
+    void index(Integer taskId, String title, String description) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(taskId);
+            add(taskId, title, description);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Integer taskId) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(taskId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the tasks matching every token of the query.
+     *
+     * @param query  free text; each token matches whole terms and, from {@value #MIN_PREFIX_LENGTH}
+     *               characters on, terms it is a prefix of
+     * @param offset the number of ranked hits to skip
+     * @param limit  the maximum number of ids to return
+     * @return the requested slice of the ranking, and the total number of matches
+     */
+    public Hits search(String query, int offset, int limit) {
+        List<String> tokens = tokenize(query).stream().distinct().toList();
+        if (tokens.isEmpty()) {
+            return new Hits(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = null;
+            for (String token : tokens) {
+                Map<Integer, Double> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // Every token must match: keep only tasks present in both
+                    Map<Integer, Double> smaller = scores.size() <= tokenScores.size() ? scores : tokenScores;
+                    Map<Integer, Double> larger = smaller == scores ? tokenScores : scores;
+                    Map<Integer, Double> combined = new HashMap<>();
+                    for (Map.Entry<Integer, Double> entry : smaller.entrySet()) {
+                        Double other = larger.get(entry.getKey());
+                        if (other != null) {
+                            combined.put(entry.getKey(), entry.getValue() + other);
+                        }
+                    }
+                    scores = combined;
+                }
+                if (scores.isEmpty()) {
+                    return new Hits(0, List.of());
+                }
+            }
+
+            List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Integer, Double>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+
+            List<Integer> ids = ranked.stream()
+                    .skip(offset)
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            return new Hits(ranked.size(), ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores every task matching one query token, taking the best of its exact and prefix matches.
+     */
+    private Map<Integer, Double> scoreToken(String token) {
+        Map<String, Map<Integer, Integer>> matches = new LinkedHashMap<>();
+        Map<Integer, Integer> exact = postings.get(token);
+        if (exact != null) {
+            matches.put(token, exact);
+        }
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            for (Map.Entry<String, Map<Integer, Integer>> entry
+                    : postings.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                if (matches.size() >= MAX_PREFIX_EXPANSION) {
+                    break;
+                }
+                matches.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        int taskCount = taskTerms.size();
+        Map<Integer, Double> scores = new HashMap<>();
+        for (Map.Entry<String, Map<Integer, Integer>> match : matches.entrySet()) {
+            Map<Integer, Integer> tasks = match.getValue();
+            double idf = Math.log(1 + (taskCount - tasks.size() + 0.5) / (tasks.size() + 0.5));
+            double factor = match.getKey().equals(token) ? 1.0 : PREFIX_MATCH_FACTOR;
+            for (Map.Entry<Integer, Integer> posting : tasks.entrySet()) {
+                double tf = posting.getValue();
+                double score = factor * idf * (tf * (K1 + 1)) / (tf + K1);
+                scores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private void add(Integer taskId, String title, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : tokenize(title)) {
+            weights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : tokenize(description)) {
+            weights.merge(term, 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(taskId, entry.getValue());
+        }
+        taskTerms.put(taskId, weights.keySet().toArray(String[]::new));
+    }
+
+    private void removeTerms(Integer taskId) {
+        String[] terms = taskTerms.remove(taskId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Integer, Integer> tasks = postings.get(term);
+            if (tasks != null) {
+                tasks.remove(taskId);
+                if (tasks.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits text into normalized terms: accents removed, lowercased, split on non-alphanumerics.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String term : SEPARATORS.split(TextNormalizer.fold(text))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+}
@@ -1,17 +1,44 @@
 package com.brubaker.etams.service;
 
+import com.brubaker.etams.dto.BulkTaskResultDTO;
+import com.brubaker.etams.dto.CompactTaskListDTO;
+import com.brubaker.etams.dto.TaskChangesDTO;
 import com.brubaker.etams.dto.TaskDTO;
+import com.brubaker.etams.dto.TaskPageDTO;
+import com.brubaker.etams.dto.TaskPatchDTO;
+import com.brubaker.etams.dto.TaskSearchResultDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
 public interface TaskService {
     List<TaskDTO> getAllTasks();
 
+    CompactTaskListDTO getAllTasksCompact();
+
+    TaskPageDTO getTaskPage(String cursor, Integer limit, String sort, String direction);
+
     List<TaskDTO> getTasksByEmployeeId(Integer employeeId);
 
+    TaskSearchResultDTO searchTasks(String query, Integer page, Integer size);
+
+    TaskChangesDTO getTaskChanges(String since);
+
+    SseEmitter streamChanges(String username, boolean admin);
+
     TaskDTO createTask(TaskDTO taskDTO);
 
     TaskDTO updateTask(Integer id, TaskDTO taskDTO);
 
+    TaskDTO patchTask(Integer id, TaskPatchDTO patch);
+
     void deleteTask(Integer id);
+
+    List<BulkTaskResultDTO> createTasks(List<TaskDTO> taskDTOs);
+
+    List<BulkTaskResultDTO> updateTasks(List<TaskDTO> taskDTOs);
+
+    List<BulkTaskResultDTO> changeTaskStatus(List<Integer> ids, String status);
+
+    List<BulkTaskResultDTO> deleteTasks(List<Integer> ids);
 }
@@ -1,15 +1,39 @@
 package com.brubaker.etams.service;
 
+import com.brubaker.etams.dto.BulkTaskResultDTO;
+import com.brubaker.etams.dto.CompactTaskListDTO;
+import com.brubaker.etams.dto.TaskChangesDTO;
 import com.brubaker.etams.dto.TaskDTO;
 import com.brubaker.etams.dto.TaskMapper;
+import com.brubaker.etams.dto.TaskPageDTO;
+import com.brubaker.etams.dto.TaskPatchDTO;
+import com.brubaker.etams.dto.TaskSearchResultDTO;
 import com.brubaker.etams.entity.Employee;
 import com.brubaker.etams.entity.Task;
 import com.brubaker.etams.entity.TaskStatus;
 import com.brubaker.etams.repository.EmployeeRepo;
 import com.brubaker.etams.repository.TaskRepo;
+import com.brubaker.etams.repository.TaskRow;
+import com.brubaker.etams.repository.TaskSortField;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -21,43 +45,203 @@ import java.util.stream.Collectors;
 @Service
 public class TaskServiceImpl implements TaskService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_BULK_SIZE = 5000;
+
     private final TaskRepo taskRepo;
     private final EmployeeRepo employeeRepo;
     private final TaskMapper taskMapper;
+    private final Validator validator;
+    private final TaskSearchIndex searchIndex;
+    private final CollectionVersion collectionVersion;
+    private final TaskEventBroadcaster taskEvents;
+    private final TaskChangeLog changeLog;
+    private final TaskStatusJournal statusJournal;
+    private final TaskCountMatrix taskCounts;
 
     /**
      * Constructs a TaskService with the required dependencies.
      *
-     * @param taskRepo     the repository for task operations
-     * @param employeeRepo the repository for employee operations
-     * @param taskMapper   the mapper for Entity <-> DTO
+     * @param taskRepo          the repository for task operations
+     * @param employeeRepo      the repository for employee operations
+     * @param taskMapper        the mapper for Entity <-> DTO
+     * @param validator         the bean validator, used to reject invalid bulk items individually
+     * @param searchIndex       the full-text index kept in step with task writes
+     * @param collectionVersion the version behind the collection ETags, bumped by every write
+     * @param taskEvents        the stream every committed change is pushed to
+     * @param changeLog         the delta-sync log deletions are recorded in
+     * @param statusJournal     the journal status and assignee changes are appended to
+     * @param taskCounts        the per-employee, per-status counters kept in step with task writes
      */
-    public TaskServiceImpl(TaskRepo taskRepo, EmployeeRepo employeeRepo, TaskMapper taskMapper) {
+    public TaskServiceImpl(TaskRepo taskRepo, EmployeeRepo employeeRepo, TaskMapper taskMapper, Validator validator,
+                           TaskSearchIndex searchIndex, CollectionVersion collectionVersion,
+                           TaskEventBroadcaster taskEvents, TaskChangeLog changeLog,
+                           TaskStatusJournal statusJournal, TaskCountMatrix taskCounts) {
         this.taskRepo = taskRepo;
         this.employeeRepo = employeeRepo;
         this.taskMapper = taskMapper;
+        this.validator = validator;
+        this.searchIndex = searchIndex;
+        this.collectionVersion = collectionVersion;
+        this.taskEvents = taskEvents;
+        this.changeLog = changeLog;
+        this.statusJournal = statusJournal;
+        this.taskCounts = taskCounts;
     }
 
     /**
      * Retrieves all tasks from the database.
+     * Tasks are read as projected rows joined with the assignee's name, in a single statement.
      *
      * @return a list of TaskDTO objects
      */
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> getAllTasks() {
-        return taskRepo.findAll().stream()
+        return taskRepo.findAllRows().stream()
                 .map(taskMapper::toDTO) // Use the manual TaskMapper
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Retrieves all tasks in the dictionary-style layout, from the same single query as {@link #getAllTasks()}.
+     *
+     * @return every task, with each assignee's name listed once
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CompactTaskListDTO getAllTasksCompact() {
+        return taskMapper.toCompactListDTO(taskRepo.findAllRows());
+    }
+
+    /**
+     * Retrieves one keyset-paginated slice of tasks, sorted on the server.
+     * <p>
+     * Each call reads at most {@code limit + 1} rows through an index-friendly
+     * {@code (sortValue, id) > (lastValue, lastId)} predicate, so its cost does not grow with
+     * the size of the table or with how deep into the listing the client is.
+     *
+     * @param cursor    the opaque cursor returned with the previous page, or null for the first page
+     * @param limit     the page size; defaults to {@value #DEFAULT_PAGE_SIZE} and is capped at {@value #MAX_PAGE_SIZE}
+     * @param sort      the sort field (id, deadline, status, updatedAt, assigneeLastName); defaults to id
+     * @param direction asc or desc; defaults to asc
+     * @return the page of tasks and the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for a different ordering
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPageDTO getTaskPage(String cursor, Integer limit, String sort, String direction) {
+        TaskSortField sortField = sort != null ? TaskSortField.fromParam(sort) : TaskSortField.ID;
+        boolean descending = TaskCursor.parseDirection(direction);
+        int pageSize = pageSize(limit);
+
+        TaskCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            after = TaskCursor.decode(cursor);
+            if (after.sortField() != sortField || after.descending() != descending) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort order");
+            }
+        }
+
+        // Fetch one extra row to learn whether another page exists
+        List<TaskRow> rows = taskRepo.findTasksAfter(sortField, descending,
+                after != null ? after.value() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TaskRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = hasMore
+                ? TaskCursor.after(sortField, descending, page.get(page.size() - 1)).encode()
+                : null;
+
+        return new TaskPageDTO(page.stream().map(taskMapper::toDTO).collect(Collectors.toList()), nextCursor);
+    }
+
+    /**
+     * Clamps a requested page size to [1, {@value #MAX_PAGE_SIZE}], defaulting to {@value #DEFAULT_PAGE_SIZE}.
+     */
+    static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> getTasksByEmployeeId(Integer employeeId) {
-        List<Task> tasks = taskRepo.findByAssignedEmployee_Id(employeeId);
+        List<TaskRow> tasks = taskRepo.findRowsByAssignedEmployeeId(employeeId);
         return tasks.stream()
                 .map(taskMapper::toDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Searches task titles and descriptions through the in-memory index.
+     * Only the requested page of ids is read back from the database, in one statement.
+     *
+     * @param query free text; every word must match, the last characters of a word may be left off
+     * @param page  the zero-based page number
+     * @param size  the page size; defaults to {@value #DEFAULT_PAGE_SIZE} and is capped at {@value #MAX_PAGE_SIZE}
+     * @return the matching tasks, best match first, and the total number of matches
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSearchResultDTO searchTasks(String query, Integer page, Integer size) {
+        int pageNumber = page == null ? 0 : Math.max(0, page);
+        int pageSize = pageSize(size);
+
+        TaskSearchIndex.Hits hits = searchIndex.search(query, pageNumber * pageSize, pageSize);
+        if (hits.ids().isEmpty()) {
+            return new TaskSearchResultDTO(List.of(), hits.total(), pageNumber, pageSize);
+        }
+
+        Map<Integer, TaskRow> rows = taskRepo.findRowsByIdIn(hits.ids()).stream()
+                .collect(Collectors.toMap(TaskRow::id, Function.identity()));
+        List<TaskDTO> items = hits.ids().stream()
+                .map(rows::get)
+                .filter(Objects::nonNull) // deleted since the index was read
+                .map(taskMapper::toDTO)
+                .collect(Collectors.toList());
+        return new TaskSearchResultDTO(items, hits.total(), pageNumber, pageSize);
+    }
+
+    /**
+     * Retrieves the tasks created, updated or deleted since a sync token.
+     * Without a token the full list is returned, with the token to start syncing from.
+     *
+     * @param since the {@code nextToken} of the previous call, or null
+     * @return the changed tasks, the ids of the deleted ones and the next token
+     * @throws IllegalArgumentException if the token is malformed
+     * @throws com.brubaker.etams.exception.SyncTokenExpiredException if the token is older than the tombstones kept
+     */
+    @Override
+    public TaskChangesDTO getTaskChanges(String since) {
+        return changeLog.changesSince(since);
+    }
+
+    /**
+     * Opens a Server-Sent Event stream of committed task changes.
+     * Admins receive every change; other employees only changes to the tasks assigned to them.
+     *
+     * @param username the authenticated user's username
+     * @param admin    whether the user is an admin
+     * @return the emitter the changes are pushed to
+     * @throws UsernameNotFoundException if a non-admin user no longer exists
+     * @throws java.util.concurrent.RejectedExecutionException if too many streams are open
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter streamChanges(String username, boolean admin) {
+        if (admin) {
+            return taskEvents.subscribe(null);
+        }
+        // Served from the natural-id cache after the first lookup
+        Employee employee = employeeRepo.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        return taskEvents.subscribe(employee.getId());
+    }
+
     /**
      * Creates a new task and saves it to the database.
      *
@@ -65,6 +249,7 @@ public class TaskServiceImpl implements TaskService {
      * @return the created TaskDTO object
      */
     @Override
+    @Transactional(timeoutString = TaskChangeLog.WRITE_TIMEOUT)
     public TaskDTO createTask(TaskDTO taskDTO) {
         Task task = taskMapper.toEntity(taskDTO);
 
@@ -77,6 +262,11 @@ public class TaskServiceImpl implements TaskService {
 
 
         Task savedTask = taskRepo.save(task);
+        searchIndex.indexAfterCommit(savedTask.getId(), savedTask.getTitle(), savedTask.getDescription());
+        taskEvents.createdAfterCommit(savedTask);
+        statusJournal.createdAfterCommit(savedTask);
+        taskCounts.createdAfterCommit(savedTask);
+        collectionVersion.changedAfterCommit();
 
         TaskDTO returnedDTO = taskMapper.toDTO(savedTask);
 
@@ -89,33 +279,98 @@ public class TaskServiceImpl implements TaskService {
      * @param id      the ID of the task to be updated
      * @param taskDTO the updated task data
      * @return the updated TaskDTO object
+     * @throws ObjectOptimisticLockingFailureException if {@code taskDTO} carries a version and the task
+     *                                                 has changed since that version was read
      */
     @Override
+    @Transactional(timeoutString = TaskChangeLog.WRITE_TIMEOUT)
     public TaskDTO updateTask(Integer id, TaskDTO taskDTO) {
         Task existingTask = taskRepo.findById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
+        checkVersion(existingTask, taskDTO.getVersion());
 
         if (taskDTO.getTitle() == null || taskDTO.getTitle().isBlank()) {
             throw new IllegalArgumentException("Task title is required");
         }
+        Integer previousAssigneeId = assigneeId(existingTask);
+        TaskStatus previousStatus = existingTask.getStatus();
 
         existingTask.setTitle(taskDTO.getTitle());
         existingTask.setDescription(taskDTO.getDescription());
         existingTask.setStatus(TaskStatus.valueOf(taskDTO.getStatus().toUpperCase()));
         existingTask.setDeadline(taskDTO.getDeadline());
-
-        if (taskDTO.getAssignedEmployeeId() != null) {
-            Employee employee = employeeRepo.findById(taskDTO.getAssignedEmployeeId())
-                    .orElseThrow(() -> new RuntimeException("Employee not found"));
-            existingTask.setAssignedEmployee(employee);
-        } else {
-            existingTask.setAssignedEmployee(null);
-        }
+        existingTask.setAssignedEmployee(assigneeReference(taskDTO.getAssignedEmployeeId()));
 
         Task updatedTask = taskRepo.save(existingTask);
+        flushUpdate(taskDTO.getAssignedEmployeeId());
+        searchIndex.indexAfterCommit(updatedTask.getId(), updatedTask.getTitle(), updatedTask.getDescription());
+        taskEvents.updatedAfterCommit(updatedTask, previousAssigneeId);
+        statusJournal.changedAfterCommit(updatedTask, previousStatus, previousAssigneeId);
+        taskCounts.changedAfterCommit(updatedTask, previousStatus, previousAssigneeId);
+        collectionVersion.changedAfterCommit();
         return taskMapper.toDTO(updatedTask);
     }
 
+    /**
+     * Applies the fields present in a partial update to an existing task.
+     * <p>
+     * A status-only change costs one SELECT of the task, joined with its assignee for the response, and a
+     * single-row UPDATE guarded by its version. A new assignee is bound by reference, without loading the
+     * employee. A patch without fields returns the task as it is, with no UPDATE and no change published.
+     *
+     * @param id    the ID of the task to be updated
+     * @param patch the fields to change
+     * @return the updated TaskDTO object
+     * @throws ObjectOptimisticLockingFailureException if the patch carries a version and the task has changed
+     *                                                 since, or a concurrent update commits first
+     */
+    @Override
+    @Transactional(timeoutString = TaskChangeLog.WRITE_TIMEOUT)
+    public TaskDTO patchTask(Integer id, TaskPatchDTO patch) {
+        Task task = taskRepo.findWithAssigneeById(id)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        checkVersion(task, patch.getVersion());
+        if (!patch.hasChanges()) {
+            return taskMapper.toDTO(task);
+        }
+
+        Integer previousAssigneeId = assigneeId(task);
+        TaskStatus previousStatus = task.getStatus();
+
+        if (patch.getTitle() != null) {
+            if (patch.getTitle().isBlank()) {
+                throw new IllegalArgumentException("Task title is required");
+            }
+            task.setTitle(patch.getTitle());
+        }
+        if (patch.hasDescription()) {
+            task.setDescription(patch.getDescription());
+        }
+        if (patch.getStatus() != null) {
+            TaskStatus status = parseStatus(patch.getStatus());
+            if (status == null) {
+                throw new IllegalArgumentException("Invalid status: " + patch.getStatus());
+            }
+            task.setStatus(status);
+        }
+        if (patch.hasDeadline()) {
+            task.setDeadline(patch.getDeadline());
+        }
+        if (patch.hasAssignedEmployeeId()) {
+            task.setAssignedEmployee(assigneeReference(patch.getAssignedEmployeeId()));
+        }
+
+        flushUpdate(patch.hasAssignedEmployeeId() ? patch.getAssignedEmployeeId() : null);
+        if (patch.getTitle() != null || patch.hasDescription()) {
+            searchIndex.indexAfterCommit(task.getId(), task.getTitle(), task.getDescription());
+        }
+        taskEvents.updatedAfterCommit(task, previousAssigneeId);
+        statusJournal.changedAfterCommit(task, previousStatus, previousAssigneeId);
+        taskCounts.changedAfterCommit(task, previousStatus, previousAssigneeId);
+        collectionVersion.changedAfterCommit();
+        return taskMapper.toDTO(task);
+    }
+
     /**
      * Deletes a task from the database.
      *
@@ -123,10 +378,394 @@ public class TaskServiceImpl implements TaskService {
      * @throws RuntimeException if the task does not exist
      */
     @Override
+    @Transactional(timeoutString = TaskChangeLog.WRITE_TIMEOUT)
     public void deleteTask(Integer id) {
-        if (!taskRepo.existsById(id)) {
-            throw new RuntimeException("Task not found");
+        // Loaded rather than checked with exists, so the stream knows whose view the task leaves
+        Task task = taskRepo.findById(id)
+                .orElseThrow(() -> new RuntimeException("Task not found"));
+        taskRepo.delete(task);
+        changeLog.recordDeleted(List.of(id));
+        searchIndex.removeAfterCommit(id);
+        taskEvents.deletedAfterCommit(id, assigneeId(task));
+        statusJournal.deletedAfterCommit(task);
+        taskCounts.deletedAfterCommit(task);
+        collectionVersion.changedAfterCommit();
+    }
+
+    /**
+     * Creates many tasks in one transaction.
+     * <p>
+     * All assignees are resolved with a single IN query. Invalid items are reported individually and
+     * skipped; the valid ones are inserted together, with ids drawn from the pooled sequence so the
+     * INSERTs are sent as JDBC batches.
+     *
+     * @param taskDTOs the tasks to create
+     * @return one result per item, in request order
+     * @throws IllegalArgumentException if the request is empty or larger than {@value #MAX_BULK_SIZE}
+     */
+    @Override
+    @Transactional(timeoutString = TaskChangeLog.WRITE_TIMEOUT)
+    public List<BulkTaskResultDTO> createTasks(List<TaskDTO> taskDTOs) {
+        checkBulkSize(taskDTOs);
+        Map<Integer, Employee> assignees = findAssignees(taskDTOs);
+
+        BulkTaskResultDTO[] results = new BulkTaskResultDTO[taskDTOs.size()];
+        List<Task> created = new ArrayList<>(taskDTOs.size());
+        List<Integer> createdIndexes = new ArrayList<>(taskDTOs.size());
+
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO taskDTO = taskDTOs.get(i);
+            String error = checkTaskDTO(taskDTO, assignees);
+            Task task = null;
+            if (error == null) {
+                task = toNewTask(taskDTO, assignees);
+                error = violations(task);
+            }
+            if (error != null) {
+                results[i] = BulkTaskResultDTO.failed(i, null, error);
+                continue;
+            }
+            created.add(task);
+            createdIndexes.add(i);
+        }
+
+        taskRepo.saveAll(created);
+        taskRepo.flush();
+
+        for (int j = 0; j < created.size(); j++) {
+            Task task = created.get(j);
+            searchIndex.indexAfterCommit(task.getId(), task.getTitle(), task.getDescription());
+            taskEvents.createdAfterCommit(task);
+            statusJournal.createdAfterCommit(task);
+            taskCounts.createdAfterCommit(task);
+            results[createdIndexes.get(j)] = BulkTaskResultDTO.succeeded(createdIndexes.get(j), task.getId(), taskMapper.toDTO(task));
+        }
+        collectionVersion.changedAfterCommit();
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Updates many tasks in one transaction.
+     * <p>
+     * Tasks and assignees are each loaded with a single IN query; the changed rows are written as JDBC-batched
+     * UPDATEs when the transaction flushes. Items with no id, an unknown id or invalid data are reported
+     * individually and left unchanged.
+     *
+     * @param taskDTOs the new state of each task, identified by its id
+     * @return one result per item, in request order
+     * @throws IllegalArgumentException if the request is empty or larger than {@value #MAX_BULK_SIZE}
+     */
+    @Override
+    @Transactional(timeoutString = TaskChangeLog.WRITE_TIMEOUT)
+    public List<BulkTaskResultDTO> updateTasks(List<TaskDTO> taskDTOs) {
+        checkBulkSize(taskDTOs);
+        Map<Integer, Task> tasks = findTasks(taskDTOs.stream()
+                .filter(Objects::nonNull)
+                .map(TaskDTO::getId)
+                .toList());
+        Map<Integer, Employee> assignees = findAssignees(taskDTOs);
+
+        BulkTaskResultDTO[] results = new BulkTaskResultDTO[taskDTOs.size()];
+        List<Integer> updatedIndexes = new ArrayList<>(taskDTOs.size());
+        Map<Integer, Integer> previousAssigneeIds = new HashMap<>();
+        Map<Integer, TaskStatus> previousStatuses = new HashMap<>();
+
+        for (int i = 0; i < taskDTOs.size(); i++) {
+            TaskDTO taskDTO = taskDTOs.get(i);
+            Integer id = taskDTO != null ? taskDTO.getId() : null;
+            Task existingTask = id != null ? tasks.get(id) : null;
+
+            String error = id == null ? "Task id is required" : existingTask == null ? "Task not found" : null;
+            if (error == null) {
+                error = checkTaskDTO(taskDTO, assignees);
+            }
+            if (error == null && isStale(existingTask, taskDTO.getVersion())) {
+                error = "Task has been changed since version " + taskDTO.getVersion();
+            }
+            if (error == null) {
+                // Validate a detached copy so a rejected item never leaves a dirty managed entity behind
+                error = violations(toNewTask(taskDTO, assignees));
+            }
+            if (error != null) {
+                results[i] = BulkTaskResultDTO.failed(i, id, error);
+                continue;
+            }
+
+            // First value wins if the same task appears twice in one request
+            previousAssigneeIds.putIfAbsent(id, assigneeId(existingTask));
+            previousStatuses.putIfAbsent(id, existingTask.getStatus());
+            existingTask.setTitle(taskDTO.getTitle());
+            existingTask.setDescription(taskDTO.getDescription());
+            existingTask.setStatus(TaskStatus.valueOf(taskDTO.getStatus().toUpperCase()));
+            existingTask.setDeadline(taskDTO.getDeadline());
+            existingTask.setAssignedEmployee(taskDTO.getAssignedEmployeeId() != null
+                    ? assignees.get(taskDTO.getAssignedEmployeeId())
+                    : null);
+            updatedIndexes.add(i);
+        }
+
+        // Flush so the results carry the new updatedAt
+        taskRepo.flush();
+
+        for (int i : updatedIndexes) {
+            Task task = tasks.get(taskDTOs.get(i).getId());
+            searchIndex.indexAfterCommit(task.getId(), task.getTitle(), task.getDescription());
+            results[i] = BulkTaskResultDTO.succeeded(i, task.getId(), taskMapper.toDTO(task));
+        }
+        previousAssigneeIds.forEach((id, previousAssigneeId) -> {
+            taskEvents.updatedAfterCommit(tasks.get(id), previousAssigneeId);
+            statusJournal.changedAfterCommit(tasks.get(id), previousStatuses.get(id), previousAssigneeId);
+            taskCounts.changedAfterCommit(tasks.get(id), previousStatuses.get(id), previousAssigneeId);
+        });
+        collectionVersion.changedAfterCommit();
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Moves many tasks to the same status in one transaction.
+     *
+     * @param ids    the ids of the tasks to change
+     * @param status the new status
+     * @return one result per id, in request order
+     * @throws IllegalArgumentException if the status is unknown, or the request is empty or too large
+     */
+    @Override
+    @Transactional(timeoutString = TaskChangeLog.WRITE_TIMEOUT)
+    public List<BulkTaskResultDTO> changeTaskStatus(List<Integer> ids, String status) {
+        checkBulkSize(ids);
+        TaskStatus newStatus = parseStatus(status);
+        if (newStatus == null) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+        Map<Integer, Task> tasks = findTasks(ids);
+
+        BulkTaskResultDTO[] results = new BulkTaskResultDTO[ids.size()];
+        List<Integer> updatedIndexes = new ArrayList<>(ids.size());
+        Map<Integer, TaskStatus> previousStatuses = new HashMap<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            Task existingTask = id != null ? tasks.get(id) : null;
+            if (existingTask == null) {
+                results[i] = BulkTaskResultDTO.failed(i, id, "Task not found");
+                continue;
+            }
+
+            Task candidate = copyOf(existingTask);
+            candidate.setStatus(newStatus);
+            String error = violations(candidate);
+            if (error != null) {
+                results[i] = BulkTaskResultDTO.failed(i, id, error);
+                continue;
+            }
+
+            previousStatuses.putIfAbsent(id, existingTask.getStatus());
+            existingTask.setStatus(newStatus);
+            updatedIndexes.add(i);
+        }
+
+        taskRepo.flush();
+
+        Set<Integer> published = new HashSet<>();
+        for (int i : updatedIndexes) {
+            Task task = tasks.get(ids.get(i));
+            results[i] = BulkTaskResultDTO.succeeded(i, task.getId(), taskMapper.toDTO(task));
+            if (published.add(task.getId())) {
+                taskEvents.updatedAfterCommit(task, assigneeId(task));
+                statusJournal.changedAfterCommit(task, previousStatuses.get(task.getId()), assigneeId(task));
+                taskCounts.changedAfterCommit(task, previousStatuses.get(task.getId()), assigneeId(task));
+            }
+        }
+        collectionVersion.changedAfterCommit();
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Deletes many tasks in one transaction. The tasks are found with one IN query and removed with
+     * JDBC-batched DELETEs. Unknown ids are reported individually.
+     *
+     * @param ids the ids of the tasks to delete
+     * @return one result per id, in request order
+     * @throws IllegalArgumentException if the request is empty or larger than {@value #MAX_BULK_SIZE}
+     */
+    @Override
+    @Transactional(timeoutString = TaskChangeLog.WRITE_TIMEOUT)
+    public List<BulkTaskResultDTO> deleteTasks(List<Integer> ids) {
+        checkBulkSize(ids);
+        Map<Integer, Task> tasks = taskRepo.findAllById(ids.stream().filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<BulkTaskResultDTO> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            results.add(id != null && tasks.containsKey(id)
+                    ? BulkTaskResultDTO.succeeded(i, id, null)
+                    : BulkTaskResultDTO.failed(i, id, "Task not found"));
+        }
+
+        taskRepo.deleteAll(tasks.values());
+        changeLog.recordDeleted(tasks.keySet());
+        tasks.keySet().forEach(searchIndex::removeAfterCommit);
+        tasks.values().forEach(task -> {
+            taskEvents.deletedAfterCommit(task.getId(), assigneeId(task));
+            statusJournal.deletedAfterCommit(task);
+            taskCounts.deletedAfterCommit(task);
+        });
+        collectionVersion.changedAfterCommit();
+        return results;
+    }
+
+    private void checkBulkSize(Collection<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Bulk request must contain at least one item");
+        }
+        if (items.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("Bulk request must not contain more than " + MAX_BULK_SIZE + " items");
+        }
+    }
+
+    /**
+     * Loads the tasks with the given ids, and their assignees, in one query.
+     */
+    private Map<Integer, Task> findTasks(Collection<Integer> ids) {
+        Set<Integer> distinctIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distinctIds.isEmpty()) {
+            return Map.of();
+        }
+        return taskRepo.findAllWithAssigneeByIdIn(distinctIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+    }
+
+    /**
+     * Loads every employee referenced by the given tasks in one IN query, instead of one lookup per task.
+     */
+    private Map<Integer, Employee> findAssignees(List<TaskDTO> taskDTOs) {
+        Set<Integer> employeeIds = new HashSet<>();
+        for (TaskDTO taskDTO : taskDTOs) {
+            if (taskDTO != null && taskDTO.getAssignedEmployeeId() != null) {
+                employeeIds.add(taskDTO.getAssignedEmployeeId());
+            }
+        }
+        if (employeeIds.isEmpty()) {
+            return Map.of();
+        }
+        return employeeRepo.findAllById(employeeIds).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+    }
+
+    /**
+     * Applies the same checks as the single-task endpoints to one bulk item.
+     *
+     * @return the reason the item is invalid, or null if it is acceptable
+     */
+    private String checkTaskDTO(TaskDTO taskDTO, Map<Integer, Employee> assignees) {
+        if (taskDTO == null) {
+            return "Task must not be null";
+        }
+        String error = violations(taskDTO);
+        if (error != null) {
+            return error;
+        }
+        if (parseStatus(taskDTO.getStatus()) == null) {
+            return "Invalid status: " + taskDTO.getStatus();
+        }
+        if (taskDTO.getAssignedEmployeeId() != null && !assignees.containsKey(taskDTO.getAssignedEmployeeId())) {
+            return "Employee not found";
+        }
+        return null;
+    }
+
+    private Task toNewTask(TaskDTO taskDTO, Map<Integer, Employee> assignees) {
+        Task task = taskMapper.toEntity(taskDTO);
+        task.setId(null); // always allocated from the sequence
+        if (taskDTO.getAssignedEmployeeId() != null) {
+            task.setAssignedEmployee(assignees.get(taskDTO.getAssignedEmployeeId()));
+        }
+        return task;
+    }
+
+    private static Task copyOf(Task task) {
+        Task copy = new Task();
+        copy.setTitle(task.getTitle());
+        copy.setDescription(task.getDescription());
+        copy.setStatus(task.getStatus());
+        copy.setDeadline(task.getDeadline());
+        copy.setAssignedEmployee(task.getAssignedEmployee());
+        return copy;
+    }
+
+    /**
+     * Runs bean validation, returning the violation messages joined, or null if the object is valid.
+     * Checking each item up front keeps one invalid item from failing the whole batch at flush time.
+     */
+    private <T> String violations(T object) {
+        Set<ConstraintViolation<T>> violations = validator.validate(object);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Rejects an update based on an older version of the task than the one just read. Updates that
+     * race past this check are still caught by the version condition on the UPDATE.
+     */
+    private static void checkVersion(Task task, Long expectedVersion) {
+        if (isStale(task, expectedVersion)) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, task.getId());
+        }
+    }
+
+    private static boolean isStale(Task task, Long expectedVersion) {
+        return expectedVersion != null && !expectedVersion.equals(task.getVersion());
+    }
+
+    /**
+     * Returns an uninitialized reference to the assignee, so binding it does not SELECT the employee.
+     * An id with no employee behind it is caught by the foreign key in {@link #flushUpdate(Integer)}.
+     */
+    private Employee assigneeReference(Integer employeeId) {
+        return employeeId != null ? employeeRepo.getReferenceById(employeeId) : null;
+    }
+
+    /**
+     * Flushes a single-task update now, so a version conflict is reported by this call and the response
+     * carries the new version and updatedAt.
+     *
+     * Only a rejected flush checks the assignee, and any other violation is rethrown unchanged.
+     *
+     * @param assigneeId the assignee bound by reference in this update, if any
+     */
+    private void flushUpdate(Integer assigneeId) {
+        try {
+            taskRepo.flush();
+        } catch (DataIntegrityViolationException e) {
+            if (assigneeId != null && !employeeRepo.existsById(assigneeId)) {
+                throw new RuntimeException("Employee not found", e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the assignee's id without initializing a lazy assignee.
+     */
+    private static Integer assigneeId(Task task) {
+        return task.getAssignedEmployee() != null ? task.getAssignedEmployee().getId() : null;
+    }
+
+    private static TaskStatus parseStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return TaskStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
         }
-        taskRepo.deleteById(id);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,802 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.TimeInStatusDTO;
+import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.entity.TaskStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of task status transitions, kept on local disk for cycle-time analysis.
+ * <p>
+ * Writes never wait for the disk: transitions are queued after their transaction commits, and a single writer
+ * thread appends them to a memory-mapped segment file, forcing it once per batch, so a burst of changes costs
+ * one fsync (group commit). If the queue is full the transition is dropped and counted, rather than slowing
+ * the request down.
+ * <p>
+ * Records are fixed-size (24 bytes) and carry a CRC, so a record torn by a crash is recognised and the segment
+ * is reopened after the last good one. A segment is sealed, and its file trimmed to its records, when it is
+ * full or older than the rotation age. Sealed segments past the retention period are deleted, and those
+ * holding some expired records are rewritten without them.
+ * <p>
+ * A record is written when a task is created or deleted, or its status or assignee changes; assignee changes
+ * are kept so time can be attributed to the employee who held the task. Queries never touch the database, and
+ * read only the segments that overlap their range (and, for one task, that hold it). For each sealed segment the
+ * last record of every task in it is kept in memory, which is all a query needs from segments before its range.
+ * <p>
+ * The journal lives on the local disk of each application instance, which sees only the transitions it wrote.
+ */
+@Component
+public class TaskStatusJournal implements AutoCloseable {
+
+    // marker (2) | from status (1) | to status (1) | task id (4) | employee id (4) | epoch millis (8) | CRC32 (4)
+    static final int RECORD_SIZE = 24;
+
+    private static final short MARKER = 0x5453;
+    private static final int NONE = -1;
+    private static final int MAX_BATCH = 4096;
+    private static final String SEGMENT_PREFIX = "transitions-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final Transition STOP = new Transition(0, 0, 0, (byte) 0, (byte) 0);
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final long rotateAfterMs;
+    private final long retentionMs;
+    private final LongSupplier clock;
+
+    private final BlockingQueue<Transition> queue;
+    // Guards swapping sealed and active together, so a scan never sees a segment in neither or both
+    private final ReentrantLock segmentsLock = new ReentrantLock();
+    private volatile List<SealedSegment> sealed;
+    private volatile ActiveSegment active;
+    private long nextSegmentNumber;
+    private long lastTimestamp;
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final Counter written;
+    private final Counter syncs;
+    private final Counter droppedFull;
+    private final Counter droppedError;
+    private final Counter segmentReads;
+
+    @Autowired
+    public TaskStatusJournal(MeterRegistry meterRegistry,
+                             @Value("${tasks.journal.directory:journal}") String directory,
+                             @Value("${tasks.journal.segment-records:1048576}") int segmentRecords,
+                             @Value("${tasks.journal.rotate-after-hours:24}") long rotateAfterHours,
+                             @Value("${tasks.journal.retention-days:730}") int retentionDays,
+                             @Value("${tasks.journal.queue-capacity:65536}") int queueCapacity) {
+        this(meterRegistry, Paths.get(directory), segmentRecords, Duration.ofHours(rotateAfterHours),
+                Duration.ofDays(retentionDays), queueCapacity, System::currentTimeMillis);
+    }
+
+    TaskStatusJournal(MeterRegistry meterRegistry, Path directory, int segmentRecords, Duration rotateAfter,
+                      Duration retention, int queueCapacity, LongSupplier clock) {
+        if (segmentRecords < 1 || queueCapacity < 1 || rotateAfter.isNegative() || retention.isNegative()) {
+            throw new IllegalArgumentException("Task journal sizes and durations must be positive");
+        }
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.rotateAfterMs = rotateAfter.toMillis();
+        this.retentionMs = retention.toMillis();
+        this.clock = clock;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        try {
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the task journal in " + directory.toAbsolutePath(), e);
+        }
+
+        this.written = Counter.builder("tasks.journal.records")
+                .description("Task status transitions written to the journal")
+                .register(meterRegistry);
+        this.syncs = Counter.builder("tasks.journal.syncs")
+                .description("Journal fsyncs; records per sync shows how well writes are batched")
+                .register(meterRegistry);
+        this.droppedFull = Counter.builder("tasks.journal.dropped").tag("reason", "full")
+                .description("Task status transitions that could not be journaled")
+                .register(meterRegistry);
+        this.droppedError = Counter.builder("tasks.journal.dropped").tag("reason", "error")
+                .description("Task status transitions that could not be journaled")
+                .register(meterRegistry);
+        this.segmentReads = Counter.builder("tasks.journal.segment.reads")
+                .description("Sealed journal segments read from disk by queries")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::writeLoop, "task-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Journals a new task once the current transaction commits.
+     */
+    public void createdAfterCommit(Task task) {
+        enqueueAfterCommit(task.getId(), null, task.getStatus(), assigneeId(task));
+    }
+
+    /**
+     * Journals a change to a task once the current transaction commits, if its status or assignee changed.
+     *
+     * @param task               the task in its new state
+     * @param previousStatus     the status before the change
+     * @param previousAssigneeId the assignee before the change
+     */
+    public void changedAfterCommit(Task task, TaskStatus previousStatus, Integer previousAssigneeId) {
+        Integer assigneeId = assigneeId(task);
+        if (task.getStatus() != previousStatus || !Objects.equals(assigneeId, previousAssigneeId)) {
+            enqueueAfterCommit(task.getId(), previousStatus, task.getStatus(), assigneeId);
+        }
+    }
+
+    /**
+     * Journals the deletion of a task once the current transaction commits; its last status ends there.
+     */
+    public void deletedAfterCommit(Task task) {
+        enqueueAfterCommit(task.getId(), task.getStatus(), null, assigneeId(task));
+    }
+
+    private void enqueueAfterCommit(Integer taskId, TaskStatus from, TaskStatus to, Integer employeeId) {
+        // Values are captured now; the entity may be changed again before the transaction ends
+        int id = taskId;
+        int employee = employeeId != null ? employeeId : NONE;
+        AfterCommit.run(() -> {
+            if (!queue.offer(new Transition(clock.getAsLong(), id, employee, code(from), code(to)))) {
+                droppedFull.increment();
+            }
+        });
+    }
+
+    /**
+     * Totals the time tasks spent in each status, from the journal alone.
+     * <p>
+     * Each transition starts an interval in its new status, attributed to the task's assignee at that moment,
+     * which lasts until the task's next transition (or until now). Intervals are clipped to the range.
+     *
+     * @param taskId     only this task, or null for every task
+     * @param employeeId only time while assigned to this employee, or null for everyone
+     * @param from       start of the range in epoch milliseconds, inclusive, or null for the beginning
+     * @param to         end of the range in epoch milliseconds, exclusive, or null for now
+     * @return milliseconds per status, the number of tasks that contributed and the transitions in the range
+     */
+    public TimeInStatusDTO timeInStatus(Integer taskId, Integer employeeId, Long from, Long to) {
+        long now = clock.getAsLong();
+        long start = from != null ? from : Long.MIN_VALUE;
+        long end = to != null ? Math.min(to, now) : now;
+
+        Map<TaskStatus, Long> totals = new EnumMap<>(TaskStatus.class);
+        Map<Integer, Open> open = new HashMap<>();
+        Set<Integer> tasks = new HashSet<>();
+        long[] transitions = new long[1];
+
+        // Intervals that began before the range still count, so earlier segments are visited too
+        RecordVisitor visitor = (at, id, employee, fromCode, toCode) -> {
+            if (taskId != null && id != taskId) {
+                return;
+            }
+            Open interval = open.remove(id);
+            if (interval != null) {
+                interval.close(at, start, end, employeeId, totals, tasks, id);
+            }
+            if (at >= start && at < end && fromCode != toCode && (employeeId == null || employee == employeeId)) {
+                transitions[0]++;
+            }
+            if (toCode != 0) {
+                open.put(id, new Open(STATUSES[toCode - 1], employee, at));
+            }
+        };
+        scan(start, end, taskId, visitor);
+        open.forEach((id, interval) -> interval.close(end, start, end, employeeId, totals, tasks, id));
+
+        Map<String, Long> millis = new LinkedHashMap<>();
+        for (TaskStatus status : STATUSES) {
+            millis.put(status.name(), totals.getOrDefault(status, 0L));
+        }
+        return new TimeInStatusDTO(millis, tasks.size(), transitions[0]);
+    }
+
+    /**
+     * Deletes sealed segments past the retention period and rewrites those holding some expired records.
+     */
+    @Scheduled(fixedDelayString = "${tasks.journal.compact-interval-ms:3600000}")
+    public void compact() {
+        long cutoff = clock.getAsLong() - retentionMs;
+        for (SealedSegment segment : sealed) {
+            if (segment.minTimestamp >= cutoff) {
+                continue;
+            }
+            try {
+                SealedSegment replacement = segment.maxTimestamp < cutoff ? null : rewriteWithout(segment, cutoff);
+                segmentsLock.lock();
+                try {
+                    List<SealedSegment> updated = new ArrayList<>(sealed);
+                    int index = updated.indexOf(segment);
+                    if (replacement != null) {
+                        updated.set(index, replacement);
+                    } else {
+                        updated.remove(index);
+                    }
+                    sealed = List.copyOf(updated);
+                } finally {
+                    segmentsLock.unlock();
+                }
+                if (replacement == null) {
+                    Files.deleteIfExists(segment.path);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot compact journal segment " + segment.path, e);
+            }
+        }
+    }
+
+    /**
+     * Stops accepting transitions, writes those already queued and forces them to disk.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void flushAndStop() {
+        running = false;
+        // Wakes the writer; if the queue is full it is busy anyway and sees the flag after this batch
+        queue.offer(STOP);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+            // The mapping stays valid for queries after the channel is closed
+            active.channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        flushAndStop();
+    }
+
+    // ---------------------------------------------------------------- writing
+
+    private void writeLoop() {
+        List<Transition> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Transition first = running ? queue.poll(1, TimeUnit.SECONDS) : queue.poll();
+                if (first == null) {
+                    rotateIfOld();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                int count = 0;
+                for (Transition transition : batch) {
+                    if (transition != STOP) {
+                        append(transition);
+                        count++;
+                    }
+                }
+                sync();
+                written.increment(count);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                droppedError.increment(batch.size());
+            } finally {
+                batch.clear();
+            }
+        }
+        try {
+            sync();
+        } catch (IOException e) {
+            // Nothing left to retry with; the records up to the last good sync are kept
+        }
+    }
+
+    private void append(Transition transition) throws IOException {
+        // Timestamps never go backwards, so intervals in a scan never come out negative
+        long at = Math.max(transition.at, lastTimestamp);
+        lastTimestamp = at;
+        if (active.records >= active.capacity || (active.records > 0 && at - active.minTimestamp >= rotateAfterMs)) {
+            rotate();
+        }
+        active.write(at, transition.taskId, transition.employeeId, transition.from, transition.to);
+    }
+
+    private void sync() throws IOException {
+        ActiveSegment segment = active;
+        if (segment.durable < segment.records) {
+            segment.buffer.force();
+            segment.durable = segment.records;
+            syncs.increment();
+        }
+    }
+
+    private void rotateIfOld() throws IOException {
+        ActiveSegment segment = active;
+        if (segment.records > 0 && clock.getAsLong() - segment.minTimestamp >= rotateAfterMs) {
+            rotate();
+        }
+    }
+
+    /**
+     * Seals the active segment, trimming its file to the records written, and starts a new one.
+     */
+    private void rotate() throws IOException {
+        sync();
+        ActiveSegment full = active;
+        full.channel.truncate((long) full.records * RECORD_SIZE);
+        full.channel.force(true);
+        full.channel.close();
+        SealedSegment sealedSegment = new SealedSegment(full.path, full.records, full.minTimestamp, full.maxTimestamp,
+                full.lastRecords());
+        ActiveSegment next = ActiveSegment.create(segmentPath(nextSegmentNumber++), segmentRecords);
+        segmentsLock.lock();
+        try {
+            List<SealedSegment> updated = new ArrayList<>(sealed);
+            updated.add(sealedSegment);
+            sealed = List.copyOf(updated);
+            active = next;
+        } finally {
+            segmentsLock.unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------- opening and compaction
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            // Left by a compaction that did not finish; the segment it was rewriting is intact
+            for (Path temp : files.filter(path -> path.getFileName().toString().endsWith(".tmp")).toList()) {
+                Files.delete(temp);
+            }
+        }
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().toList();
+        }
+
+        List<SealedSegment> segments = new ArrayList<>();
+        for (Path path : paths.subList(0, Math.max(0, paths.size() - 1))) {
+            SealedSegment segment = SealedSegment.read(path);
+            if (segment.records > 0) {
+                segments.add(segment);
+                lastTimestamp = Math.max(lastTimestamp, segment.maxTimestamp);
+            } else {
+                Files.delete(path);
+            }
+        }
+        this.sealed = List.copyOf(segments);
+
+        if (paths.isEmpty()) {
+            this.nextSegmentNumber = 1;
+            this.active = ActiveSegment.create(segmentPath(0), segmentRecords);
+        } else {
+            Path last = paths.get(paths.size() - 1);
+            this.nextSegmentNumber = segmentNumber(last) + 1;
+            this.active = ActiveSegment.reopen(last, segmentRecords);
+            lastTimestamp = Math.max(lastTimestamp, active.maxTimestamp);
+        }
+    }
+
+    /**
+     * Copies the records newer than the cutoff to a temporary file, forces it and moves it over the segment,
+     * so a crash leaves either the old segment or the new one.
+     */
+    private SealedSegment rewriteWithout(SealedSegment segment, long cutoff) throws IOException {
+        Path temp = segment.path.resolveSibling(segment.path.getFileName() + ".tmp");
+        ByteBuffer out = ByteBuffer.allocate(RECORD_SIZE * 1024);
+        int[] kept = new int[1];
+        long[] minMax = {Long.MAX_VALUE, Long.MIN_VALUE};
+        LastRecords.Builder last = new LastRecords.Builder();
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            IOException[] failure = new IOException[1];
+            segment.forEachRecord(Long.MAX_VALUE, record -> {
+                if (failure[0] != null || record.getLong(record.position() + 12) < cutoff) {
+                    return;
+                }
+                long at = record.getLong(record.position() + 12);
+                minMax[0] = Math.min(minMax[0], at);
+                minMax[1] = Math.max(minMax[1], at);
+                last.add(record);
+                out.put(record.duplicate().limit(record.position() + RECORD_SIZE));
+                kept[0]++;
+                if (!out.hasRemaining()) {
+                    try {
+                        writeFully(channel, out);
+                    } catch (IOException e) {
+                        failure[0] = e;
+                    }
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            writeFully(channel, out);
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, segment.path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, segment.path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return new SealedSegment(segment.path, kept[0], minMax[0], minMax[1], last.build());
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // ---------------------------------------------------------------- reading
+
+    /**
+     * Visits the durable records up to the given time, oldest first. Sealed segments wholly before
+     * {@code since} are not read: only the last record of each task in them is visited, which is enough to know
+     * the status each task was in when the range starts.
+     */
+    private void scan(long since, long until, Integer taskId, RecordVisitor visitor) {
+        // A consistent snapshot; segments compacted away meanwhile only held expired records
+        List<SealedSegment> segments;
+        ActiveSegment current;
+        segmentsLock.lock();
+        try {
+            segments = sealed;
+            current = active;
+        } finally {
+            segmentsLock.unlock();
+        }
+
+        for (SealedSegment segment : segments) {
+            if (segment.minTimestamp >= until) {
+                return;
+            }
+            if (taskId != null && !segment.last.contains(taskId)) {
+                continue;
+            }
+            if (segment.maxTimestamp < since) {
+                segment.last.forEach(taskId, visitor);
+                continue;
+            }
+            try {
+                segmentReads.increment();
+                segment.forEachRecord(until, record -> visit(record, visitor));
+            } catch (NoSuchFileException e) {
+                // Deleted by compaction after the snapshot was taken
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read journal segment " + segment.path, e);
+            }
+        }
+
+        ByteBuffer buffer = current.buffer.duplicate();
+        int durable = current.durable;
+        for (int i = 0; i < durable; i++) {
+            buffer.position(i * RECORD_SIZE);
+            if (buffer.getLong(i * RECORD_SIZE + 12) >= until) {
+                return;
+            }
+            visit(buffer, visitor);
+        }
+    }
+
+    private static void visit(ByteBuffer record, RecordVisitor visitor) {
+        int p = record.position();
+        visitor.visit(record.getLong(p + 12), record.getInt(p + 4), record.getInt(p + 8),
+                record.get(p + 2), record.get(p + 3));
+    }
+
+    /**
+     * Checks the marker and CRC of the record at the buffer's position.
+     */
+    private static boolean isValid(ByteBuffer record) {
+        int p = record.position();
+        if (record.remaining() < RECORD_SIZE || record.getShort(p) != MARKER) {
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(record.duplicate().limit(p + 20));
+        return (int) crc.getValue() == record.getInt(p + 20);
+    }
+
+    // ---------------------------------------------------------------- helpers
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    private static long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Status codes are the ordinal plus one, with 0 for no status; new statuses must be added at the end.
+     */
+    private static byte code(TaskStatus status) {
+        return (byte) (status != null ? status.ordinal() + 1 : 0);
+    }
+
+    private static Integer assigneeId(Task task) {
+        return task.getAssignedEmployee() != null ? task.getAssignedEmployee().getId() : null;
+    }
+
+    private record Transition(long at, int taskId, int employeeId, byte from, byte to) {
+    }
+
+    private interface RecordVisitor {
+        void visit(long at, int taskId, int employeeId, byte from, byte to);
+    }
+
+    private interface RecordConsumer {
+        void accept(ByteBuffer record) throws IOException;
+    }
+
+    /**
+     * A task's current interval in one status, while the journal is scanned.
+     */
+    private record Open(TaskStatus status, int employeeId, long since) {
+
+        void close(long until, long start, long end, Integer employeeFilter, Map<TaskStatus, Long> totals,
+                   Set<Integer> tasks, int taskId) {
+            if (employeeFilter != null && employeeId != employeeFilter) {
+                return;
+            }
+            long millis = Math.min(until, end) - Math.max(since, start);
+            if (millis > 0) {
+                totals.merge(status, millis, Long::sum);
+                tasks.add(taskId);
+            }
+        }
+    }
+
+    /**
+     * A segment that is no longer written to, read with plain file reads.
+     */
+    private record SealedSegment(Path path, int records, long minTimestamp, long maxTimestamp, LastRecords last) {
+
+        static SealedSegment read(Path path) throws IOException {
+            int[] count = new int[1];
+            long[] minMax = {Long.MAX_VALUE, Long.MIN_VALUE};
+            LastRecords.Builder last = new LastRecords.Builder();
+            SealedSegment unread = new SealedSegment(path, 0, Long.MIN_VALUE, Long.MAX_VALUE, null);
+            unread.forEachRecord(Long.MAX_VALUE, record -> {
+                long at = record.getLong(record.position() + 12);
+                minMax[0] = Math.min(minMax[0], at);
+                minMax[1] = Math.max(minMax[1], at);
+                last.add(record);
+                count[0]++;
+            });
+            return new SealedSegment(path, count[0], minMax[0], minMax[1], last.build());
+        }
+
+        /**
+         * Passes each valid record before the given time to the consumer, positioned at the record.
+         */
+        void forEachRecord(long until, RecordConsumer consumer) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * 4096);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                while (channel.read(buffer) > 0 || buffer.position() > 0) {
+                    buffer.flip();
+                    while (buffer.remaining() >= RECORD_SIZE) {
+                        if (isValid(buffer)) {
+                            if (buffer.getLong(buffer.position() + 12) >= until) {
+                                return;
+                            }
+                            consumer.accept(buffer);
+                        }
+                        buffer.position(buffer.position() + RECORD_SIZE);
+                    }
+                    if (buffer.hasRemaining() && channel.position() == channel.size()) {
+                        return; // A partial record at the end of the file
+                    }
+                    buffer.compact();
+                }
+            }
+        }
+    }
+
+    /**
+     * The last record of each task in a sealed segment, sorted by task id.
+     */
+    private record LastRecords(int[] taskIds, long[] timestamps, int[] employeeIds, byte[] statuses) {
+
+        boolean contains(int taskId) {
+            return Arrays.binarySearch(taskIds, taskId) >= 0;
+        }
+
+        /**
+         * Visits the last record of the given task, or of every task if null. Each is visited as a record into
+         * the status it left the task in, from that same status: these records all lie before the query's range,
+         * where only the status matters.
+         */
+        void forEach(Integer taskId, RecordVisitor visitor) {
+            if (taskId != null) {
+                int i = Arrays.binarySearch(taskIds, taskId);
+                if (i >= 0) {
+                    visitor.visit(timestamps[i], taskIds[i], employeeIds[i], statuses[i], statuses[i]);
+                }
+                return;
+            }
+            for (int i = 0; i < taskIds.length; i++) {
+                visitor.visit(timestamps[i], taskIds[i], employeeIds[i], statuses[i], statuses[i]);
+            }
+        }
+
+        static final class Builder {
+
+            private final Map<Integer, Integer> positions = new HashMap<>();
+            private int[] taskIds = new int[64];
+            private long[] timestamps = new long[64];
+            private int[] employeeIds = new int[64];
+            private byte[] statuses = new byte[64];
+
+            /**
+             * Adds the record at the buffer's position; records must be added oldest first.
+             */
+            void add(ByteBuffer record) {
+                int p = record.position();
+                int taskId = record.getInt(p + 4);
+                int i = positions.computeIfAbsent(taskId, id -> positions.size());
+                if (i == taskIds.length) {
+                    int capacity = taskIds.length * 2;
+                    taskIds = Arrays.copyOf(taskIds, capacity);
+                    timestamps = Arrays.copyOf(timestamps, capacity);
+                    employeeIds = Arrays.copyOf(employeeIds, capacity);
+                    statuses = Arrays.copyOf(statuses, capacity);
+                }
+                taskIds[i] = taskId;
+                timestamps[i] = record.getLong(p + 12);
+                employeeIds[i] = record.getInt(p + 8);
+                statuses[i] = record.get(p + 3);
+            }
+
+            LastRecords build() {
+                int size = positions.size();
+                Integer[] order = new Integer[size];
+                for (int i = 0; i < size; i++) {
+                    order[i] = i;
+                }
+                Arrays.sort(order, Comparator.comparingInt(i -> taskIds[i]));
+                LastRecords last = new LastRecords(new int[size], new long[size], new int[size], new byte[size]);
+                for (int i = 0; i < size; i++) {
+                    last.taskIds[i] = taskIds[order[i]];
+                    last.timestamps[i] = timestamps[order[i]];
+                    last.employeeIds[i] = employeeIds[order[i]];
+                    last.statuses[i] = statuses[order[i]];
+                }
+                return last;
+            }
+        }
+    }
+
+    /**
+     * The segment being written: a memory-mapped file of fixed capacity. Only the writer thread writes to it;
+     * readers see the records up to {@code durable}, which is published after each fsync.
+     */
+    private static final class ActiveSegment {
+
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        final int capacity;
+        final CRC32 crc = new CRC32();
+        int records;
+        volatile int durable;
+        long minTimestamp = Long.MAX_VALUE;
+        long maxTimestamp = Long.MIN_VALUE;
+
+        private ActiveSegment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.capacity = buffer.capacity() / RECORD_SIZE;
+        }
+
+        static ActiveSegment create(Path path, int capacity) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            return new ActiveSegment(path, channel,
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE));
+        }
+
+        /**
+         * Maps an existing segment and positions after its last valid record; anything after it was torn
+         * by a crash and is overwritten.
+         */
+        static ActiveSegment reopen(Path path, int capacity) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long size = Math.max(channel.size(), (long) capacity * RECORD_SIZE);
+            ActiveSegment segment = new ActiveSegment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            ByteBuffer view = segment.buffer.duplicate();
+            int limit = (int) (size / RECORD_SIZE);
+            while (segment.records < limit) {
+                view.position(segment.records * RECORD_SIZE);
+                if (!isValid(view)) {
+                    break;
+                }
+                long at = view.getLong(view.position() + 12);
+                segment.minTimestamp = Math.min(segment.minTimestamp, at);
+                segment.maxTimestamp = Math.max(segment.maxTimestamp, at);
+                segment.records++;
+            }
+            segment.durable = segment.records;
+            return segment;
+        }
+
+        LastRecords lastRecords() {
+            LastRecords.Builder last = new LastRecords.Builder();
+            ByteBuffer view = buffer.duplicate();
+            for (int i = 0; i < records; i++) {
+                view.position(i * RECORD_SIZE);
+                last.add(view);
+            }
+            return last.build();
+        }
+
+        void write(long at, int taskId, int employeeId, byte from, byte to) {
+            int p = records * RECORD_SIZE;
+            buffer.putShort(p, MARKER);
+            buffer.put(p + 2, from);
+            buffer.put(p + 3, to);
+            buffer.putInt(p + 4, taskId);
+            buffer.putInt(p + 8, employeeId);
+            buffer.putLong(p + 12, at);
+            crc.reset();
+            crc.update(buffer.duplicate().position(p).limit(p + 20));
+            buffer.putInt(p + 20, (int) crc.getValue());
+            records++;
+            minTimestamp = Math.min(minTimestamp, at);
+            maxTimestamp = Math.max(maxTimestamp, at);
+        }
+    }
+}
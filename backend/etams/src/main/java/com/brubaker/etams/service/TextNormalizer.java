@@ -0,0 +1,25 @@
+package com.brubaker.etams.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * The text folding shared by the in-memory search indexes, so task search and employee lookup match
+ * "José" and "jose" the same way.
+ */
+final class TextNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Strips accents (by decomposing and dropping combining marks) and lowercases.
+     */
+    static String fold(String text) {
+        return DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,122 @@
+package com.brubaker.etams.benchmark;
+
+import com.brubaker.etams.dto.TaskDTO;
+import com.brubaker.etams.entity.Employee;
+import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.entity.TaskStatus;
+import com.brubaker.etams.repository.EmployeeTaskCount;
+import com.brubaker.etams.repository.TaskRow;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic fixtures shared by the benchmarks.
+ * Everything is derived from a fixed seed and fixed base dates, so two runs (or two releases)
+ * measure exactly the same inputs.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 20250101L;
+    static final Instant BASE_INSTANT = Instant.parse("2025-01-01T00:00:00Z");
+    static final LocalDate BASE_DATE = LocalDate.of(2025, 1, 1);
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final String DESCRIPTION =
+            "Review the quarterly assignment backlog, update the estimates and notify the owners of any slipped deadlines.";
+
+    private BenchmarkData() {
+    }
+
+    static Employee employee(int id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setFirstName("First" + id);
+        employee.setLastName("Last" + id);
+        employee.setEmail("employee" + id + "@etams.example");
+        employee.setUsername("employee" + id);
+        employee.setPasswordHash("$2a$10$abcdefghijklmnopqrstuuN7yQJbq3Hk5bJ0hC0l3o0t2z6hQm2eS");
+        employee.setRole("Engineer");
+        employee.setAdmin(id % 10 == 0);
+        employee.setCreatedAt(BASE_INSTANT.plusSeconds(id));
+        employee.setUpdatedAt(BASE_INSTANT.plusSeconds(id * 2L));
+        return employee;
+    }
+
+    static EmployeeTaskCount employeeTaskCount(int id) {
+        return new EmployeeTaskCount(id, "First" + id, "Last" + id, "employee" + id + "@etams.example",
+                "employee" + id, "Engineer", id % 10 == 0, BASE_INSTANT.plusSeconds(id),
+                BASE_INSTANT.plusSeconds(id * 2L), 12, 4, 5, 3);
+    }
+
+    static Task task(int id, Employee assignee) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setDescription(DESCRIPTION);
+        task.setStatus(STATUSES[id % STATUSES.length]);
+        task.setDeadline(BASE_DATE.plusDays(id % 90));
+        task.setAssignedEmployee(assignee);
+        task.setUpdatedAt(BASE_INSTANT.plusSeconds(id));
+        return task;
+    }
+
+    static TaskRow taskRow(int id) {
+        return new TaskRow(id, "Task " + id, DESCRIPTION, STATUSES[id % STATUSES.length],
+                BASE_DATE.plusDays(id % 90), id % 50, "First" + (id % 50), "Last" + (id % 50),
+                BASE_INSTANT.plusSeconds(id), BASE_INSTANT.plusSeconds(id * 2L), 0L);
+    }
+
+    /**
+     * Generates task DTOs shaped like the real listing: some unassigned, some without a deadline.
+     */
+    static List<TaskDTO> taskDTOs(int count) {
+        Random random = new Random(SEED);
+        List<TaskDTO> tasks = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            boolean assigned = random.nextInt(4) != 0;
+            int employeeId = random.nextInt(200) + 1;
+            tasks.add(new TaskDTO(
+                    id,
+                    "Task " + id,
+                    DESCRIPTION.substring(0, 20 + random.nextInt(DESCRIPTION.length() - 20)),
+                    STATUSES[random.nextInt(STATUSES.length)].name(),
+                    random.nextInt(5) == 0 ? null : BASE_DATE.plusDays(random.nextInt(365)),
+                    assigned ? employeeId : null,
+                    assigned ? "First" + employeeId + " Last" + employeeId : null,
+                    BASE_INSTANT.plusSeconds(random.nextInt(31_536_000)).toString(),
+                    BASE_INSTANT.plusSeconds(random.nextInt(31_536_000)).toString(),
+                    0L));
+        }
+        return tasks;
+    }
+
+    /**
+     * Generates projected task rows with the same shape as {@link #taskDTOs(int)}, for comparing
+     * listing layouts built from identical data.
+     */
+    static List<TaskRow> taskRows(int count) {
+        Random random = new Random(SEED);
+        List<TaskRow> rows = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            boolean assigned = random.nextInt(4) != 0;
+            int employeeId = random.nextInt(200) + 1;
+            rows.add(new TaskRow(
+                    id,
+                    "Task " + id,
+                    DESCRIPTION.substring(0, 20 + random.nextInt(DESCRIPTION.length() - 20)),
+                    STATUSES[random.nextInt(STATUSES.length)],
+                    random.nextInt(5) == 0 ? null : BASE_DATE.plusDays(random.nextInt(365)),
+                    assigned ? employeeId : null,
+                    assigned ? "First" + employeeId : null,
+                    assigned ? "Last" + employeeId : null,
+                    BASE_INSTANT.plusSeconds(random.nextInt(31_536_000)),
+                    BASE_INSTANT.plusSeconds(random.nextInt(31_536_000)),
+                    0L));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,87 @@
+package com.brubaker.etams.benchmark;
+
+import com.brubaker.etams.security.JwtClaims;
+import com.brubaker.etams.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token in {@code JwtAuthenticationFilter}.
+ * <ul>
+ *     <li>{@code legacyPerRequest}: the previous filter path, which decoded the secret and verified
+ *     the signature three times (extractUsername, then validateToken's extractUsername and isTokenExpired).</li>
+ *     <li>{@code singleParse}: one verification with the precomputed key, cache disabled.</li>
+ *     <li>{@code cachedRepeatToken}: the same token presented again, served from the verified-claims cache.</li>
+ *     <li>{@code generateToken}: signing a new token on login.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("benchmark-secret-key-that-is-at-least-256-bits-long".getBytes());
+    private static final long EXPIRATION = TimeUnit.HOURS.toMillis(1);
+
+    private JwtUtil uncached;
+    private JwtUtil cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtUtil(SECRET, EXPIRATION, 0);
+        cached = new JwtUtil(SECRET, EXPIRATION, 10_000);
+        token = cached.generateToken(42, "benchmark.user", true, 0L);
+        cached.parseToken(token); // warm the cache
+    }
+
+    @Benchmark
+    public boolean legacyPerRequest() {
+        String username = legacyParse(token).getSubject();
+        return username.equals(legacyParse(token).getSubject())
+                && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public JwtClaims singleParse() {
+        return uncached.parseToken(token);
+    }
+
+    @Benchmark
+    public JwtClaims cachedRepeatToken() {
+        return cached.parseToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncached.generateToken(42, "benchmark.user", true, 0L);
+    }
+
+    /**
+     * Mirrors the previous JwtUtil.extractAllClaims: rebuilds the key and parser on every call.
+     */
+    private static Claims legacyParse(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtUtilBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.brubaker.etams.benchmark;
+
+import com.brubaker.etams.dto.EmployeeDTO;
+import com.brubaker.etams.dto.EmployeeMapper;
+import com.brubaker.etams.dto.TaskDTO;
+import com.brubaker.etams.dto.TaskMapper;
+import com.brubaker.etams.entity.Employee;
+import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.repository.EmployeeTaskCount;
+import com.brubaker.etams.repository.TaskRow;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-row cost of the Entity/projection to DTO mappers used by every list endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class MapperBenchmark {
+
+    private final TaskMapper taskMapper = new TaskMapper();
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+
+    private Task task;
+    private TaskRow taskRow;
+    private TaskDTO taskDTO;
+    private Employee employee;
+    private EmployeeTaskCount employeeTaskCount;
+    private EmployeeDTO employeeDTO;
+
+    @Setup
+    public void setUp() {
+        employee = BenchmarkData.employee(7);
+        task = BenchmarkData.task(42, employee);
+        taskRow = BenchmarkData.taskRow(42);
+        taskDTO = taskMapper.toDTO(task);
+        employeeTaskCount = BenchmarkData.employeeTaskCount(7);
+        employeeDTO = employeeMapper.toDTO(employee);
+    }
+
+    @Benchmark
+    public TaskDTO taskToDTO() {
+        return taskMapper.toDTO(task);
+    }
+
+    @Benchmark
+    public TaskDTO taskRowToDTO() {
+        return taskMapper.toDTO(taskRow);
+    }
+
+    @Benchmark
+    public Task taskToEntity() {
+        return taskMapper.toEntity(taskDTO);
+    }
+
+    @Benchmark
+    public EmployeeDTO employeeToDTO() {
+        return employeeMapper.toDTO(employee);
+    }
+
+    @Benchmark
+    public EmployeeDTO employeeTaskCountToDTO() {
+        return employeeMapper.toDTO(employeeTaskCount);
+    }
+
+    @Benchmark
+    public Employee employeeToEntity() {
+        return employeeMapper.toEntity(employeeDTO);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MapperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
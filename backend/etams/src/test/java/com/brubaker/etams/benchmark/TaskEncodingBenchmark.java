@@ -0,0 +1,100 @@
+package com.brubaker.etams.benchmark;
+
+import com.brubaker.etams.dto.TaskMapper;
+import com.brubaker.etams.repository.TaskRow;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization time of the task listing per response encoding: JSON or CBOR, the full
+ * {@code TaskDTO} list or the compact dictionary layout, and with or without gzip.
+ * Each invocation returns the payload size; the sizes are also printed once per trial,
+ * so the byte counts can be read next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class TaskEncodingBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    @Param({"full", "compact"})
+    public String layout;
+
+    @Param({"identity", "gzip"})
+    public String compression;
+
+    private ObjectWriter writer;
+    private Object payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = "cbor".equals(format)
+                ? Jackson2ObjectMapperBuilder.cbor()
+                : Jackson2ObjectMapperBuilder.json();
+        writer = builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build().writer();
+
+        TaskMapper mapper = new TaskMapper();
+        List<TaskRow> taskRows = BenchmarkData.taskRows(rows);
+        payload = "compact".equals(layout)
+                ? mapper.toCompactListDTO(taskRows)
+                : taskRows.stream().map(mapper::toDTO).toList();
+
+        System.out.printf("%n%d tasks as %s/%s/%s: %d bytes%n", rows, format, layout, compression, serialize());
+    }
+
+    @Benchmark
+    public long serialize() throws IOException {
+        CountingOutputStream counter = new CountingOutputStream();
+        if ("gzip".equals(compression)) {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(counter, 8192)) {
+                writer.writeValue(gzip, payload);
+            }
+        } else {
+            writer.writeValue(counter, payload);
+        }
+        return counter.count;
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream() {
+            super(OutputStream.nullOutputStream());
+        }
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TaskEncodingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
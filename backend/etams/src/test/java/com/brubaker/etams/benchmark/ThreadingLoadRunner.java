@@ -0,0 +1,238 @@
+package com.brubaker.etams.benchmark;
+
+import com.brubaker.etams.EtamsApplication;
+import com.brubaker.etams.entity.Employee;
+import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.entity.TaskStatus;
+import com.brubaker.etams.repository.EmployeeRepo;
+import com.brubaker.etams.repository.TaskRepo;
+import com.brubaker.etams.security.CredentialVersionRegistry;
+import com.brubaker.etams.security.JwtUtil;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test comparing request handling on Tomcat's platform-thread pool with virtual threads
+ * ({@code spring.threads.virtual.enabled}) while the database is slow.
+ * <p>
+ * Each mode boots the application on an in-memory H2 database whose statements are delayed by
+ * {@code load.dbDelayMs}, standing in for a loaded MySQL server, and drives
+ * {@code GET /api/tasks/user/{id}} (one statement per request) from {@code load.clients} concurrent
+ * clients. The connection pool is sized to the client count, so the request threads, not the pool,
+ * are what limits the platform-thread run. Throughput and p50/p99 latency are printed per mode.
+ * <p>
+ * Run with {@code mvn -Pload-test verify}; see the profile in pom.xml for the tunable properties.
+ * The profile also enables {@code jdk.tracePinnedThreads}, so any virtual thread that blocks while
+ * pinned to its carrier is reported with a stack trace.
+ */
+public final class ThreadingLoadRunner {
+
+    private static final String JWT_SECRET =
+            Base64.getEncoder().encodeToString("load-test-secret-load-test-secret-0123".getBytes());
+
+    private ThreadingLoadRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int dbDelayMs = Integer.getInteger("load.dbDelayMs", 50);
+        int clients = Integer.getInteger("load.clients", 400);
+        int warmupSeconds = Integer.getInteger("load.warmupSeconds", 5);
+        int seconds = Integer.getInteger("load.seconds", 20);
+        String[] modes = System.getProperty("load.modes", "platform,virtual").split(",");
+
+        List<String> results = new ArrayList<>();
+        for (String mode : modes) {
+            results.add(run(mode.trim(), dbDelayMs, clients, warmupSeconds, seconds));
+        }
+        System.out.printf("%nGET /api/tasks/user/{id}, %d clients, %d ms per statement%n", clients, dbDelayMs);
+        results.forEach(System.out::println);
+    }
+
+    private static String run(String mode, int dbDelayMs, int clients, int warmupSeconds, int seconds)
+            throws Exception {
+        boolean virtual = switch (mode) {
+            case "virtual" -> true;
+            case "platform" -> false;
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EtamsApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "server.tomcat.threads.max=200",
+                        "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + clients,
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.file.name=",
+                        "jwt.secret=" + JWT_SECRET)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new SlowDatabase(dbDelayMs)))
+                .run()) {
+
+            Employee employee = seed(context.getBean(EmployeeRepo.class), context.getBean(TaskRepo.class));
+            String token = context.getBean(JwtUtil.class).generateToken(employee.getId(), employee.getUsername(),
+                    false, context.getBean(CredentialVersionRegistry.class).currentVersion(employee.getId()));
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create("http://localhost:" + port + "/api/tasks/user/" + employee.getId()))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+
+            drive(request, clients, warmupSeconds);
+            Stats stats = drive(request, clients, seconds);
+            return String.format("%-8s  %8.0f req/s  p50 %7.1f ms  p99 %7.1f ms  max %7.1f ms  errors %d",
+                    mode, stats.latencies.length / (double) seconds, percentile(stats.latencies, 0.50),
+                    percentile(stats.latencies, 0.99), percentile(stats.latencies, 1.0), stats.errors);
+        }
+    }
+
+    private static Employee seed(EmployeeRepo employeeRepo, TaskRepo taskRepo) {
+        Employee employee = new Employee();
+        employee.setFirstName("Load");
+        employee.setLastName("Test");
+        employee.setEmail("load.test@etams.example");
+        employee.setUsername("loadtest");
+        employee.setPasswordHash("unused");
+        employee.setRole("Engineer");
+        employee = employeeRepo.save(employee);
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription("Seeded for the threading load test");
+            task.setStatus(TaskStatus.PENDING);
+            task.setDeadline(LocalDate.now().plusDays(i));
+            task.setAssignedEmployee(employee);
+            tasks.add(task);
+        }
+        taskRepo.saveAll(tasks);
+        return employee;
+    }
+
+    private record Stats(long[] latencies, long errors) {
+    }
+
+    /**
+     * Runs {@code clients} closed-loop clients for the given time and collects per-request latencies.
+     */
+    private static Stats drive(HttpRequest request, int clients, int seconds) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        AtomicLong errors = new AtomicLong();
+
+        List<Future<long[]>> results = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                results.add(executor.submit(() -> client(httpClient, request, deadline, errors)));
+            }
+        }
+        long[] latencies = results.stream().flatMapToLong(result -> Arrays.stream(result.resultNow())).sorted().toArray();
+        return new Stats(latencies, errors.get());
+    }
+
+    private static long[] client(HttpClient httpClient, HttpRequest request, long deadline, AtomicLong errors) {
+        long[] samples = new long[1024];
+        int count = 0;
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                    errors.incrementAndGet();
+                    continue;
+                }
+            } catch (Exception e) {
+                errors.incrementAndGet();
+                continue;
+            }
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = System.nanoTime() - start;
+        }
+        return Arrays.copyOf(samples, count);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    /**
+     * Wraps the application's DataSource so every statement execution first sleeps for the configured delay.
+     */
+    private record SlowDatabase(long delayMs) implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return (Connection) delayed(super.getConnection(), Connection.class);
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return (Connection) delayed(super.getConnection(username, password), Connection.class);
+                }
+            };
+        }
+
+        private Object delayed(Object target, Class<?> type) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                if (target instanceof Statement && method.getName().startsWith("execute")) {
+                    Thread.sleep(delayMs);
+                }
+                Object result = invoke(target, method, args);
+                if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                    return delayed(result, method.getReturnType());
+                }
+                return result;
+            });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.brubaker.etams.config;
+
+import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.entity.TaskStatus;
+import com.brubaker.etams.repository.TaskRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TaskSequenceInitializer} against the embedded database.
+ * Runs without a test transaction, because altering a sequence commits on H2.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(TaskSequenceInitializer.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskSequenceInitializerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    @Autowired
+    private TaskSequenceInitializer initializer;
+
+    /**
+     * Tests that tasks inserted with ids beyond the sequence, as on a database that used IDENTITY ids,
+     * are not collided with by the next generated id, and that a second check leaves the sequence alone.
+     */
+    @Test
+    void alignSequence_MovesSequencePastExistingIds() {
+        jdbcTemplate.update("insert into tasks (task_id, title, status, created_at, updated_at, version) "
+                + "values (1000, 'Imported', 'PENDING', current_timestamp, current_timestamp, 0)");
+
+        initializer.alignSequence();
+        initializer.alignSequence();
+
+        Task task = new Task();
+        task.setTitle("Created after the check");
+        task.setStatus(TaskStatus.PENDING);
+        task.setDeadline(LocalDate.now().plusDays(1));
+        Integer id = taskRepo.saveAndFlush(task).getId();
+
+        assertTrue(id > 1000, "Generated id " + id + " must be past the imported task");
+        taskRepo.deleteAll();
+    }
+}
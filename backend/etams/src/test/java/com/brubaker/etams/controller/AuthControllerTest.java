@@ -4,22 +4,25 @@ import com.brubaker.etams.dto.LoginRequestDTO;
 import com.brubaker.etams.dto.LoginResponseDTO;
 import com.brubaker.etams.entity.Employee;
 import com.brubaker.etams.repository.EmployeeRepo;
+import com.brubaker.etams.security.CredentialVersionRegistry;
 import com.brubaker.etams.security.JwtUtil;
+import com.brubaker.etams.security.LoginRateLimiter;
+import com.brubaker.etams.service.AuthServiceImpl;
+import com.brubaker.etams.service.ServiceFixture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.User;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,7 +35,7 @@ import static org.mockito.Mockito.*;
 class AuthControllerTest {
 
     @Mock
-    private AuthenticationManager authenticationManager;
+    private PasswordEncoder passwordEncoder;
 
     @Mock
     private EmployeeRepo employeeRepo;
@@ -40,8 +43,11 @@ class AuthControllerTest {
     @Mock
     private JwtUtil jwtUtil;
 
-    @InjectMocks
+    @Mock
+    private CredentialVersionRegistry credentialVersions;
+
     private AuthController authController;
+    private MockHttpServletRequest request;
 
     private Employee employee;
     private LoginRequestDTO loginRequest;
@@ -53,11 +59,13 @@ class AuthControllerTest {
      */
     @BeforeEach
     void setUp() {
-        employee = new Employee();
+        authController = new AuthController(new AuthServiceImpl(jwtUtil, employeeRepo, credentialVersions, passwordEncoder),
+                new LoginRateLimiter(new SimpleMeterRegistry(), 120, 60, 10, 2, 1024));
+        request = new MockHttpServletRequest();
+        request.setRemoteAddr("10.0.0.1");
+
+        employee = ServiceFixture.employee("Test", "User", "testuser");
         employee.setId(1);
-        employee.setUsername("testuser");
-        employee.setPasswordHash("hashedpassword");
-        employee.setAdmin(false);
 
         loginRequest = new LoginRequestDTO("testuser", "password");
         mockJwtToken = "mocked.jwt.token";
@@ -65,25 +73,19 @@ class AuthControllerTest {
 
     /**
      * Tests successful login with a valid username and password.
-     * Ensures that authentication and JWT generation function correctly.
+     * Ensures that the employee is loaded only once and that verification and JWT generation function correctly.
      */
     @Test
     void login_Success() {
         when(employeeRepo.findByUsername("testuser"))
                 .thenReturn(Optional.of(employee));
 
-        Authentication authentication = mock(Authentication.class);
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenAnswer(invocation -> {
-                    UsernamePasswordAuthenticationToken token = invocation.getArgument(0);
-                    User userDetails = new User(token.getPrincipal().toString(), "hashedpassword", Collections.emptyList());
-                    return new UsernamePasswordAuthenticationToken(userDetails, token.getCredentials(), userDetails.getAuthorities());
-                });
+        when(passwordEncoder.matches("password", ServiceFixture.PASSWORD_HASH)).thenReturn(true);
 
-        when(jwtUtil.generateToken(anyInt(), anyString(), anyBoolean()))
+        when(jwtUtil.generateToken(anyInt(), anyString(), anyBoolean(), anyLong()))
                 .thenReturn(mockJwtToken);
 
-        ResponseEntity<?> response = authController.login(loginRequest);
+        ResponseEntity<?> response = authController.login(loginRequest, request);
 
         assertEquals(200, response.getStatusCodeValue());
         assertInstanceOf(LoginResponseDTO.class, response.getBody());
@@ -94,8 +96,29 @@ class AuthControllerTest {
         assertFalse(loginResponse.isAdmin());
 
         verify(employeeRepo, times(1)).findByUsername("testuser");
-        verify(authenticationManager, times(1)).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtUtil, times(1)).generateToken(anyInt(), anyString(), anyBoolean());
+        verify(passwordEncoder, times(1)).matches("password", ServiceFixture.PASSWORD_HASH);
+        verify(jwtUtil, times(1)).generateToken(anyInt(), anyString(), anyBoolean(), anyLong());
+    }
+
+    /**
+     * Tests that the token carries the credential version read with the employee, before the password check,
+     * so a change committing during the check revokes it.
+     */
+    @Test
+    void login_IssuesVersionReadBeforePasswordCheck() {
+        when(employeeRepo.findByUsername("testuser")).thenReturn(Optional.of(employee));
+        // The version moves on while the password is being checked
+        AtomicBoolean checked = new AtomicBoolean();
+        when(credentialVersions.currentVersion(1)).thenAnswer(invocation -> checked.get() ? 9L : 5L);
+        when(passwordEncoder.matches("password", ServiceFixture.PASSWORD_HASH)).thenAnswer(invocation -> {
+            checked.set(true);
+            return true;
+        });
+        when(jwtUtil.generateToken(anyInt(), anyString(), anyBoolean(), anyLong())).thenReturn(mockJwtToken);
+
+        authController.login(loginRequest, request);
+
+        verify(jwtUtil).generateToken(1, "testuser", false, 5L);
     }
 
     /**
@@ -107,7 +130,7 @@ class AuthControllerTest {
         when(employeeRepo.findByUsername("testuser"))
                 .thenReturn(Optional.empty());
 
-        ResponseEntity<?> response = authController.login(loginRequest);
+        ResponseEntity<?> response = authController.login(loginRequest, request);
 
         assertEquals(404, response.getStatusCodeValue());
         assertEquals("User not found. Please check your username.", response.getBody());
@@ -121,13 +144,29 @@ class AuthControllerTest {
     void login_IncorrectPassword() {
         when(employeeRepo.findByUsername("testuser"))
                 .thenReturn(Optional.of(employee));
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenThrow(new BadCredentialsException("Incorrect password"));
+        when(passwordEncoder.matches("password", ServiceFixture.PASSWORD_HASH)).thenReturn(false);
 
-        ResponseEntity<?> response = authController.login(loginRequest);
+        ResponseEntity<?> response = authController.login(loginRequest, request);
 
         assertEquals(401, response.getStatusCodeValue());
         assertEquals("Incorrect username or password.", response.getBody());
+        verify(jwtUtil, never()).generateToken(anyInt(), anyString(), anyBoolean(), anyLong());
+    }
+
+    /**
+     * Tests that a login is refused with 503 when the password hashing pool is saturated.
+     */
+    @Test
+    void login_HashingPoolSaturated() {
+        when(employeeRepo.findByUsername("testuser"))
+                .thenReturn(Optional.of(employee));
+        when(passwordEncoder.matches("password", ServiceFixture.PASSWORD_HASH))
+                .thenThrow(new RejectedExecutionException("queue full"));
+
+        ResponseEntity<?> response = authController.login(loginRequest, request);
+
+        assertEquals(503, response.getStatusCodeValue());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
     }
 
     /**
@@ -138,9 +177,27 @@ class AuthControllerTest {
     void login_MissingCredentials() {
         LoginRequestDTO invalidRequest = new LoginRequestDTO(null, null);
 
-        ResponseEntity<?> response = authController.login(invalidRequest);
+        ResponseEntity<?> response = authController.login(invalidRequest, request);
 
         assertEquals(400, response.getStatusCodeValue());
         assertEquals("Invalid request. Username and password are required.", response.getBody());
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that attempts over the per-username limit get 429 with Retry-After, without a password check.
+     */
+    @Test
+    void login_Throttled() {
+        when(employeeRepo.findByUsername("testuser"))
+                .thenReturn(Optional.of(employee));
+        when(passwordEncoder.matches("password", ServiceFixture.PASSWORD_HASH)).thenReturn(false);
+
+        assertEquals(401, authController.login(loginRequest, request).getStatusCodeValue());
+        assertEquals(401, authController.login(loginRequest, request).getStatusCodeValue());
+        ResponseEntity<?> response = authController.login(loginRequest, request);
+
+        assertEquals(429, response.getStatusCodeValue());
+        assertNotNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        verify(passwordEncoder, times(2)).matches("password", ServiceFixture.PASSWORD_HASH);
+    }
+}
@@ -0,0 +1,397 @@
+package com.brubaker.etams.controller;
+
+import com.brubaker.etams.dto.BulkStatusChangeDTO;
+import com.brubaker.etams.dto.BulkTaskResultDTO;
+import com.brubaker.etams.dto.EmployeeDTO;
+import com.brubaker.etams.dto.LoginRequestDTO;
+import com.brubaker.etams.dto.PasswordUpdateDTO;
+import com.brubaker.etams.dto.TaskDTO;
+import com.brubaker.etams.monitoring.RequestSqlMetricsFilter;
+import com.brubaker.etams.service.EmployeeService;
+import com.brubaker.etams.service.TaskService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Statement-count regression guard for every endpoint of {@link TaskController}, {@link EmployeeController}
+ * and {@link AuthController}.
+ * <p>
+ * The whole application runs on an embedded H2 database seeded with {@value #EMPLOYEE_COUNT} employees and
+ * {@value #TASKS_PER_EMPLOYEE} tasks each. Every request is checked against a fixed budget of SQL statements,
+ * entity loads, collection loads and query rows, as counted by {@link RequestSqlMetricsFilter} (authentication
+ * included). Statement and load budgets are constants, so an endpoint that starts issuing a query per row
+ * fails here long before it is noticed in production; row budgets are constants too, except for the endpoints
+ * that return the whole collection by design, and bulk budgets grow with the size of the request only.
+ * The second-level cache is emptied before each test, so every budget is measured cold.
+ */
+// No sync grace window, so a delta taken straight after a full sync is empty rather than re-reading the seed;
+// that needs writes without a timeout, which gives up the grace guarantee
+@SpringBootTest(properties = {"tasks.sync.grace-ms=0", "tasks.sync.write-timeout-s=-1"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryBudgetTest {
+
+    private static final int EMPLOYEE_COUNT = 300;
+    private static final int TASKS_PER_EMPLOYEE = 10;
+    private static final int TASK_COUNT = EMPLOYEE_COUNT * TASKS_PER_EMPLOYEE;
+    private static final int PAGE_SIZE = 50;
+    private static final int BULK_SIZE = 100;
+    /** The seeded tasks plus those the tests below create, in whatever order they run */
+    private static final int MAX_TASKS = TASK_COUNT + BULK_SIZE + 1;
+    /** The seeded employees, the admin and the one created below */
+    private static final int MAX_EMPLOYEES = EMPLOYEE_COUNT + 2;
+    private static final String PASSWORD = "Budget-Passw0rd!";
+
+    /**
+     * The most SQL work a request may cause.
+     *
+     * @param statements      JDBC statements prepared
+     * @param entityLoads     entities loaded from the database
+     * @param collectionLoads collections initialized
+     * @param rows            rows returned by queries
+     */
+    private record Budget(int statements, int entityLoads, int collectionLoads, long rows) {
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private TaskService taskService;
+
+    private final List<Integer> employeeIds = new ArrayList<>();
+    private final List<Integer> taskIds = new ArrayList<>();
+    private String token;
+
+    /**
+     * Seeds the employees and tasks through the services, so the in-memory indexes and counts are kept
+     * up to date as they would be in production, then logs in as the admin.
+     */
+    @BeforeAll
+    void seed() throws Exception {
+        employeeService.createEmployee(employee("admin", true));
+        for (int i = 0; i < EMPLOYEE_COUNT; i++) {
+            employeeIds.add(employeeService.createEmployee(employee("user" + i, false)).getId());
+        }
+
+        List<TaskDTO> tasks = new ArrayList<>(TASK_COUNT);
+        String[] statuses = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+        for (int i = 0; i < TASK_COUNT; i++) {
+            TaskDTO task = new TaskDTO();
+            task.setTitle("Task " + i + (i % 10 == 0 ? " quarterly report" : " routine work"));
+            task.setDescription("Seeded task number " + i);
+            task.setStatus(statuses[i % statuses.length]);
+            task.setDeadline(LocalDate.now().plusDays(1 + i % 365));
+            task.setAssignedEmployeeId(employeeIds.get(i % EMPLOYEE_COUNT));
+            tasks.add(task);
+        }
+        for (BulkTaskResultDTO result : taskService.createTasks(tasks)) {
+            taskIds.add(result.getId());
+        }
+
+        token = json(mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequestDTO("admin", PASSWORD))))
+                .andReturn()).get("token").asText();
+    }
+
+    @BeforeEach
+    void evictSecondLevelCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    // AuthController
+
+    @Test
+    void login() throws Exception {
+        MvcResult result = perform(post("/auth/login")
+                .content(objectMapper.writeValueAsString(new LoginRequestDTO("user1", PASSWORD))), 200);
+
+        assertWithin(new Budget(1, 1, 0, 0), result);
+    }
+
+    // TaskController
+
+    @Test
+    void getAllTasks() throws Exception {
+        MvcResult result = perform(authorized(get("/api/tasks")), 200);
+
+        assertWithin(new Budget(1, 0, 0, MAX_TASKS), result);
+    }
+
+    @Test
+    void getAllTasks_NotModified() throws Exception {
+        String eTag = perform(authorized(get("/api/tasks")), 200).getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult result = perform(authorized(get("/api/tasks")).header(HttpHeaders.IF_NONE_MATCH, eTag), 304);
+
+        assertWithin(new Budget(0, 0, 0, 0), result);
+    }
+
+    @Test
+    void getTaskPage() throws Exception {
+        MvcResult first = perform(authorized(get("/api/tasks").param("limit", String.valueOf(PAGE_SIZE)).param("sort", "deadline")), 200);
+        String cursor = json(first).get("nextCursor").asText();
+        MvcResult second = perform(authorized(get("/api/tasks").param("cursor", cursor).param("limit", String.valueOf(PAGE_SIZE))
+                .param("sort", "deadline")), 200);
+
+        assertWithin(new Budget(1, 0, 0, PAGE_SIZE + 1), first);
+        assertWithin(new Budget(1, 0, 0, PAGE_SIZE + 1), second);
+    }
+
+    @Test
+    void getAllTasksCompact() throws Exception {
+        MvcResult result = perform(authorized(get("/api/tasks/compact")), 200);
+
+        assertWithin(new Budget(1, 0, 0, MAX_TASKS), result);
+    }
+
+    @Test
+    void searchTasks() throws Exception {
+        MvcResult result = perform(authorized(get("/api/tasks/search").param("q", "quarterly rep")
+                .param("size", "20")), 200);
+
+        assertWithin(new Budget(1, 0, 0, 20), result);
+    }
+
+    @Test
+    void getTaskChanges() throws Exception {
+        MvcResult full = perform(authorized(get("/api/tasks/changes")), 200);
+        String since = json(full).get("nextToken").asText();
+        MvcResult delta = perform(authorized(get("/api/tasks/changes").param("since", since)), 200);
+
+        assertWithin(new Budget(1, 0, 0, MAX_TASKS), full);
+        assertWithin(new Budget(2, 0, 0, 0), delta);
+    }
+
+    @Test
+    void getTasksByEmployeeId() throws Exception {
+        // No test below assigns tasks to this employee
+        MvcResult result = perform(authorized(get("/api/tasks/user/{id}", employeeIds.get(250))), 200);
+
+        assertWithin(new Budget(1, 0, 0, TASKS_PER_EMPLOYEE), result);
+    }
+
+    @Test
+    void streamTasks() throws Exception {
+        MvcResult result = mockMvc.perform(authorized(get("/api/tasks/stream")))
+                .andReturn();
+
+        assertTrue(result.getRequest().isAsyncStarted());
+        assertWithin(new Budget(0, 0, 0, 0), result);
+    }
+
+    @Test
+    void createTask() throws Exception {
+        MvcResult result = perform(authorized(post("/api/tasks"))
+                .content(objectMapper.writeValueAsString(task("Created", employeeIds.get(7)))), 200);
+
+        assertWithin(new Budget(2, 1, 0, 0), result);
+    }
+
+    @Test
+    void updateTask() throws Exception {
+        TaskDTO task = task("Updated", employeeIds.get(8));
+        task.setVersion(0L);
+        MvcResult result = perform(authorized(put("/api/tasks/{id}", taskIds.get(10)))
+                .content(objectMapper.writeValueAsString(task)), 200);
+
+        assertWithin(new Budget(3, 2, 0, 0), result);
+    }
+
+    @Test
+    void patchTask() throws Exception {
+        MvcResult result = perform(authorized(patch("/api/tasks/{id}", taskIds.get(12)))
+                .content("{\"status\":\"COMPLETED\",\"version\":0}"), 200);
+
+        assertWithin(new Budget(2, 2, 0, 1), result);
+    }
+
+    @Test
+    void deleteTask() throws Exception {
+        MvcResult result = perform(authorized(delete("/api/tasks/{id}", taskIds.get(13))), 204);
+
+        assertWithin(new Budget(3, 1, 0, 0), result);
+    }
+
+    @Test
+    void createTasks() throws Exception {
+        List<TaskDTO> tasks = new ArrayList<>();
+        for (int i = 0; i < BULK_SIZE; i++) {
+            tasks.add(task("Bulk created " + i, employeeIds.get(i)));
+        }
+        MvcResult result = perform(authorized(post("/api/tasks/bulk")).content(objectMapper.writeValueAsString(tasks)),
+                200);
+
+        assertWithin(new Budget(4, BULK_SIZE, 0, BULK_SIZE), result);
+    }
+
+    @Test
+    void updateTasks() throws Exception {
+        List<TaskDTO> tasks = new ArrayList<>();
+        for (int i = 0; i < BULK_SIZE; i++) {
+            TaskDTO task = task("Bulk updated " + i, employeeIds.get(i + 100));
+            task.setId(taskIds.get(1000 + i));
+            task.setVersion(0L);
+            tasks.add(task);
+        }
+        MvcResult result = perform(authorized(put("/api/tasks/bulk")).content(objectMapper.writeValueAsString(tasks)),
+                200);
+
+        assertWithin(new Budget(3, 2 * BULK_SIZE, 0, 2 * BULK_SIZE), result);
+    }
+
+    @Test
+    void changeTaskStatus() throws Exception {
+        BulkStatusChangeDTO change = new BulkStatusChangeDTO();
+        change.setIds(taskIds.subList(1100, 1100 + BULK_SIZE));
+        change.setStatus("COMPLETED");
+        MvcResult result = perform(authorized(patch("/api/tasks/bulk/status"))
+                .content(objectMapper.writeValueAsString(change)), 200);
+
+        assertWithin(new Budget(2, 2 * BULK_SIZE, 0, BULK_SIZE), result);
+    }
+
+    @Test
+    void deleteTasks() throws Exception {
+        MvcResult result = perform(authorized(delete("/api/tasks/bulk"))
+                .content(objectMapper.writeValueAsString(taskIds.subList(1200, 1200 + BULK_SIZE))), 200);
+
+        assertWithin(new Budget(3, BULK_SIZE, 0, BULK_SIZE), result);
+    }
+
+    // EmployeeController
+
+    @Test
+    void getAllEmployees() throws Exception {
+        MvcResult result = perform(authorized(get("/api/employees")), 200);
+
+        assertWithin(new Budget(1, 0, 0, MAX_EMPLOYEES), result);
+    }
+
+    @Test
+    void lookupEmployees() throws Exception {
+        MvcResult result = perform(authorized(get("/api/employees/lookup").param("prefix", "user1")), 200);
+
+        assertWithin(new Budget(0, 0, 0, 0), result);
+    }
+
+    @Test
+    void createEmployee() throws Exception {
+        MvcResult result = perform(authorized(post("/api/employees"))
+                .content(objectMapper.writeValueAsString(employee("created", false))), 200);
+
+        assertWithin(new Budget(1, 0, 0, 0), result);
+    }
+
+    @Test
+    void updateEmployee() throws Exception {
+        EmployeeDTO employee = employee("user20", false);
+        employee.setRole("Lead");
+        MvcResult result = perform(authorized(put("/api/employees/{id}", employeeIds.get(20)))
+                .content(objectMapper.writeValueAsString(employee)), 200);
+
+        assertWithin(new Budget(2, 1, 0, 0), result);
+    }
+
+    @Test
+    void deleteEmployee() throws Exception {
+        MvcResult result = perform(authorized(delete("/api/employees/{id}", employeeIds.get(21))), 204);
+
+        assertWithin(new Budget(5, TASKS_PER_EMPLOYEE, 0, TASKS_PER_EMPLOYEE), result);
+    }
+
+    @Test
+    void updatePassword() throws Exception {
+        PasswordUpdateDTO password = new PasswordUpdateDTO();
+        password.setPassword("Changed-Passw0rd!");
+        MvcResult result = perform(authorized(put("/api/employees/{id}/password", employeeIds.get(22)))
+                .content(objectMapper.writeValueAsString(password)), 204);
+
+        assertWithin(new Budget(2, 1, 0, 0), result);
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    private MvcResult perform(MockHttpServletRequestBuilder request, int expectedStatus) throws Exception {
+        MvcResult result = mockMvc.perform(request.contentType(MediaType.APPLICATION_JSON)).andReturn();
+        assertEquals(expectedStatus, result.getResponse().getStatus(), result.getResponse().getContentAsString());
+        return result;
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+
+    /**
+     * Fails if the request caused more SQL work than its budget.
+     */
+    private static void assertWithin(Budget budget, MvcResult result) {
+        Budget actual = new Budget(
+                (int) result.getRequest().getAttribute(RequestSqlMetricsFilter.STATEMENTS_ATTRIBUTE),
+                (int) result.getRequest().getAttribute(RequestSqlMetricsFilter.ENTITY_LOADS_ATTRIBUTE),
+                (int) result.getRequest().getAttribute(RequestSqlMetricsFilter.COLLECTION_LOADS_ATTRIBUTE),
+                (long) result.getRequest().getAttribute(RequestSqlMetricsFilter.ROWS_ATTRIBUTE));
+        String request = result.getRequest().getMethod() + " " + result.getRequest().getRequestURI();
+        assertAll(request + " " + actual + " over " + budget,
+                () -> assertTrue(actual.statements() <= budget.statements(), "statements"),
+                () -> assertTrue(actual.entityLoads() <= budget.entityLoads(), "entity loads"),
+                () -> assertTrue(actual.collectionLoads() <= budget.collectionLoads(), "collection loads"),
+                () -> assertTrue(actual.rows() <= budget.rows(), "rows"));
+    }
+
+    private static EmployeeDTO employee(String username, boolean admin) {
+        EmployeeDTO employee = new EmployeeDTO();
+        employee.setFirstName(username.substring(0, 1).toUpperCase() + username.substring(1));
+        employee.setLastName("Tester");
+        employee.setEmail(username + "@example.com");
+        employee.setUsername(username);
+        employee.setRole("Engineer");
+        employee.setAdmin(admin);
+        employee.setPassword(PASSWORD);
+        return employee;
+    }
+
+    private static TaskDTO task(String title, Integer assignedEmployeeId) {
+        TaskDTO task = new TaskDTO();
+        task.setTitle(title);
+        task.setDescription(title + " description");
+        task.setStatus("PENDING");
+        task.setDeadline(LocalDate.now().plusDays(30));
+        task.setAssignedEmployeeId(assignedEmployeeId);
+        return task;
+    }
+}
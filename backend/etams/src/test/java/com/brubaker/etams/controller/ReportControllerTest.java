@@ -0,0 +1,66 @@
+package com.brubaker.etams.controller;
+
+import com.brubaker.etams.service.ReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test for {@link ReportController}, validating the streamed activity export.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportControllerTest {
+
+    private static final long ACTIVITY_TIMEOUT_MS = 123_000;
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private AsyncWebRequest asyncWebRequest;
+
+    private ReportController reportController;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        reportController = new ReportController(reportService, ACTIVITY_TIMEOUT_MS);
+        request = new MockHttpServletRequest();
+        // Spring MVC attaches the async request before the handler runs
+        WebAsyncUtils.getAsyncManager(request).setAsyncWebRequest(asyncWebRequest);
+    }
+
+    /**
+     * Tests that the export sets its own async timeout, leaving the application-wide default to other requests.
+     */
+    @Test
+    void getActivityReport_SetsItsOwnAsyncTimeout() {
+        assertNotNull(reportController.getActivityReport(null, null, "csv", request).getBody());
+
+        verify(asyncWebRequest).setTimeout(ACTIVITY_TIMEOUT_MS);
+    }
+
+    /**
+     * Tests that an invalid range is rejected before the timeout is raised or the body is started.
+     */
+    @Test
+    void getActivityReport_InvalidRange() {
+        LocalDate today = LocalDate.now();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> reportController.getActivityReport(today, today.minusDays(1), null, request));
+
+        verify(asyncWebRequest, never()).setTimeout(anyLong());
+        verifyNoInteractions(reportService);
+    }
+}
@@ -0,0 +1,51 @@
+package com.brubaker.etams.monitoring;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SlowQueryLog} class.
+ * Covers the threshold, the bounded history and the statement shapes it records.
+ */
+class SlowQueryLogTest {
+
+    /**
+     * Tests that only queries at or over the threshold are kept, newest first, up to the capacity.
+     */
+    @Test
+    void executed_KeepsRecentSlowQueries() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SlowQueryLog log = new SlowQueryLog(meterRegistry, 100, 2);
+        SqlActivity activity = SqlActivity.begin("GET /api/tasks");
+        try {
+            log.executed("fast", "select 1", 1, 99, activity);
+            log.executed("first", "select 1", 1, 100, activity);
+            log.executed("second", "select 2", 1, 300, null);
+            log.executed("third", "select 3", 1, 150, activity);
+        } finally {
+            SqlActivity.end();
+        }
+
+        List<SlowQueryLog.SlowQuery> slowQueries = log.slowQueries();
+        assertEquals(List.of("third", "second"), slowQueries.stream().map(SlowQueryLog.SlowQuery::query).toList());
+        assertEquals("GET /api/tasks", slowQueries.get(0).request());
+        assertNull(slowQueries.get(1).request());
+        assertEquals(3.0, meterRegistry.get("db.queries.slow").counter().count());
+    }
+
+    /**
+     * Tests that a statement is recorded by shape: whitespace collapsed and IN lists reduced to their length.
+     */
+    @Test
+    void shape_CollapsesWhitespaceAndInLists() {
+        String sql = "select t1_0.task_id\n  from tasks t1_0 where t1_0.task_id in (?, ?,?) and t1_0.status=?";
+
+        assertEquals("select t1_0.task_id from tasks t1_0 where t1_0.task_id in (?*3) and t1_0.status=?",
+                SlowQueryLog.shape(sql));
+        assertEquals(4, SlowQueryLog.parameterCount(sql));
+    }
+}
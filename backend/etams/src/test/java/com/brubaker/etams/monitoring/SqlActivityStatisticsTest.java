@@ -0,0 +1,136 @@
+package com.brubaker.etams.monitoring;
+
+import com.brubaker.etams.entity.Employee;
+import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.entity.TaskStatus;
+import com.brubaker.etams.service.ServiceFixture;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SqlActivityStatistics} with real Hibernate sessions.
+ * The class overrides Hibernate's internal statistics, so these tests pin that Hibernate still calls each
+ * override: statements, entity and collection loads and query rows reach the request's {@link SqlActivity},
+ * queries reach the {@link SlowQueryLog}, and no thread keeps its last statement after its session closes.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({SqlMonitoringConfig.class, SqlActivityStatisticsTest.SlowQueryLogConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SqlActivityStatisticsTest {
+
+    @TestConfiguration
+    static class SlowQueryLogConfig {
+
+        /**
+         * Logs every query, so the test can see what Hibernate reported.
+         */
+        @Bean
+        SlowQueryLog slowQueryLog() {
+            return new SlowQueryLog(new SimpleMeterRegistry(), 0, 10);
+        }
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SlowQueryLog slowQueryLog;
+
+    private Integer employeeId;
+
+    @BeforeEach
+    void setUp() {
+        inTransaction(entityManager -> {
+            Employee employee = ServiceFixture.employee("Stats", "User", "stats");
+            entityManager.persist(employee);
+            entityManager.persist(ServiceFixture.task("Counted", TaskStatus.PENDING, employee));
+            entityManager.flush();
+            employeeId = employee.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlActivity.end();
+        inTransaction(entityManager -> {
+            entityManager.createQuery("delete from Task").executeUpdate();
+            entityManager.createQuery("delete from Employee").executeUpdate();
+        });
+    }
+
+    /**
+     * Tests that every statement, entity load, collection load and query row is added to the activity,
+     * and that the query is passed to the slow-query log with its SQL.
+     */
+    @Test
+    void request_CountsHibernateWork() {
+        SqlActivity activity = SqlActivity.begin("GET /api/employees/1");
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            Employee employee = entityManager.find(Employee.class, employeeId);
+            assertEquals(1, employee.getTasks().size());
+            List<Task> tasks = entityManager.createQuery("select t from Task t", Task.class).getResultList();
+            assertEquals(1, tasks.size());
+            assertNull(SqlActivity.lastStatement());
+        } finally {
+            entityManager.close();
+            SqlActivity.end();
+        }
+
+        assertEquals(3, activity.statements());
+        assertEquals(2, activity.entityLoads());
+        assertEquals(1, activity.collectionLoads());
+        assertEquals(1, activity.rows());
+
+        SlowQueryLog.SlowQuery query = slowQueryLog.slowQueries().get(0);
+        assertEquals("select t from Task t", query.query());
+        assertEquals("GET /api/employees/1", query.request());
+        assertTrue(query.statement().toLowerCase().contains("from tasks"), query.statement());
+    }
+
+    /**
+     * Tests that a thread without a request, like a scheduler or writer thread, does not keep the last
+     * statement once its session closes, even when no query consumed it.
+     */
+    @Test
+    void sessionClose_ForgetsLastStatementOutsideRequest() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.find(Employee.class, employeeId);
+            assertNotNull(SqlActivity.lastStatement());
+        } finally {
+            entityManager.close();
+        }
+
+        assertNull(SqlActivity.lastStatement());
+    }
+
+    private void inTransaction(Consumer<EntityManager> work) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            work.accept(entityManager);
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.brubaker.etams.repository;
+
+import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.entity.TaskStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the keyset pagination in {@link TaskRepoCustomImpl}.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class TaskRepoKeysetTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    private final List<Task> tasks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int i = 0; i < 14; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setStatus(statuses[(i * 3) % statuses.length]);
+            entityManager.persist(task);
+            tasks.add(task);
+        }
+        entityManager.flush();
+    }
+
+    /**
+     * Tests that paging by status visits every task once, ordered by status name and then by id,
+     * in both directions.
+     */
+    @Test
+    void findTasksAfter_ByStatus_VisitsEveryTaskOnceInOrder() {
+        Comparator<Task> byStatus = Comparator.comparing((Task task) -> task.getStatus().name()).thenComparing(Task::getId);
+
+        assertEquals(ids(tasks.stream().sorted(byStatus).toList()), pageThrough(false));
+        assertEquals(ids(tasks.stream().sorted(byStatus.reversed()).toList()), pageThrough(true));
+    }
+
+    private List<Integer> pageThrough(boolean descending) {
+        List<Integer> visited = new ArrayList<>();
+        Object afterValue = null;
+        Integer afterId = null;
+        while (true) {
+            List<TaskRow> page = taskRepo.findTasksAfter(TaskSortField.STATUS, descending, afterValue, afterId, PAGE_SIZE);
+            page.forEach(row -> visited.add(row.id()));
+            if (page.size() < PAGE_SIZE) {
+                return visited;
+            }
+            TaskRow last = page.get(page.size() - 1);
+            // Round-trip the value through its cursor form, as the service does
+            afterValue = TaskSortField.STATUS.parseValue(TaskSortField.STATUS.valueOf(last).toString());
+            afterId = last.id();
+        }
+    }
+
+    private static List<Integer> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+}
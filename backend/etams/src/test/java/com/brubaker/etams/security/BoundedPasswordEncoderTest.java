@@ -0,0 +1,84 @@
+package com.brubaker.etams.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link BoundedPasswordEncoder} class.
+ * Covers delegation to the wrapped encoder and fast rejection once the pool and its queue are full.
+ */
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    /**
+     * Tests that hashing and verification are delegated and their results returned to the caller.
+     */
+    @Test
+    void encodeAndMatches_Delegate() {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(false), 1, 1);
+
+        assertEquals("hash:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hash:secret"));
+        assertFalse(encoder.matches("other", "hash:secret"));
+    }
+
+    /**
+     * Tests that a hash beyond the pool's capacity is rejected at once instead of waiting.
+     */
+    @Test
+    void matches_RejectsWhenSaturated() throws Exception {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(true), 1, 0);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "hash:a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(RejectedExecutionException.class, () -> encoder.matches("b", "hash:b"));
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+    }
+
+    private final class BlockingEncoder implements PasswordEncoder {
+
+        private final boolean block;
+
+        BlockingEncoder(boolean block) {
+            this.block = block;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (block) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return encodedPassword.equals(encode(rawPassword));
+        }
+    }
+}
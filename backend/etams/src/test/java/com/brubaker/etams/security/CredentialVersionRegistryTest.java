@@ -0,0 +1,46 @@
+package com.brubaker.etams.security;
+
+import com.brubaker.etams.repository.EmployeeCredentialVersion;
+import com.brubaker.etams.repository.EmployeeRepo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link CredentialVersionRegistry}, covering the versions seeded at startup.
+ */
+class CredentialVersionRegistryTest {
+
+    /**
+     * Tests that a token issued just before a change is rejected after a restart, whether the stored
+     * timestamp was truncated or rounded up to the second, while a token issued after that second is kept.
+     */
+    @Test
+    void seed_RejectsTokensIssuedBeforeTheStoredChange() {
+        Instant changedAt = Instant.parse("2025-03-01T10:00:00.700Z");
+        long issuedBefore = changedAt.minusMillis(100).toEpochMilli();
+        long issuedAfter = Instant.parse("2025-03-01T10:00:02Z").toEpochMilli();
+
+        CredentialVersionRegistry truncated = registry(1, Instant.parse("2025-03-01T10:00:00Z"));
+        CredentialVersionRegistry rounded = registry(1, Instant.parse("2025-03-01T10:00:01Z"));
+
+        assertFalse(truncated.isCurrent(1, issuedBefore));
+        assertFalse(rounded.isCurrent(1, issuedBefore));
+        assertTrue(truncated.isCurrent(1, issuedAfter));
+        assertTrue(rounded.isCurrent(1, issuedAfter));
+    }
+
+    private static CredentialVersionRegistry registry(Integer employeeId, Instant updatedAt) {
+        EmployeeCredentialVersion row = mock(EmployeeCredentialVersion.class);
+        when(row.getId()).thenReturn(employeeId);
+        when(row.getUpdatedAt()).thenReturn(updatedAt);
+        EmployeeRepo employeeRepo = mock(EmployeeRepo.class);
+        when(employeeRepo.findAllCredentialVersions()).thenReturn(List.of(row));
+        return new CredentialVersionRegistry(employeeRepo);
+    }
+}
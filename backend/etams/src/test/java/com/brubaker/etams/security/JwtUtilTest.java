@@ -0,0 +1,70 @@
+package com.brubaker.etams.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link JwtUtil}, covering the verified-token cache.
+ */
+class JwtUtilTest {
+
+    private static final String SECRET = Base64.getEncoder()
+            .encodeToString("jwt-util-test-secret-key-of-at-least-256-bits".getBytes(StandardCharsets.UTF_8));
+
+    /**
+     * Tests that a cached token is served from the cache until it expires, then rejected as expired.
+     */
+    @Test
+    void parseToken_CachedTokenExpiresWithItsClaim() throws InterruptedException {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 1_000, 10);
+        String token = jwtUtil.generateToken(1, "user", false, 0L);
+
+        JwtClaims first = jwtUtil.parseToken(token);
+        assertSame(first, jwtUtil.parseToken(token));
+
+        Thread.sleep(1_100);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.parseToken(token));
+    }
+
+    /**
+     * Tests that a correctly signed token without an expiration is rejected as invalid.
+     */
+    @Test
+    void parseToken_RejectsTokenWithoutExpiration() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 10);
+        String token = Jwts.builder()
+                .subject("user")
+                .claim("employeeId", 1)
+                .signWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET)))
+                .compact();
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(token));
+    }
+
+    /**
+     * Tests that a full cache keeps accepting new tokens and never caches a token that fails verification.
+     */
+    @Test
+    void parseToken_FullCacheStaysBoundedAndVerifies() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 2);
+        for (int i = 0; i < 10; i++) {
+            String token = jwtUtil.generateToken(i, "user" + i, false, 0L);
+            assertEquals("user" + i, jwtUtil.extractUsername(token));
+        }
+
+        String token = jwtUtil.generateToken(1, "user", false, 0L);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThrows(SignatureException.class, () -> jwtUtil.parseToken(tampered));
+        assertThrows(SignatureException.class, () -> jwtUtil.parseToken(tampered));
+    }
+}
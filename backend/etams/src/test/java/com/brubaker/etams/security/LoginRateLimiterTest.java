@@ -0,0 +1,76 @@
+package com.brubaker.etams.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link LoginRateLimiter} class.
+ * Covers bursts, refill over time, independence of keys and the rejection counters.
+ */
+class LoginRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 60 per minute (one every second) with a burst of 3 per IP; 6 per minute with a burst of 2 per username
+        limiter = new LoginRateLimiter(meterRegistry, 60, 3, 6, 2, 1024, clock::get);
+    }
+
+    /**
+     * Tests that a username gets its burst, is then rejected with the wait until the next token, and refills.
+     */
+    @Test
+    void tryAcquire_LimitsUsernameAndRefills() {
+        assertEquals(0, limiter.tryAcquire("10.0.0.1", "jdoe"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.2", "JDoe "));
+        assertEquals(10_000, limiter.tryAcquire("10.0.0.3", "jdoe"));
+
+        clock.addAndGet(4_000);
+        assertEquals(6_000, limiter.tryAcquire("10.0.0.4", "jdoe"));
+
+        clock.addAndGet(6_000);
+        assertEquals(0, limiter.tryAcquire("10.0.0.5", "jdoe"));
+        assertEquals(2.0, meterRegistry.get("auth.login.throttled").tag("limit", "username").counter().count());
+    }
+
+    /**
+     * Tests that one client is limited across usernames while other clients are unaffected.
+     */
+    @Test
+    void tryAcquire_LimitsClientAcrossUsernames() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("10.0.0.1", "user" + i));
+        }
+        assertEquals(1_000, limiter.tryAcquire("10.0.0.1", "user3"));
+        assertEquals(0, limiter.tryAcquire("10.0.0.2", "user3"));
+        assertEquals(1.0, meterRegistry.get("auth.login.throttled").tag("limit", "ip").counter().count());
+    }
+
+    /**
+     * Tests that a small table still limits every key once all slots are busy, and frees them when idle.
+     */
+    @Test
+    void tryAcquire_BoundedTableSharesBusySlots() {
+        LoginRateLimiter tiny = new LoginRateLimiter(new SimpleMeterRegistry(), 60, 1, 60, 1, 2, clock::get);
+
+        int rejected = 0;
+        for (int i = 0; i < 20; i++) {
+            if (tiny.tryAcquire("10.0.0." + i, null) > 0) {
+                rejected++;
+            }
+        }
+        assertTrue(rejected >= 18, "at most two buckets can be free at once");
+
+        clock.addAndGet(1_000);
+        assertEquals(0, tiny.tryAcquire("10.0.0.100", null));
+    }
+}
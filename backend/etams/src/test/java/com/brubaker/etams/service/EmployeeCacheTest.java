@@ -0,0 +1,115 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.EmployeeDTO;
+import com.brubaker.etams.entity.Employee;
+import com.brubaker.etams.repository.EmployeeRepo;
+import com.brubaker.etams.repository.TaskRepo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the second-level cache for {@link Employee} and its username natural id: repeated lookups are
+ * served without SQL, and writes through {@link EmployeeServiceImpl} are visible to the next lookup.
+ * Each step commits on its own, as it would across requests, so the cache is actually populated.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmployeeCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EmployeeRepo employeeRepo;
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    private EmployeeService employeeService;
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+    private Integer employeeId;
+
+    @BeforeEach
+    void setUp() {
+        employeeService = new ServiceFixture(taskRepo, employeeRepo).withTaskCounts().employeeService();
+        transaction = new TransactionTemplate(transactionManager);
+
+        employeeId = employeeRepo.save(ServiceFixture.employee("Cached", "Employee", "cached")).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeRepo.deleteAll();
+    }
+
+    /**
+     * Tests that once a username has been resolved, later lookups by username and id run no SQL.
+     */
+    @Test
+    void findByUsername_RepeatedLookupsHitCache() {
+        assertTrue(employeeRepo.findByUsername("cached").isPresent());
+        long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+
+        Employee employee = employeeRepo.findByUsername("cached").orElseThrow();
+        assertEquals(employeeId, employeeRepo.findById(employeeId).orElseThrow().getId());
+
+        assertEquals("cached", employee.getUsername());
+        assertEquals(statementsAfterFirstLookup, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getCacheRegionStatistics(Employee.USERNAME_CACHE_REGION).getHitCount() > 0);
+        assertTrue(statistics.getCacheRegionStatistics(Employee.CACHE_REGION).getHitCount() > 0);
+    }
+
+    /**
+     * Tests that a username change made through the service replaces the cached resolution and entity.
+     */
+    @Test
+    void updateEmployee_UsernameChangeIsVisibleToNextLookup() {
+        assertTrue(employeeRepo.findByUsername("cached").isPresent());
+
+        EmployeeDTO update = new EmployeeDTO();
+        update.setFirstName("Renamed");
+        update.setLastName("Employee");
+        update.setEmail("cached@example.com");
+        update.setUsername("renamed");
+        update.setRole("Tester");
+        transaction.executeWithoutResult(status -> employeeService.updateEmployee(employeeId, update));
+
+        assertTrue(employeeRepo.findByUsername("cached").isEmpty());
+        assertEquals("Renamed", employeeRepo.findByUsername("renamed").orElseThrow().getFirstName());
+        assertEquals("Renamed", employeeRepo.findById(employeeId).orElseThrow().getFirstName());
+    }
+
+    /**
+     * Tests that a deleted employee is no longer found through the cache.
+     */
+    @Test
+    void deleteEmployee_EvictsCachedEntry() {
+        assertTrue(employeeRepo.findByUsername("cached").isPresent());
+
+        transaction.executeWithoutResult(status -> employeeService.deleteEmployee(employeeId));
+
+        assertTrue(employeeRepo.findByUsername("cached").isEmpty());
+        assertTrue(employeeRepo.findById(employeeId).isEmpty());
+    }
+}
@@ -0,0 +1,83 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.EmployeeLookupDTO;
+import com.brubaker.etams.repository.EmployeeNameRow;
+import com.brubaker.etams.repository.EmployeeRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link EmployeeLookupIndex} class.
+ * Covers prefix matching on every name key, de-duplication, limits and incremental updates.
+ */
+class EmployeeLookupIndexTest {
+
+    private EmployeeLookupIndex index;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeRepo employeeRepo = mock(EmployeeRepo.class);
+        when(employeeRepo.findAllNameRows()).thenReturn(List.of(
+                new EmployeeNameRow(1, "John", "Doe", "jdoe"),
+                new EmployeeNameRow(2, "Jane", "Johnson", "jjohnson"),
+                new EmployeeNameRow(3, "José", "Díaz", "jdiaz"),
+                new EmployeeNameRow(4, "Alice", "Smith", "asmith")));
+        index = new EmployeeLookupIndex(employeeRepo);
+    }
+
+    /**
+     * Tests matching on first name, last name, full name and username, without duplicates.
+     */
+    @Test
+    void lookup_MatchesEveryKeyOnce() {
+        assertEquals(List.of(1, 2, 3), ids(index.lookup("jo", 10)));
+        assertEquals(List.of(4), ids(index.lookup("smi", 10)));
+        assertEquals(List.of(1), ids(index.lookup("john  d", 10)));
+        assertEquals(List.of(4), ids(index.lookup("asm", 10)));
+        assertEquals("John Doe", index.lookup("jdoe", 10).get(0).getDisplayName());
+    }
+
+    /**
+     * Tests that accents and case are ignored.
+     */
+    @Test
+    void lookup_IgnoresAccentsAndCase() {
+        assertEquals(List.of(3), ids(index.lookup("JOSE D", 10)));
+        assertEquals(List.of(3), ids(index.lookup("díaz", 10)));
+    }
+
+    /**
+     * Tests the result limit and that an empty prefix matches nothing.
+     */
+    @Test
+    void lookup_RespectsLimit() {
+        assertEquals(2, index.lookup("j", 2).size());
+        assertTrue(index.lookup(" ", 10).isEmpty());
+    }
+
+    /**
+     * Tests that updates replace an employee's keys and removals drop them.
+     */
+    @Test
+    void putAndRemove_UpdateResults() {
+        index.put(1, "Jonathan", "Zed", "jzed");
+        assertTrue(index.lookup("doe", 10).isEmpty());
+        assertEquals(List.of(1), ids(index.lookup("zed", 10)));
+        assertEquals("Jonathan Zed", index.lookup("zed", 10).get(0).getDisplayName());
+
+        index.put(5, "Bob", "Brown", "bbrown");
+        assertEquals(List.of(5), ids(index.lookup("b", 10)));
+
+        index.removeAfterCommit(2);
+        assertEquals(List.of(1, 3), ids(index.lookup("jo", 10)));
+    }
+
+    private static List<Integer> ids(List<EmployeeLookupDTO> results) {
+        return results.stream().map(EmployeeLookupDTO::getId).toList();
+    }
+}
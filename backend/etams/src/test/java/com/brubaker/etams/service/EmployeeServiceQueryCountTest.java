@@ -0,0 +1,111 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.EmployeeDTO;
+import com.brubaker.etams.entity.Employee;
+import com.brubaker.etams.entity.TaskStatus;
+import com.brubaker.etams.repository.EmployeeRepo;
+import com.brubaker.etams.repository.TaskRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query-count regression test for {@link EmployeeServiceImpl#getAllEmployeesWithTaskCount()}.
+ * Ensures the employee list is served by a fixed number of SQL statements regardless of how
+ * many employees and tasks exist, and never initializes the lazy task collections.
+ * Task counts come from a {@link TaskCountMatrix} loaded from the seeded data.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class EmployeeServiceQueryCountTest {
+
+    private static final int EMPLOYEE_COUNT = 120;
+    private static final int TASKS_PER_EMPLOYEE = 7;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EmployeeRepo employeeRepo;
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    private EmployeeService employeeService;
+    private TaskCountMatrix taskCounts;
+    private Statistics statistics;
+
+    /**
+     * Seeds employees with tasks in every status, plus one employee with no tasks.
+     */
+    @BeforeEach
+    void setUp() {
+        ServiceFixture services = new ServiceFixture(taskRepo, employeeRepo).withTaskCounts();
+        taskCounts = services.taskCounts();
+        employeeService = services.employeeService();
+
+        for (int i = 0; i < EMPLOYEE_COUNT; i++) {
+            Employee employee = ServiceFixture.employee("First", "Last", "user" + i);
+            entityManager.persist(employee);
+
+            for (int j = 0; j < TASKS_PER_EMPLOYEE; j++) {
+                TaskStatus status = TaskStatus.values()[j % TaskStatus.values().length];
+                entityManager.persist(ServiceFixture.task("Task " + i + "-" + j, status, employee));
+            }
+        }
+        entityManager.persist(ServiceFixture.employee("First", "Last", "idle"));
+
+        entityManager.flush();
+        entityManager.clear();
+        taskCounts.load();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Tests that listing employees costs exactly one statement and hydrates no entities.
+     */
+    @Test
+    void getAllEmployeesWithTaskCount_UsesSingleStatement() {
+        List<EmployeeDTO> employees = employeeService.getAllEmployeesWithTaskCount();
+
+        assertEquals(EMPLOYEE_COUNT + 1, employees.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getCollectionFetchCount());
+    }
+
+    /**
+     * Tests that the task counts match the seeded data, including employees without tasks.
+     */
+    @Test
+    void getAllEmployeesWithTaskCount_ReturnsCounts() {
+        List<EmployeeDTO> employees = employeeService.getAllEmployeesWithTaskCount();
+
+        EmployeeDTO busy = employees.get(0);
+        assertEquals("user0", busy.getUsername());
+        assertEquals(TASKS_PER_EMPLOYEE, busy.getTaskCount());
+        assertEquals(2, busy.getPendingTaskCount());
+        assertEquals(2, busy.getInProgressTaskCount());
+        assertEquals(2, busy.getCompletedTaskCount());
+        assertNull(busy.getPassword());
+
+        EmployeeDTO idle = employees.get(employees.size() - 1);
+        assertEquals("idle", idle.getUsername());
+        assertEquals(0, idle.getTaskCount());
+    }
+}
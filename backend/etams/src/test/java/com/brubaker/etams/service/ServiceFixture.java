@@ -0,0 +1,99 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.EmployeeMapper;
+import com.brubaker.etams.dto.TaskMapper;
+import com.brubaker.etams.entity.Employee;
+import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.entity.TaskStatus;
+import com.brubaker.etams.repository.EmployeeRepo;
+import com.brubaker.etams.repository.TaskRepo;
+import com.brubaker.etams.security.CredentialVersionRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Builds {@link TaskServiceImpl} and {@link EmployeeServiceImpl} on real repositories for database tests,
+ * so those tests do not depend on the services' constructor signatures, and the employees and tasks they seed.
+ * <p>
+ * The task stream, change log, status journal and task counts are mocks unless a test asks for the real
+ * counts; the mocks are exposed so tests can verify what was published.
+ */
+public final class ServiceFixture {
+
+    /** The password hash of every employee built by {@link #employee(String, String, String)} */
+    public static final String PASSWORD_HASH = "hashedpassword";
+
+    final CollectionVersion collectionVersion = new CollectionVersion();
+    final TaskEventBroadcaster taskEvents = mock(TaskEventBroadcaster.class);
+    final TaskChangeLog changeLog = mock(TaskChangeLog.class);
+    final TaskStatusJournal statusJournal = mock(TaskStatusJournal.class);
+
+    private final TaskRepo taskRepo;
+    private final EmployeeRepo employeeRepo;
+    private TaskCountMatrix taskCounts = mock(TaskCountMatrix.class);
+
+    ServiceFixture(TaskRepo taskRepo, EmployeeRepo employeeRepo) {
+        this.taskRepo = taskRepo;
+        this.employeeRepo = employeeRepo;
+    }
+
+    /**
+     * Replaces the mocked task counts with a real, empty {@link TaskCountMatrix}.
+     */
+    ServiceFixture withTaskCounts() {
+        taskCounts = new TaskCountMatrix(taskRepo, collectionVersion, new SimpleMeterRegistry());
+        return this;
+    }
+
+    TaskCountMatrix taskCounts() {
+        return taskCounts;
+    }
+
+    TaskServiceImpl taskService() {
+        return new TaskServiceImpl(taskRepo, employeeRepo, new TaskMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), new TaskSearchIndex(taskRepo),
+                collectionVersion, taskEvents, changeLog, statusJournal, taskCounts);
+    }
+
+    /**
+     * Builds the employee service; passwords are hashed at the minimum BCrypt cost.
+     */
+    EmployeeServiceImpl employeeService() {
+        return new EmployeeServiceImpl(employeeRepo, new BCryptPasswordEncoder(4), new EmployeeMapper(),
+                new CredentialVersionRegistry(employeeRepo), new EmployeeLookupIndex(employeeRepo),
+                collectionVersion, taskRepo, taskEvents, statusJournal, taskCounts);
+    }
+
+    /**
+     * Returns a new, unsaved employee with every required column filled; the email is derived from the username.
+     */
+    public static Employee employee(String firstName, String lastName, String username) {
+        Employee employee = new Employee();
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        employee.setEmail(username + "@example.com");
+        employee.setUsername(username);
+        employee.setPasswordHash(PASSWORD_HASH);
+        employee.setRole("Tester");
+        return employee;
+    }
+
+    /**
+     * Returns a new, unsaved task due in a week.
+     *
+     * @param assignee the assignee, or null to leave the task unassigned
+     */
+    public static Task task(String title, TaskStatus status, Employee assignee) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(status);
+        task.setDeadline(LocalDate.now().plusDays(7));
+        task.setAssignedEmployee(assignee);
+        return task;
+    }
+}
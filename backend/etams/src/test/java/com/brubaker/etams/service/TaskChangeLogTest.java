@@ -0,0 +1,227 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.EmployeeDTO;
+import com.brubaker.etams.dto.TaskChangesDTO;
+import com.brubaker.etams.dto.TaskDTO;
+import com.brubaker.etams.dto.TaskMapper;
+import com.brubaker.etams.entity.Employee;
+import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.entity.TaskStatus;
+import com.brubaker.etams.entity.TaskTombstone;
+import com.brubaker.etams.exception.SyncTokenExpiredException;
+import com.brubaker.etams.repository.EmployeeRepo;
+import com.brubaker.etams.repository.TaskRepo;
+import com.brubaker.etams.repository.TaskTombstoneRepo;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+
+import java.lang.reflect.Method;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link TaskChangeLog} against the database.
+ * Covers what a sync token returns after creates, updates and deletes, token expiry, and tombstone purging.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class TaskChangeLogTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    @Autowired
+    private TaskTombstoneRepo tombstoneRepo;
+
+    @Autowired
+    private EmployeeRepo employeeRepo;
+
+    private TaskChangeLog changeLog;
+    private Employee employee;
+    private Task unchanged;
+    private Task updated;
+    private Task deleted;
+
+    @BeforeEach
+    void setUp() {
+        changeLog = changeLog(Clock.systemUTC());
+
+        employee = ServiceFixture.employee("Sync", "User", "sync");
+        entityManager.persist(employee);
+
+        unchanged = persistTask("Unchanged", null);
+        updated = persistTask("Updated", null);
+        deleted = persistTask("Deleted", employee);
+        entityManager.flush();
+    }
+
+    /**
+     * Tests that a token returns only the tasks written after it, and the ids of the tasks deleted after it.
+     */
+    @Test
+    void changesSince_ReturnsChangesAfterToken() throws InterruptedException {
+        TaskChangesDTO initial = changeLog.changesSince(null);
+        assertEquals(List.of(), initial.getDeleted());
+        assertTrue(ids(initial).containsAll(List.of(unchanged.getId(), updated.getId(), deleted.getId())));
+
+        Thread.sleep(5);
+        Task created = persistTask("Created", null);
+        updated.setStatus(TaskStatus.COMPLETED);
+        taskRepo.delete(deleted);
+        changeLog.recordDeleted(List.of(deleted.getId()));
+        entityManager.flush();
+
+        TaskChangesDTO changes = changeLog.changesSince(initial.getNextToken());
+
+        assertEquals(List.of(created.getId(), updated.getId()), ids(changes));
+        assertEquals(List.of(deleted.getId()), changes.getDeleted());
+        assertNotNull(changes.getNextToken());
+    }
+
+    /**
+     * Tests that deleting an employee reports their tasks as changed, now unassigned.
+     */
+    @Test
+    void deleteEmployee_ReportsUnassignedTasks() throws InterruptedException {
+        EmployeeService employeeService = new ServiceFixture(taskRepo, employeeRepo).employeeService();
+        String token = changeLog.changesSince(null).getNextToken();
+
+        Thread.sleep(5);
+        employeeService.deleteEmployee(employee.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TaskDTO> changed = changeLog.changesSince(token).getChanged();
+        assertEquals(List.of(deleted.getId()), changed.stream().map(TaskDTO::getId).collect(Collectors.toList()));
+        assertNull(changed.get(0).getAssignedEmployeeId());
+    }
+
+    /**
+     * Tests that renaming an employee reports their tasks as changed, with the new name, and that other
+     * employee changes do not.
+     */
+    @Test
+    void updateEmployee_RenameReportsAssignedTasks() throws InterruptedException {
+        ServiceFixture services = new ServiceFixture(taskRepo, employeeRepo).withTaskCounts();
+        EmployeeService employeeService = services.employeeService();
+        EmployeeDTO update = new EmployeeDTO();
+        update.setFirstName("Sync");
+        update.setLastName("User");
+        update.setEmail("moved@example.com");
+        update.setUsername("sync");
+        update.setRole("Tester");
+        String token = changeLog.changesSince(null).getNextToken();
+
+        Thread.sleep(5);
+        employeeService.updateEmployee(employee.getId(), update);
+        entityManager.flush();
+        assertEquals(List.of(), changeLog.changesSince(token).getChanged());
+
+        update.setLastName("Renamed");
+        employeeService.updateEmployee(employee.getId(), update);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TaskDTO> changed = changeLog.changesSince(token).getChanged();
+        assertEquals(List.of(deleted.getId()), changed.stream().map(TaskDTO::getId).collect(Collectors.toList()));
+        assertEquals("Sync Renamed", changed.get(0).getAssignedEmployeeName());
+        verify(services.taskEvents).updatedAfterCommit(any(Task.class), eq(employee.getId()));
+    }
+
+    /**
+     * Tests that tokens older than the retention period, and malformed tokens, are rejected.
+     */
+    @Test
+    void changesSince_RejectsExpiredAndMalformedTokens() {
+        String token = changeLog.changesSince(null).getNextToken();
+
+        TaskChangeLog later = changeLog(Clock.offset(Clock.systemUTC(), Duration.ofDays(31)));
+        assertThrows(SyncTokenExpiredException.class, () -> later.changesSince(token));
+        assertThrows(IllegalArgumentException.class, () -> changeLog.changesSince("not-a-token"));
+    }
+
+    /**
+     * Tests that purging removes only tombstones past the retention period.
+     */
+    @Test
+    void purgeExpired_RemovesOnlyOldTombstones() {
+        Instant now = Instant.now();
+        tombstoneRepo.save(new TaskTombstone(1001, now.minus(Duration.ofDays(40))));
+        tombstoneRepo.save(new TaskTombstone(1002, now.minus(Duration.ofDays(1))));
+        entityManager.flush();
+
+        changeLog.purgeExpired();
+
+        assertEquals(List.of(1002), tombstoneRepo.findAll().stream().map(TaskTombstone::getTaskId).toList());
+    }
+
+    /**
+     * Tests that the grace period has to cover the write timeout, unless writes run without one.
+     */
+    @Test
+    void constructor_RejectsGraceShorterThanWriteTimeout() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TaskChangeLog(taskRepo, tombstoneRepo, new TaskMapper(), 3_999, 4, 30));
+        assertDoesNotThrow(() -> new TaskChangeLog(taskRepo, tombstoneRepo, new TaskMapper(), 4_000, 4, 30));
+        assertDoesNotThrow(() -> new TaskChangeLog(taskRepo, tombstoneRepo, new TaskMapper(), 0, -1, 30));
+    }
+
+    /**
+     * Tests that every task write, and the employee changes that stamp tasks, run with the write timeout
+     * the grace period is sized for.
+     */
+    @Test
+    void taskWrites_RunWithTheWriteTimeout() throws NoSuchMethodException {
+        AnnotationTransactionAttributeSource transactions = new AnnotationTransactionAttributeSource();
+        transactions.setEmbeddedValueResolver(new MockEnvironment().withProperty("tasks.sync.write-timeout-s", "7")
+                ::resolvePlaceholders);
+
+        int writes = 0;
+        for (Method method : TaskService.class.getMethods()) {
+            TransactionAttribute attribute = transactions.getTransactionAttribute(
+                    TaskServiceImpl.class.getMethod(method.getName(), method.getParameterTypes()), TaskServiceImpl.class);
+            if (attribute != null && !attribute.isReadOnly()) {
+                assertEquals(7, attribute.getTimeout(), method.getName());
+                writes++;
+            }
+        }
+        assertEquals(8, writes);
+        assertEquals(7, transactions.getTransactionAttribute(
+                EmployeeServiceImpl.class.getMethod("deleteEmployee", Integer.class), EmployeeServiceImpl.class).getTimeout());
+        assertEquals(7, transactions.getTransactionAttribute(
+                EmployeeServiceImpl.class.getMethod("updateEmployee", Integer.class, EmployeeDTO.class),
+                EmployeeServiceImpl.class).getTimeout());
+    }
+
+    private TaskChangeLog changeLog(Clock clock) {
+        return new TaskChangeLog(taskRepo, tombstoneRepo, new TaskMapper(), Duration.ZERO, Duration.ofDays(30), clock);
+    }
+
+    private Task persistTask(String title, Employee assignee) {
+        Task task = ServiceFixture.task(title, TaskStatus.PENDING, assignee);
+        entityManager.persist(task);
+        return task;
+    }
+
+    private static List<Integer> ids(TaskChangesDTO changes) {
+        return changes.getChanged().stream().map(TaskDTO::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,176 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.entity.Employee;
+import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.entity.TaskStatus;
+import com.brubaker.etams.repository.TaskRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link TaskCountMatrix} against the database.
+ * Covers loading, applying changes, and reconciliation of drifted counts.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class TaskCountMatrixTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CollectionVersion collectionVersion;
+    private TaskCountMatrix taskCounts;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        collectionVersion = new CollectionVersion();
+        taskCounts = new TaskCountMatrix(taskRepo, collectionVersion, meterRegistry);
+
+        employee = ServiceFixture.employee("Count", "User", "count");
+        entityManager.persist(employee);
+
+        persistTask(TaskStatus.PENDING, employee);
+        persistTask(TaskStatus.PENDING, employee);
+        persistTask(TaskStatus.COMPLETED, employee);
+        persistTask(TaskStatus.UNASSIGNED, null);
+        entityManager.flush();
+    }
+
+    /**
+     * Tests that loading counts tasks per assignee and status, including unassigned tasks.
+     */
+    @Test
+    void load_CountsByAssigneeAndStatus() {
+        String emptyETag = collectionVersion.eTag();
+        taskCounts.load();
+
+        // Employee listings cached against the empty matrix must not be revalidated
+        assertNotEquals(emptyETag, collectionVersion.eTag());
+
+        Map<TaskStatus, Long> counts = taskCounts.countsFor(employee.getId());
+        assertEquals(2L, counts.get(TaskStatus.PENDING));
+        assertEquals(0L, counts.get(TaskStatus.IN_PROGRESS));
+        assertEquals(1L, counts.get(TaskStatus.COMPLETED));
+        assertEquals(1L, taskCounts.countsFor(null).get(TaskStatus.UNASSIGNED));
+        assertEquals(0L, taskCounts.countsFor(-1).get(TaskStatus.PENDING));
+        assertEquals(2L, taskCounts.totals().get(TaskStatus.PENDING));
+    }
+
+    /**
+     * Tests that a status or assignee change moves the task between cells.
+     */
+    @Test
+    void changedAfterCommit_MovesTaskBetweenCells() {
+        taskCounts.load();
+        // Outside a transaction the changes apply immediately
+        TestTransaction.end();
+        Task task = new Task();
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        taskCounts.createdAfterCommit(task);
+
+        task.setAssignedEmployee(employee);
+        taskCounts.changedAfterCommit(task, TaskStatus.IN_PROGRESS, null);
+        task.setStatus(TaskStatus.COMPLETED);
+        taskCounts.changedAfterCommit(task, TaskStatus.IN_PROGRESS, employee.getId());
+
+        assertEquals(0L, taskCounts.countsFor(null).get(TaskStatus.IN_PROGRESS));
+        assertEquals(0L, taskCounts.countsFor(employee.getId()).get(TaskStatus.IN_PROGRESS));
+        assertEquals(2L, taskCounts.countsFor(employee.getId()).get(TaskStatus.COMPLETED));
+
+        taskCounts.deletedAfterCommit(task);
+        assertEquals(1L, taskCounts.countsFor(employee.getId()).get(TaskStatus.COMPLETED));
+    }
+
+    /**
+     * Tests that reconciliation corrects drifted cells and reports the difference.
+     */
+    @Test
+    void reconcile_CorrectsDrift() {
+        taskCounts.load();
+        taskCounts.add(employee.getId(), TaskStatus.PENDING, 3);
+        taskCounts.add(null, TaskStatus.UNASSIGNED, -1);
+
+        String driftedETag = collectionVersion.eTag();
+        taskCounts.reconcile();
+
+        assertNotEquals(driftedETag, collectionVersion.eTag());
+        assertEquals(2L, taskCounts.countsFor(employee.getId()).get(TaskStatus.PENDING));
+        assertEquals(1L, taskCounts.countsFor(null).get(TaskStatus.UNASSIGNED));
+        assertEquals(4.0, meterRegistry.get("tasks.counts.drift").gauge().value());
+        assertEquals(1.0, meterRegistry.get("tasks.counts.reconciliations").tag("result", "corrected").counter().count());
+
+        String correctedETag = collectionVersion.eTag();
+        taskCounts.reconcile();
+
+        assertEquals(correctedETag, collectionVersion.eTag());
+        assertEquals(0.0, meterRegistry.get("tasks.counts.drift").gauge().value());
+        assertEquals(1.0, meterRegistry.get("tasks.counts.reconciliations").tag("result", "consistent").counter().count());
+    }
+
+    /**
+     * Tests that a reconciliation during which a change is applied corrects nothing, keeps the change, and
+     * reports no drift.
+     */
+    @Test
+    void reconcile_ChangeDuringQuery_Skips() {
+        SimpleMeterRegistry racingRegistry = new SimpleMeterRegistry();
+        TaskRepo racingRepo = mock(TaskRepo.class);
+        TaskCountMatrix racingCounts = new TaskCountMatrix(racingRepo, collectionVersion, racingRegistry);
+        when(racingRepo.countGroupedByAssigneeAndStatus())
+                .thenAnswer(invocation -> taskRepo.countGroupedByAssigneeAndStatus())
+                .thenAnswer(invocation -> {
+                    // A task created by another request commits while the query runs
+                    racingCounts.add(employee.getId(), TaskStatus.IN_PROGRESS, 1);
+                    return taskRepo.countGroupedByAssigneeAndStatus();
+                });
+        racingCounts.load();
+
+        racingCounts.reconcile();
+
+        assertEquals(1L, racingCounts.countsFor(employee.getId()).get(TaskStatus.IN_PROGRESS));
+        assertEquals(2L, racingCounts.countsFor(employee.getId()).get(TaskStatus.PENDING));
+        assertEquals(0.0, racingRegistry.get("tasks.counts.drift").gauge().value());
+        assertEquals(1.0, racingRegistry.get("tasks.counts.reconciliations").tag("result", "skipped").counter().count());
+    }
+
+    /**
+     * Tests that a deleted employee's row is dropped once their tasks have been moved out.
+     */
+    @Test
+    void removedAfterCommit_DropsEmployeeRow() {
+        taskCounts.load();
+        TestTransaction.end();
+
+        taskCounts.add(employee.getId(), TaskStatus.PENDING, -2);
+        taskCounts.add(employee.getId(), TaskStatus.COMPLETED, -1);
+        taskCounts.removedAfterCommit(employee.getId());
+
+        assertEquals(0L, taskCounts.countsFor(employee.getId()).get(TaskStatus.PENDING));
+        assertEquals(0L, taskCounts.totals().get(TaskStatus.COMPLETED));
+        assertFalse(taskCounts.hasRow(employee.getId()));
+    }
+
+    private Task persistTask(TaskStatus status, Employee assignee) {
+        Task task = ServiceFixture.task("Task " + status, status, assignee);
+        entityManager.persist(task);
+        return task;
+    }
+}
@@ -0,0 +1,243 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.TaskMapper;
+import com.brubaker.etams.entity.Employee;
+import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.entity.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link TaskEventBroadcaster} class.
+ * Covers per-employee filtering, reassignment, slow-consumer and stalled-writer disconnection and the
+ * subscriber limit.
+ */
+class TaskEventBroadcasterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskEventBroadcaster broadcaster;
+    private RecordingEmitter nextEmitter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        broadcaster = newBroadcaster(16, 3, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.close();
+    }
+
+    /**
+     * Tests that admins see every change and employees only changes to their own tasks.
+     */
+    @Test
+    void publish_FiltersByAssignee() throws InterruptedException {
+        RecordingEmitter admin = subscribe(null);
+        RecordingEmitter alice = subscribe(1);
+        RecordingEmitter bob = subscribe(2);
+
+        broadcaster.createdAfterCommit(task(10, employee(1, "Alice")));
+        broadcaster.createdAfterCommit(task(11, employee(2, "Bob")));
+        broadcaster.deletedAfterCommit(10, 1);
+
+        awaitTrue(() -> admin.events.size() == 4 && alice.events.size() == 3 && bob.events.size() == 2);
+        assertTrue(admin.events.get(1).contains("event:created") && admin.events.get(1).contains("\"id\":10"));
+        assertTrue(admin.events.get(2).contains("\"id\":11"));
+        assertTrue(alice.events.get(1).contains("\"assignedEmployeeName\":\"Alice Smith\""));
+        assertTrue(alice.events.get(2).contains("event:deleted") && alice.events.get(2).contains("\"id\":10"));
+        assertTrue(bob.events.get(1).contains("\"id\":11"));
+    }
+
+    /**
+     * Tests that reassigning a task sends it to the new assignee and a deletion to the previous one.
+     */
+    @Test
+    void updated_ReassignmentRemovesTaskFromPreviousAssignee() throws InterruptedException {
+        RecordingEmitter alice = subscribe(1);
+        RecordingEmitter bob = subscribe(2);
+
+        broadcaster.updatedAfterCommit(task(10, employee(2, "Bob")), 1);
+
+        awaitTrue(() -> alice.events.size() == 2 && bob.events.size() == 2);
+        assertTrue(alice.events.get(1).contains("event:deleted") && !alice.events.get(1).contains("Bob"));
+        assertTrue(bob.events.get(1).contains("event:updated") && bob.events.get(1).contains("\"id\":10"));
+    }
+
+    /**
+     * Tests that an update carries the task's version, so a client can send it back with its next edit.
+     */
+    @Test
+    void updated_CarriesVersion() throws InterruptedException {
+        RecordingEmitter admin = subscribe(null);
+        Task task = task(10, null);
+        ReflectionTestUtils.setField(task, "version", 3L);
+
+        broadcaster.updatedAfterCommit(task, null);
+
+        awaitTrue(() -> admin.events.size() == 2);
+        assertTrue(admin.events.get(1).contains("\"version\":3"), admin.events.get(1));
+    }
+
+    /**
+     * Tests that a subscriber whose buffer overflows is disconnected without holding up the others.
+     */
+    @Test
+    void publish_DisconnectsSlowConsumer() throws InterruptedException {
+        broadcaster.close();
+        broadcaster = newBroadcaster(4, 3, 60_000);
+
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter slow = subscribe(null);
+        slow.blockUntil = unblock;
+        RecordingEmitter fast = subscribe(null);
+
+        // The slow client holds one event in flight and four buffered; the sixth overflows its buffer
+        for (int i = 0; i < 6; i++) {
+            broadcaster.createdAfterCommit(task(i, null));
+            int delivered = i + 2;
+            awaitTrue(() -> fast.events.size() == delivered);
+        }
+
+        awaitTrue(() -> broadcaster.subscriberCount() == 1);
+        assertEquals(1.0, meterRegistry.get("tasks.stream.dropped").tag("reason", "slow").counter().count());
+
+        unblock.countDown();
+        awaitTrue(() -> slow.completed);
+        assertFalse(fast.completed);
+    }
+
+    /**
+     * Tests that clients which never read hold up no one else, and are disconnected once their write stalls.
+     */
+    @Test
+    void publish_DisconnectsStalledWriterWithoutHoldingUpOthers() throws InterruptedException {
+        broadcaster.close();
+        broadcaster = newBroadcaster(64, 8, 200);
+
+        CountDownLatch never = new CountDownLatch(1);
+        List<RecordingEmitter> stalled = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            RecordingEmitter emitter = subscribe(null);
+            emitter.blockUntil = never;
+            stalled.add(emitter);
+        }
+        RecordingEmitter healthy = subscribe(null);
+        RecordingEmitter alice = subscribe(1);
+
+        for (int i = 0; i < 20; i++) {
+            broadcaster.createdAfterCommit(task(i, employee(1, "Alice")));
+        }
+        awaitTrue(() -> healthy.events.size() == 21 && alice.events.size() == 21);
+
+        awaitTrue(() -> broadcaster.subscriberCount() == 2);
+        assertEquals(4.0, meterRegistry.get("tasks.stream.dropped").tag("reason", "stalled").counter().count());
+        for (RecordingEmitter emitter : stalled) {
+            awaitTrue(() -> emitter.completed);
+        }
+        assertFalse(healthy.completed || alice.completed);
+    }
+
+    /**
+     * Tests that subscriptions beyond the limit are rejected.
+     */
+    @Test
+    void subscribe_RejectsBeyondLimit() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            subscribe(i);
+        }
+        assertThrows(RejectedExecutionException.class, () -> broadcaster.subscribe(3));
+        assertEquals(3.0, meterRegistry.get("tasks.stream.subscribers").gauge().value());
+    }
+
+    private TaskEventBroadcaster newBroadcaster(int bufferSize, int maxSubscribers, long writeTimeoutMs) {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        return new TaskEventBroadcaster(new TaskMapper(), objectMapper, meterRegistry, bufferSize, maxSubscribers,
+                writeTimeoutMs, 60_000, () -> nextEmitter);
+    }
+
+    /**
+     * Subscribes and waits for the initial comment, so later events are the only ones still in flight.
+     */
+    private RecordingEmitter subscribe(Integer employeeId) throws InterruptedException {
+        RecordingEmitter emitter = new RecordingEmitter();
+        nextEmitter = emitter;
+        assertSame(emitter, broadcaster.subscribe(employeeId));
+        awaitTrue(() -> emitter.events.size() == 1);
+        return emitter;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for delivery");
+            Thread.sleep(5);
+        }
+    }
+
+    private static Task task(int id, Employee assignee) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setStatus(TaskStatus.PENDING);
+        task.setDeadline(LocalDate.of(2030, 1, 1));
+        task.setAssignedEmployee(assignee);
+        return task;
+    }
+
+    private static Employee employee(int id, String firstName) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setFirstName(firstName);
+        employee.setLastName("Smith");
+        return employee;
+    }
+
+    /**
+     * Emitter that records what would be written to the response, optionally blocking each write until released.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+        volatile CountDownLatch blockUntil;
+        volatile boolean completed;
+
+        @Override
+        public void send(Set<DataWithMediaType> items) {
+            CountDownLatch latch = blockUntil;
+            if (latch != null) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
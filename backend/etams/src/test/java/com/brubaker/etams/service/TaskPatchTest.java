@@ -0,0 +1,169 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.TaskDTO;
+import com.brubaker.etams.dto.TaskPatchDTO;
+import com.brubaker.etams.entity.Employee;
+import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.entity.TaskStatus;
+import com.brubaker.etams.repository.EmployeeRepo;
+import com.brubaker.etams.repository.TaskRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Tests for {@link TaskServiceImpl#patchTask(Integer, TaskPatchDTO)} against the database.
+ * Covers which fields a patch changes, the statements a status change costs, and version conflicts.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class TaskPatchTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    @Autowired
+    private EmployeeRepo employeeRepo;
+
+    private ServiceFixture services;
+    private TaskService taskService;
+    private Statistics statistics;
+    private Employee employee;
+    private Integer taskId;
+
+    @BeforeEach
+    void setUp() {
+        services = new ServiceFixture(taskRepo, employeeRepo);
+        taskService = services.taskService();
+
+        employee = ServiceFixture.employee("Patch", "User", "patch");
+        entityManager.persist(employee);
+
+        Task task = ServiceFixture.task("Original", TaskStatus.PENDING, employee);
+        task.setDescription("Description");
+        entityManager.persist(task);
+        taskId = task.getId();
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Tests that a status change on an assigned task is one SELECT and one UPDATE, leaves the other fields alone
+     * and bumps the version. The assignee's name comes with the task, so the response needs no further query.
+     */
+    @Test
+    void patchTask_StatusOnly_SelectsAndUpdatesOnce() {
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setStatus("IN_PROGRESS");
+        patch.setVersion(0L);
+
+        TaskDTO patched = taskService.patchTask(taskId, patch);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityUpdateCount());
+        assertEquals("IN_PROGRESS", patched.getStatus());
+        assertEquals("Original", patched.getTitle());
+        assertEquals("Description", patched.getDescription());
+        assertNotNull(patched.getDeadline());
+        assertEquals("Patch User", patched.getAssignedEmployeeName());
+        assertEquals(1L, patched.getVersion());
+    }
+
+    /**
+     * Tests that a patch without fields returns the task unchanged, without an UPDATE or any published change.
+     */
+    @Test
+    void patchTask_NoFields_ChangesNothing() {
+        String eTag = services.collectionVersion.eTag();
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setVersion(0L);
+
+        TaskDTO patched = taskService.patchTask(taskId, patch);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+        assertEquals(0L, patched.getVersion());
+        assertEquals("Patch User", patched.getAssignedEmployeeName());
+        assertEquals(eTag, services.collectionVersion.eTag());
+        verifyNoInteractions(services.taskEvents, services.statusJournal, services.taskCounts());
+    }
+
+    /**
+     * Tests that a field sent as null is cleared and fields left out are kept.
+     */
+    @Test
+    void patchTask_ClearsNullFieldsAndKeepsMissingOnes() {
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setDeadline(null);
+        patch.setAssignedEmployeeId(null);
+
+        taskService.patchTask(taskId, patch);
+        entityManager.clear();
+
+        Task task = taskRepo.findById(taskId).orElseThrow();
+        assertNull(task.getDeadline());
+        assertNull(task.getAssignedEmployee());
+        assertEquals("Description", task.getDescription());
+        assertEquals("Original", task.getTitle());
+    }
+
+    /**
+     * Tests that a patch based on an older version is rejected and changes nothing.
+     */
+    @Test
+    void patchTask_StaleVersion_Conflicts() {
+        TaskPatchDTO first = new TaskPatchDTO();
+        first.setTitle("First writer");
+        first.setVersion(0L);
+        taskService.patchTask(taskId, first);
+
+        TaskPatchDTO second = new TaskPatchDTO();
+        second.setTitle("Second writer");
+        second.setVersion(0L);
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskService.patchTask(taskId, second));
+
+        entityManager.clear();
+        assertEquals("First writer", taskRepo.findById(taskId).orElseThrow().getTitle());
+    }
+
+    /**
+     * Tests that an unknown assignee is reported as such, while any other violation in the same update
+     * surfaces as itself.
+     */
+    @Test
+    void patchTask_ReportsOnlyMissingAssigneeAsEmployeeNotFound() {
+        TaskPatchDTO unknownAssignee = new TaskPatchDTO();
+        unknownAssignee.setAssignedEmployeeId(employee.getId() + 1000);
+        RuntimeException notFound = assertThrows(RuntimeException.class,
+                () -> taskService.patchTask(taskId, unknownAssignee));
+        assertEquals("Employee not found", notFound.getMessage());
+        entityManager.clear();
+
+        TaskPatchDTO tooLong = new TaskPatchDTO();
+        tooLong.setTitle("x".repeat(101));
+        tooLong.setAssignedEmployeeId(employee.getId());
+        assertThrows(DataIntegrityViolationException.class, () -> taskService.patchTask(taskId, tooLong));
+    }
+}
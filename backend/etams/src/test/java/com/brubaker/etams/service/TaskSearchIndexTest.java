@@ -0,0 +1,83 @@
+package com.brubaker.etams.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link TaskSearchIndex} class.
+ * Covers tokenization, prefix matching, ranking and incremental updates.
+ */
+class TaskSearchIndexTest {
+
+    private TaskSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TaskSearchIndex(null);
+        index.index(1, "Prepare Financial Report", "Generate financial reports for the past quarter.");
+        index.index(2, "Analyze Sales Data", "Identify sales trends and opportunities for improvement.");
+        index.index(3, "Update Company Policies", "Review the financial policy and résumé templates.");
+    }
+
+    /**
+     * Tests that text is lowercased, stripped of accents and split on punctuation.
+     */
+    @Test
+    void tokenize_NormalizesText() {
+        assertEquals(List.of("resume", "q3", "report"), TaskSearchIndex.tokenize("Résumé, Q3-REPORT!"));
+        assertTrue(TaskSearchIndex.tokenize("  ").isEmpty());
+        assertTrue(TaskSearchIndex.tokenize(null).isEmpty());
+    }
+
+    /**
+     * Tests that title matches outrank description-only matches.
+     */
+    @Test
+    void search_RanksTitleMatchesFirst() {
+        TaskSearchIndex.Hits hits = index.search("financial", 0, 10);
+
+        assertEquals(2, hits.total());
+        assertEquals(List.of(1, 3), hits.ids());
+    }
+
+    /**
+     * Tests prefix matching and that every query word must match.
+     */
+    @Test
+    void search_MatchesPrefixesAndRequiresAllWords() {
+        assertEquals(List.of(1, 3), index.search("financ", 0, 10).ids());
+        assertEquals(List.of(3), index.search("financ polic", 0, 10).ids());
+        assertEquals(List.of(3), index.search("RESUME", 0, 10).ids());
+        assertEquals(0, index.search("financial sales", 0, 10).total());
+        // Single characters only match whole terms
+        assertEquals(0, index.search("f", 0, 10).total());
+    }
+
+    /**
+     * Tests that paging returns the requested slice while reporting the full total.
+     */
+    @Test
+    void search_Paginates() {
+        TaskSearchIndex.Hits hits = index.search("for", 1, 1);
+
+        assertEquals(2, hits.total());
+        assertEquals(1, hits.ids().size());
+    }
+
+    /**
+     * Tests that reindexing replaces a task's terms and removal drops them.
+     */
+    @Test
+    void indexAndRemove_UpdateResults() {
+        index.index(2, "Quarterly financial forecast", null);
+        assertEquals(0, index.search("sales", 0, 10).total());
+        assertTrue(index.search("financial", 0, 10).ids().contains(2));
+
+        index.remove(1);
+        assertFalse(index.search("financial", 0, 10).ids().contains(1));
+    }
+}
@@ -0,0 +1,182 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.BulkTaskResultDTO;
+import com.brubaker.etams.dto.TaskDTO;
+import com.brubaker.etams.entity.Employee;
+import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.entity.TaskStatus;
+import com.brubaker.etams.repository.EmployeeRepo;
+import com.brubaker.etams.repository.TaskRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bulk task operations in {@link TaskServiceImpl}.
+ * Checks per-item results and that statement counts depend on the batch size, not the number of tasks.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class TaskServiceBulkTest {
+
+    private static final int TASK_COUNT = 120;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TaskRepo taskRepo;
+
+    @Autowired
+    private EmployeeRepo employeeRepo;
+
+    private TaskService taskService;
+    private Statistics statistics;
+    private List<Employee> employees;
+
+    @BeforeEach
+    void setUp() {
+        taskService = new ServiceFixture(taskRepo, employeeRepo).taskService();
+
+        employees = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Employee employee = ServiceFixture.employee("First" + i, "Last" + i, "user" + i);
+            entityManager.persist(employee);
+            employees.add(employee);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * Tests that valid items are created in batches while invalid ones are reported individually.
+     */
+    @Test
+    void createTasks_BatchesInsertsAndReportsInvalidItems() {
+        List<TaskDTO> request = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            request.add(newTaskDTO("Task " + i, employees.get(i % employees.size()).getId()));
+        }
+        request.add(newTaskDTO(" ", null));
+        request.add(newTaskDTO("Unknown assignee", -1));
+
+        List<BulkTaskResultDTO> results = taskService.createTasks(request);
+
+        assertEquals(TASK_COUNT + 2, results.size());
+        for (int i = 0; i < TASK_COUNT; i++) {
+            BulkTaskResultDTO result = results.get(i);
+            assertEquals(i, result.getIndex());
+            assertTrue(result.isSuccess());
+            assertNotNull(result.getId());
+            assertEquals("First" + (i % employees.size()) + " Last" + (i % employees.size()),
+                    result.getTask().getAssignedEmployeeName());
+        }
+        assertFalse(results.get(TASK_COUNT).isSuccess());
+        assertEquals("Title must not be blank", results.get(TASK_COUNT).getError());
+        assertEquals("Employee not found", results.get(TASK_COUNT + 1).getError());
+
+        // 1 assignee IN query + a few sequence calls + 3 insert batches, instead of 1 lookup and 1 insert per task
+        assertTrue(statistics.getPrepareStatementCount() <= 8,
+                "Statements: " + statistics.getPrepareStatementCount());
+        assertEquals(TASK_COUNT, statistics.getEntityInsertCount());
+        assertEquals(TASK_COUNT, taskRepo.count());
+    }
+
+    /**
+     * Tests that updates load every task with one query and leave rejected items unchanged.
+     */
+    @Test
+    void updateTasks_UpdatesValidItemsOnly() {
+        List<Integer> ids = createTasks(TASK_COUNT);
+
+        List<TaskDTO> request = new ArrayList<>();
+        for (Integer id : ids) {
+            TaskDTO taskDTO = newTaskDTO("Renamed " + id, employees.get(0).getId());
+            taskDTO.setId(id);
+            taskDTO.setStatus("IN_PROGRESS");
+            request.add(taskDTO);
+        }
+        TaskDTO missing = newTaskDTO("Missing", null);
+        missing.setId(-1);
+        request.add(missing);
+        TaskDTO invalid = newTaskDTO("Bad status", null);
+        invalid.setId(ids.get(0));
+        invalid.setStatus("NOT_A_STATUS");
+        request.add(invalid);
+        statistics.clear();
+
+        List<BulkTaskResultDTO> results = taskService.updateTasks(request);
+
+        assertTrue(results.subList(0, TASK_COUNT).stream().allMatch(BulkTaskResultDTO::isSuccess));
+        assertEquals("Task not found", results.get(TASK_COUNT).getError());
+        assertEquals("Invalid status: NOT_A_STATUS", results.get(TASK_COUNT + 1).getError());
+        assertEquals(TASK_COUNT, statistics.getEntityUpdateCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 5,
+                "Statements: " + statistics.getPrepareStatementCount());
+
+        entityManager.clear();
+        Task first = taskRepo.findById(ids.get(0)).orElseThrow();
+        assertEquals("Renamed " + ids.get(0), first.getTitle());
+        assertEquals(TaskStatus.IN_PROGRESS, first.getStatus());
+    }
+
+    /**
+     * Tests bulk status changes and deletes, including unknown ids.
+     */
+    @Test
+    void changeStatusAndDelete_ReportUnknownIds() {
+        List<Integer> ids = createTasks(3);
+        List<Integer> request = List.of(ids.get(0), ids.get(1), -1);
+
+        List<BulkTaskResultDTO> changed = taskService.changeTaskStatus(request, "completed");
+        assertTrue(changed.get(0).isSuccess());
+        assertEquals("COMPLETED", changed.get(1).getTask().getStatus());
+        assertEquals("Task not found", changed.get(2).getError());
+
+        List<BulkTaskResultDTO> deleted = taskService.deleteTasks(request);
+        assertTrue(deleted.get(0).isSuccess());
+        assertTrue(deleted.get(1).isSuccess());
+        assertFalse(deleted.get(2).isSuccess());
+        assertEquals(1, taskRepo.count());
+
+        assertThrows(IllegalArgumentException.class, () -> taskService.changeTaskStatus(request, "DONE"));
+        assertThrows(IllegalArgumentException.class, () -> taskService.deleteTasks(List.of()));
+    }
+
+    private List<Integer> createTasks(int count) {
+        List<TaskDTO> request = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            request.add(newTaskDTO("Task " + i, null));
+        }
+        List<Integer> ids = taskService.createTasks(request).stream().map(BulkTaskResultDTO::getId).toList();
+        entityManager.clear();
+        return ids;
+    }
+
+    private TaskDTO newTaskDTO(String title, Integer assignedEmployeeId) {
+        TaskDTO taskDTO = new TaskDTO();
+        taskDTO.setTitle(title);
+        taskDTO.setStatus(assignedEmployeeId != null ? "PENDING" : "UNASSIGNED");
+        taskDTO.setDeadline(LocalDate.now().plusDays(7));
+        taskDTO.setAssignedEmployeeId(assignedEmployeeId);
+        return taskDTO;
+    }
+}
@@ -1,5 +1,6 @@
 package com.brubaker.etams.service;
 
+import com.brubaker.etams.dto.CompactTaskListDTO;
 import com.brubaker.etams.dto.TaskDTO;
 import com.brubaker.etams.dto.TaskMapper;
 import com.brubaker.etams.entity.Employee;
@@ -7,15 +8,21 @@ import com.brubaker.etams.entity.Task;
 import com.brubaker.etams.entity.TaskStatus;
 import com.brubaker.etams.repository.EmployeeRepo;
 import com.brubaker.etams.repository.TaskRepo;
+import com.brubaker.etams.repository.TaskRow;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -38,10 +45,29 @@ class TaskServiceTest {
     @Mock
     private TaskMapper taskMapper;
 
+    @Mock
+    private TaskSearchIndex searchIndex;
+
+    @Mock
+    private CollectionVersion collectionVersion;
+
+    @Mock
+    private TaskEventBroadcaster taskEvents;
+
+    @Mock
+    private TaskChangeLog changeLog;
+
+    @Mock
+    private TaskStatusJournal statusJournal;
+
+    @Mock
+    private TaskCountMatrix taskCounts;
+
     @InjectMocks
-    private TaskService taskService;
+    private TaskServiceImpl taskService;
 
     private Task task;
+    private TaskRow taskRow;
     private TaskDTO taskDTO;
     private Employee employee;
 
@@ -57,6 +83,9 @@ class TaskServiceTest {
         task.setStatus(TaskStatus.PENDING);
         task.setDeadline(LocalDate.now().plusDays(5));
 
+        taskRow = new TaskRow(1, "Test Task", "This is a test task", TaskStatus.PENDING,
+                LocalDate.now().plusDays(5), null, null, null, null, null, 0L);
+
         taskDTO = new TaskDTO();
         taskDTO.setId(1);
         taskDTO.setTitle("Test Task");
@@ -75,18 +104,42 @@ class TaskServiceTest {
      */
     @Test
     void getAllTasks_Success() {
-        List<Task> taskList = List.of(task);
-        List<TaskDTO> taskDTOList = List.of(taskDTO);
+        List<TaskRow> taskList = List.of(taskRow);
 
-        when(taskRepo.findAll()).thenReturn(taskList);
-        when(taskMapper.toDTO(any(Task.class))).thenReturn(taskDTO);
+        when(taskRepo.findAllRows()).thenReturn(taskList);
+        when(taskMapper.toDTO(any(TaskRow.class))).thenReturn(taskDTO);
 
         List<TaskDTO> result = taskService.getAllTasks();
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(taskRepo, times(1)).findAll();
-        verify(taskMapper, times(1)).toDTO(any(Task.class));
+        verify(taskRepo, times(1)).findAllRows();
+        verify(taskRepo, never()).findAll();
+        verify(taskMapper, times(1)).toDTO(any(TaskRow.class));
+    }
+
+    /**
+     * Tests that the compact listing sends each assignee's name once and epoch-millisecond timestamps.
+     */
+    @Test
+    void getAllTasksCompact_SendsEachAssigneeOnce() {
+        Instant createdAt = Instant.parse("2025-01-01T00:00:00Z");
+        List<TaskRow> taskList = List.of(
+                new TaskRow(1, "First", null, TaskStatus.PENDING, null, 7, "John", "Doe", createdAt, null, 0L),
+                new TaskRow(2, "Second", null, TaskStatus.COMPLETED, null, 7, "John", "Doe", createdAt, null, 0L),
+                taskRow);
+
+        when(taskRepo.findAllRows()).thenReturn(taskList);
+        when(taskMapper.toCompactListDTO(taskList)).thenCallRealMethod();
+
+        CompactTaskListDTO result = taskService.getAllTasksCompact();
+
+        assertEquals(Map.of(7, "John Doe"), result.getEmployees());
+        assertEquals(3, result.getTasks().size());
+        assertEquals(7, result.getTasks().get(1).getAssignedEmployeeId());
+        assertEquals(createdAt.toEpochMilli(), result.getTasks().get(0).getCreatedAt());
+        assertNull(result.getTasks().get(2).getAssignedEmployeeId());
+        verify(taskRepo, times(1)).findAllRows();
     }
 
     /**
@@ -95,11 +148,10 @@ class TaskServiceTest {
     @Test
     void getTasksByEmployeeId_Success() {
         Integer employeeId = 1;
-        List<Task> assignedTasks = List.of(task);
-        List<TaskDTO> assignedTaskDTOs = List.of(taskDTO);
+        List<TaskRow> assignedTasks = List.of(taskRow);
 
-        when(taskRepo.findByAssignedEmployee_Id(employeeId)).thenReturn(assignedTasks);
-        when(taskMapper.toDTO(any(Task.class))).thenReturn(taskDTO);
+        when(taskRepo.findRowsByAssignedEmployeeId(employeeId)).thenReturn(assignedTasks);
+        when(taskMapper.toDTO(any(TaskRow.class))).thenReturn(taskDTO);
 
         List<TaskDTO> result = taskService.getTasksByEmployeeId(employeeId);
 
@@ -107,8 +159,8 @@ class TaskServiceTest {
         assertEquals(1, result.size());
         assertEquals("Test Task", result.get(0).getTitle());
 
-        verify(taskRepo, times(1)).findByAssignedEmployee_Id(employeeId);
-        verify(taskMapper, times(1)).toDTO(any(Task.class));
+        verify(taskRepo, times(1)).findRowsByAssignedEmployeeId(employeeId);
+        verify(taskMapper, times(1)).toDTO(any(TaskRow.class));
     }
 
     /**
@@ -126,6 +178,10 @@ class TaskServiceTest {
         assertEquals("Test Task", savedTask.getTitle());
         verify(taskRepo, times(1)).save(any(Task.class));
         verify(taskMapper, times(1)).toDTO(any(Task.class));
+        // The ETag version moves only after the counts it labels
+        InOrder afterCommit = inOrder(taskCounts, collectionVersion);
+        afterCommit.verify(taskCounts).createdAfterCommit(task);
+        afterCommit.verify(collectionVersion).changedAfterCommit();
     }
 
     /**
@@ -154,32 +210,54 @@ class TaskServiceTest {
     void updateTask_Success_WithAssignedEmployee() {
         taskDTO.setAssignedEmployeeId(1);
         when(taskRepo.findById(1)).thenReturn(Optional.of(task));
-        when(employeeRepo.findById(1)).thenReturn(Optional.of(employee));
+        when(employeeRepo.getReferenceById(1)).thenReturn(employee);
         when(taskRepo.save(any(Task.class))).thenReturn(task);
         when(taskMapper.toDTO(any(Task.class))).thenReturn(taskDTO);
 
         TaskDTO updatedTask = taskService.updateTask(1, taskDTO);
 
         assertNotNull(updatedTask);
-        verify(employeeRepo, times(1)).findById(1);
+        assertSame(employee, task.getAssignedEmployee());
+        verify(employeeRepo, times(1)).getReferenceById(1);
+        verify(employeeRepo, never()).findById(any());
         verify(taskRepo, times(1)).save(any(Task.class));
         verify(taskMapper, times(1)).toDTO(any(Task.class));
+        verify(statusJournal).changedAfterCommit(task, TaskStatus.PENDING, null);
+        InOrder afterCommit = inOrder(taskCounts, collectionVersion);
+        afterCommit.verify(taskCounts).changedAfterCommit(task, TaskStatus.PENDING, null);
+        afterCommit.verify(collectionVersion).changedAfterCommit();
     }
 
     /**
      * Tests updating a task when the assigned employee is not found.
+     * The assignee is bound by reference, so the missing employee is reported when the foreign key rejects the flush.
      */
     @Test
     void updateTask_ThrowsException_WhenAssignedEmployeeNotFound() {
         taskDTO.setAssignedEmployeeId(99);
         when(taskRepo.findById(1)).thenReturn(Optional.of(task));
-        when(employeeRepo.findById(99)).thenReturn(Optional.empty());
+        doThrow(new DataIntegrityViolationException("FK violation")).when(taskRepo).flush();
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
             taskService.updateTask(1, taskDTO);
         });
 
         assertEquals("Employee not found", exception.getMessage());
+        verify(taskMapper, never()).toDTO(any(Task.class));
+        verify(statusJournal, never()).changedAfterCommit(any(), any(), any());
+    }
+
+    /**
+     * Tests that an update based on an outdated version is rejected before anything is changed.
+     */
+    @Test
+    void updateTask_ThrowsConflict_WhenVersionIsStale() {
+        taskDTO.setVersion(3L);
+        when(taskRepo.findById(1)).thenReturn(Optional.of(task));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> taskService.updateTask(1, taskDTO));
+
+        assertEquals("Test Task", task.getTitle());
         verify(taskRepo, never()).save(any(Task.class));
     }
 
@@ -188,13 +266,18 @@ class TaskServiceTest {
      */
     @Test
     void deleteTask_Success() {
-        when(taskRepo.existsById(1)).thenReturn(true);
-        doNothing().when(taskRepo).deleteById(1);
+        task.setAssignedEmployee(employee);
+        when(taskRepo.findById(1)).thenReturn(Optional.of(task));
 
         assertDoesNotThrow(() -> taskService.deleteTask(1));
 
-        verify(taskRepo, times(1)).existsById(1);
-        verify(taskRepo, times(1)).deleteById(1);
+        verify(taskRepo, times(1)).findById(1);
+        verify(taskRepo, times(1)).delete(task);
+        verify(changeLog).recordDeleted(List.of(1));
+        verify(taskEvents).deletedAfterCommit(1, employee.getId());
+        InOrder afterCommit = inOrder(taskCounts, collectionVersion);
+        afterCommit.verify(taskCounts).deletedAfterCommit(task);
+        afterCommit.verify(collectionVersion).changedAfterCommit();
     }
 
     /**
@@ -202,13 +285,14 @@ class TaskServiceTest {
      */
     @Test
     void deleteTask_ThrowsException_WhenTaskNotFound() {
-        when(taskRepo.existsById(99)).thenReturn(false);
+        when(taskRepo.findById(99)).thenReturn(Optional.empty());
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> {
             taskService.deleteTask(99);
         });
 
         assertEquals("Task not found", exception.getMessage());
-        verify(taskRepo, never()).deleteById(anyInt());
+        verify(taskRepo, never()).delete(any(Task.class));
+        verifyNoInteractions(taskEvents, changeLog);
     }
 }
\ No newline at end of file
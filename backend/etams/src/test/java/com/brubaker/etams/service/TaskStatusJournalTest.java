@@ -0,0 +1,246 @@
+package com.brubaker.etams.service;
+
+import com.brubaker.etams.dto.TimeInStatusDTO;
+import com.brubaker.etams.entity.Employee;
+import com.brubaker.etams.entity.Task;
+import com.brubaker.etams.entity.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link TaskStatusJournal} class.
+ * Covers time-in-status queries, the segments they read, recovery after a restart with a torn record,
+ * rotation and compaction.
+ */
+class TaskStatusJournalTest {
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TaskStatusJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    /**
+     * Tests that time is split by status, attributed to the assignee and clipped to the range.
+     */
+    @Test
+    void timeInStatus_ByTaskEmployeeAndRange() throws InterruptedException {
+        journal = newJournal(1024, Duration.ofDays(30));
+        long start = now.get();
+        Task task = task(1, TaskStatus.PENDING, employee(7));
+        journal.createdAfterCommit(task);
+
+        now.addAndGet(100);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        journal.changedAfterCommit(task, TaskStatus.PENDING, 7);
+
+        now.addAndGet(150);
+        task.setStatus(TaskStatus.COMPLETED);
+        task.setAssignedEmployee(employee(8));
+        journal.changedAfterCommit(task, TaskStatus.IN_PROGRESS, 7);
+
+        // Neither status nor assignee changed: nothing is journaled
+        journal.changedAfterCommit(task, TaskStatus.COMPLETED, 8);
+        journal.createdAfterCommit(task(2, TaskStatus.UNASSIGNED, null));
+        now.addAndGet(150);
+        awaitTransitions(4);
+
+        assertEquals(Map.of("PENDING", 100L, "IN_PROGRESS", 150L, "COMPLETED", 150L, "UNASSIGNED", 0L),
+                journal.timeInStatus(1, null, null, null).getMillisInStatus());
+
+        TimeInStatusDTO employee = journal.timeInStatus(null, 7, null, null);
+        assertEquals(Map.of("PENDING", 100L, "IN_PROGRESS", 150L, "COMPLETED", 0L, "UNASSIGNED", 0L),
+                employee.getMillisInStatus());
+        assertEquals(1, employee.getTaskCount());
+
+        TimeInStatusDTO range = journal.timeInStatus(1, null, start + 50, start + 300);
+        assertEquals(Map.of("PENDING", 50L, "IN_PROGRESS", 150L, "COMPLETED", 50L, "UNASSIGNED", 0L),
+                range.getMillisInStatus());
+        assertEquals(2, range.getTransitionCount());
+    }
+
+    /**
+     * Tests that a bounded query reads only the sealed segments overlapping its range, and none without the task
+     * it asks for, while still counting the time of statuses entered before the range.
+     */
+    @Test
+    void timeInStatus_BoundedQuerySkipsUnrelatedSegments() throws InterruptedException {
+        journal = newJournal(2, Duration.ofDays(30));
+        long start = now.get();
+        Task first = task(1, TaskStatus.PENDING, employee(7));
+        Task second = task(2, TaskStatus.PENDING, null);
+        journal.createdAfterCommit(first);
+        journal.createdAfterCommit(second);
+
+        now.set(start + DAY);
+        first.setStatus(TaskStatus.IN_PROGRESS);
+        journal.changedAfterCommit(first, TaskStatus.PENDING, 7);
+        journal.createdAfterCommit(task(3, TaskStatus.PENDING, null));
+
+        now.set(start + 10 * DAY);
+        second.setStatus(TaskStatus.COMPLETED);
+        journal.changedAfterCommit(second, TaskStatus.PENDING, null);
+        now.set(start + 10 * DAY + 100);
+        first.setStatus(TaskStatus.COMPLETED);
+        journal.changedAfterCommit(first, TaskStatus.IN_PROGRESS, 7);
+
+        // Seals the third segment
+        now.set(start + 11 * DAY);
+        journal.createdAfterCommit(task(4, TaskStatus.PENDING, null));
+        now.set(start + 12 * DAY);
+        awaitTransitions(7);
+
+        double reads = segmentReads();
+        TimeInStatusDTO range = journal.timeInStatus(null, null, start + 10 * DAY, null);
+        assertEquals(Map.of("PENDING", 3 * DAY, "IN_PROGRESS", 100L, "COMPLETED", 4 * DAY - 100, "UNASSIGNED", 0L),
+                range.getMillisInStatus());
+        assertEquals(4, range.getTaskCount());
+        assertEquals(3, range.getTransitionCount());
+        // The first two segments end before the range
+        assertEquals(reads + 1, segmentReads());
+
+        TimeInStatusDTO third = journal.timeInStatus(3, null, start + 10 * DAY, null);
+        assertEquals(2 * DAY, third.getMillisInStatus().get("PENDING"));
+        assertEquals(reads + 1, segmentReads());
+    }
+
+    /**
+     * Tests that a deleted task stops accumulating time.
+     */
+    @Test
+    void timeInStatus_DeletionEndsLastStatus() throws InterruptedException {
+        journal = newJournal(1024, Duration.ofDays(30));
+        Task task = task(1, TaskStatus.PENDING, null);
+        journal.createdAfterCommit(task);
+        now.addAndGet(40);
+        journal.deletedAfterCommit(task);
+        now.addAndGet(1000);
+        awaitTransitions(2);
+
+        assertEquals(40L, journal.timeInStatus(1, null, null, null).getMillisInStatus().get("PENDING"));
+    }
+
+    /**
+     * Tests that a reopened journal keeps its records and writes over a record torn by a crash.
+     */
+    @Test
+    void reopen_SkipsTornRecordAndContinues() throws InterruptedException, IOException {
+        journal = newJournal(1024, Duration.ofDays(30));
+        Task task = task(1, TaskStatus.PENDING, null);
+        journal.createdAfterCommit(task);
+        now.addAndGet(10);
+        awaitTransitions(1);
+        journal.close();
+
+        // Half of a record, as if the process died while writing it
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x54, 0x53, 1, 2, 0, 0, 0, 9}), TaskStatusJournal.RECORD_SIZE);
+        }
+
+        journal = newJournal(1024, Duration.ofDays(30));
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        journal.changedAfterCommit(task, TaskStatus.PENDING, null);
+        now.addAndGet(20);
+        awaitTransitions(2);
+
+        Map<String, Long> millis = journal.timeInStatus(1, null, null, null).getMillisInStatus();
+        assertEquals(10L, millis.get("PENDING"));
+        assertEquals(20L, millis.get("IN_PROGRESS"));
+    }
+
+    /**
+     * Tests that full segments are sealed and trimmed, and that compaction drops expired segments and
+     * rewrites the one holding both expired and live records.
+     */
+    @Test
+    void compact_DropsAndRewritesExpiredSegments() throws InterruptedException, IOException {
+        journal = newJournal(2, Duration.ofDays(10));
+        long[] offsets = {0, 1, 5 * DAY, 12 * DAY, 13 * DAY};
+        long start = now.get();
+        for (int i = 0; i < offsets.length; i++) {
+            now.set(start + offsets[i]);
+            journal.createdAfterCommit(task(i + 1, TaskStatus.PENDING, null));
+            now.incrementAndGet();
+            awaitTransitions(i + 1);
+        }
+
+        List<Path> segments = segments();
+        assertEquals(3, segments.size());
+        assertEquals(2L * TaskStatusJournal.RECORD_SIZE, Files.size(segments.get(0)));
+
+        now.set(start + 16 * DAY);
+        journal.compact();
+
+        segments = segments();
+        assertEquals(2, segments.size());
+        assertEquals(TaskStatusJournal.RECORD_SIZE, Files.size(segments.get(0)));
+        assertEquals(2, journal.timeInStatus(null, null, null, null).getTaskCount());
+    }
+
+    private TaskStatusJournal newJournal(int segmentRecords, Duration retention) {
+        return new TaskStatusJournal(meterRegistry, directory, segmentRecords, Duration.ofDays(30), retention,
+                64, now::get);
+    }
+
+    private double segmentReads() {
+        return meterRegistry.get("tasks.journal.segment.reads").counter().count();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    /**
+     * Waits until the writer has made the given number of transitions durable.
+     * Queries end at the current time, so the clock must have moved past the last transition.
+     */
+    private void awaitTransitions(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (journal.timeInStatus(null, null, null, null).getTransitionCount() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for the journal writer");
+            Thread.sleep(5);
+        }
+    }
+
+    private static Task task(int id, TaskStatus status, Employee assignee) {
+        Task task = new Task();
+        task.setId(id);
+        task.setStatus(status);
+        task.setAssignedEmployee(assignee);
+        return task;
+    }
+
+    private static Employee employee(int id) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        return employee;
+    }
+}
@@ -32,7 +32,8 @@ CREATE TABLE `employees` (
     `role` VARCHAR(50) NOT NULL,
     `admin` BOOLEAN NOT NULL DEFAULT FALSE,
     `created_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    `updated_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    `updated_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX `idx_employees_last_name_id` (`last_name`, `employee_id`)
 ) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_general_ci;
 
 -- Drop and recreate the Tasks table
@@ -41,12 +42,23 @@ CREATE TABLE `tasks` (
     `task_id` INT AUTO_INCREMENT PRIMARY KEY,
     `title` VARCHAR(100) NOT NULL,
     `description` TEXT,
-    `status` ENUM('PENDING', 'IN_PROGRESS', 'COMPLETED', 'UNASSIGNED') DEFAULT 'UNASSIGNED',
+    -- Values in alphabetical order, as Hibernate declares them: the enum then sorts as its values compare,
+    -- which keyset pagination by status relies on. For a database created with the old order, run:
+    -- ALTER TABLE `tasks` MODIFY `status` ENUM('COMPLETED', 'IN_PROGRESS', 'PENDING', 'UNASSIGNED') DEFAULT 'UNASSIGNED';
+    `status` ENUM('COMPLETED', 'IN_PROGRESS', 'PENDING', 'UNASSIGNED') DEFAULT 'UNASSIGNED',
     `deadline` DATE,
     `assigned_employee_id` INT,
     `created_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     `updated_at` TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    FOREIGN KEY (`assigned_employee_id`) REFERENCES `employees`(`employee_id`) ON DELETE SET NULL
+    FOREIGN KEY (`assigned_employee_id`) REFERENCES `employees`(`employee_id`) ON DELETE SET NULL,
+    -- Keyset pagination indexes: (sort column, task_id)
+    INDEX `idx_tasks_deadline_id` (`deadline`, `task_id`),
+    INDEX `idx_tasks_status_id` (`status`, `task_id`),
+    INDEX `idx_tasks_updated_at_id` (`updated_at`, `task_id`),
+    -- Overdue report index: open statuses with a past deadline
+    INDEX `idx_tasks_status_deadline` (`status`, `deadline`, `task_id`),
+    -- Activity report index: created_at ranges streamed in order
+    INDEX `idx_tasks_created_at_id` (`created_at`, `task_id`)
 ) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_general_ci;
 
 -- Create a user for the ETAMS application
@@ -207,6 +219,10 @@ INSERT INTO `tasks` (title, description, status, deadline, assigned_employee_id,
 ('Run Marketing Campaign', 'Execute the marketing plan and track its effectiveness.', 'IN_PROGRESS', '2025-08-10', 16, '2025-07-20 09:20:00', '2025-07-25 11:10:00'),
 ('Analyze Campaign Results', 'Evaluate the performance of the marketing campaign.', 'PENDING', '2025-08-25', 16, '2025-08-10 15:50:00', NULL);
 
+-- Task ids come from Hibernate's pooled task_seq (allocation size 50). It is not created here: Hibernate creates
+-- it as a table with the MySQL dialect or as a sequence with MariaDB's, and the backend moves it past
+-- MAX(task_id) at startup (TaskSequenceInitializer), for this seed data and for existing databases alike.
+
 -- Data without updated_at and created_at
 -- INSERT INTO `Tasks` (title, description, status, deadline, assigned_employee_id) VALUES
 -- ('Refactor Authentication System', 'Improve security and performance.', 'IN_PROGRESS', '2025-03-10', 3),
@@ -9,5 +9,16 @@ export interface Employee {
     createdAt: string; // Matches `createdAt` (formatted as string)
     updatedAt: string; // Matches `updatedAt` (formatted as string)
     taskCount: number | null; // Matches `taskCount` (calculated by back-end)
+    pendingTaskCount?: number; // Matches `pendingTaskCount` (calculated by back-end)
+    inProgressTaskCount?: number; // Matches `inProgressTaskCount` (calculated by back-end)
+    completedTaskCount?: number; // Matches `completedTaskCount` (calculated by back-end)
     password?: string; // Optional for updates, matches `password` in DTO
-}
\ No newline at end of file
+}
+
+/**
+ * Minimal employee reference returned by the type-ahead lookup.
+ */
+export interface EmployeeLookup {
+    id: number;
+    displayName: string;
+}
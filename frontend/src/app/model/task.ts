@@ -13,4 +13,58 @@ export interface Task {
     assignedEmployeeName: string | null;
     createdAt: string; // Creation timestamp
     updatedAt: string; // Update timestamp
-}
\ No newline at end of file
+    version?: number; // Version read from the server; sent back so a concurrent change is rejected with 409
+}
+
+/**
+ * One keyset-paginated slice of tasks; nextCursor is null on the last slice.
+ */
+export interface TaskPage {
+    items: Task[];
+    nextCursor: string | null;
+}
+
+/**
+ * One page of ranked task search results; total counts matches across all pages.
+ */
+export interface TaskSearchResult {
+    items: Task[];
+    total: number;
+    page: number;
+    size: number;
+}
+
+/**
+ * Tasks changed and deleted since a sync token; without a token, changed is the full list.
+ * Send nextToken as since on the next request.
+ */
+export interface TaskChanges {
+    changed: Task[];
+    deleted: number[];
+    nextToken: string;
+}
+
+/**
+ * A task in the compact layout: assignee by id only, timestamps as epoch milliseconds.
+ */
+export interface CompactTask {
+    id: number;
+    title: string;
+    description?: string;
+    status: string;
+    deadline?: string;
+    assignedEmployeeId?: number;
+    createdAt?: number;
+    updatedAt?: number;
+    version?: number;
+}
+
+/**
+ * One change pushed on the task stream. Deleted events carry only the id.
+ */
+export interface TaskEvent {
+    type: 'created' | 'updated' | 'deleted';
+    id: number;
+    task?: CompactTask;
+    assignedEmployeeName?: string;
+}
@@ -1,7 +1,5 @@
 import { Component } from '@angular/core';
 import { MetricsService } from "../../services/metrics.service";
-import { EmployeeService } from "../../services/employee.service";
-import { TaskService } from "../../services/task.service";
 import { NgForOf } from "@angular/common";
 
 @Component({
@@ -22,9 +20,7 @@ export class DashboardComponent {
    * Constructor for initializing services.
    */
   constructor(
-      private metricsService: MetricsService,
-      private employeeService: EmployeeService,
-      private taskService: TaskService
+      private metricsService: MetricsService
   ) {}
 
   /**
@@ -35,19 +31,14 @@ export class DashboardComponent {
   }
 
   /**
-   * Loads employees and tasks data to calculate and set metrics.
+   * Loads the server-computed dashboard metrics.
    */
   loadMetrics(): void {
-    this.employeeService.getEmployees().subscribe({
-      next: (employees) => {
-        this.taskService.getTasks().subscribe({
-          next: (tasks) => {
-            this.metrics = this.metricsService.calculateDashboardMetrics(employees, tasks);
-          },
-          error: (error) => console.error('Error fetching tasks:', error),
-        });
+    this.metricsService.getDashboardMetrics().subscribe({
+      next: (metrics) => {
+        this.metrics = metrics;
       },
-      error: (error) => console.error('Error fetching employees:', error),
+      error: (error) => console.error('Error fetching dashboard metrics:', error),
     });
   }
 }
\ No newline at end of file
@@ -53,6 +53,10 @@ export class LoginComponent {
           this.errorMessage = "Incorrect username or password.";
         } else if (error.status === 404) {
           this.errorMessage = "User not found. Please check your username.";
+        } else if (error.status === 429) {
+          this.errorMessage = "Too many login attempts. Please wait a moment and try again.";
+        } else if (error.status === 503) {
+          this.errorMessage = "The server is busy. Please try again shortly.";
         } else if (error.status === 500) {
           this.errorMessage = "Something went wrong on our end. Please try again later.";
         } else {
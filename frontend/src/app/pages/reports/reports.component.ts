@@ -19,7 +19,6 @@ import { Task } from "../../model/task";
 export class ReportsComponent {
     title: string = 'Reports';
 
-    allTasks: Task[] = [];
     displayedTasks: Task[] = [];
 
     tableColumns = [
@@ -49,17 +48,6 @@ export class ReportsComponent {
 
     constructor(private taskService: TaskService) {}
 
-    ngOnInit(): void {
-        this.taskService.getTasks().subscribe({
-            next: (tasks) => {
-                this.allTasks = tasks;
-            },
-            error: (err) => {
-                console.error('Error fetching tasks', err);
-            }
-        });
-    }
-
     onReportGenerated(event: {
         type: 'overdue' | 'activity';
         startDate?: string;
@@ -74,32 +62,35 @@ export class ReportsComponent {
         } else {
             this.showActivityTasks(this.startDate, this.endDate);
         }
-
-        // After filtering, check if there's no data.
-        this.checkForNoData();
     }
 
+    /**
+     * Loads overdue tasks from the server-side report instead of filtering the full task list.
+     */
     private showOverdueTasks(): void {
-        const now = new Date();
-        this.displayedTasks = this.allTasks.filter(task => {
-            const deadlineDate = new Date(task.deadline);
-            const isOverdue = deadlineDate < now && task.status !== 'COMPLETED';
-            return isOverdue;
+        this.taskService.getOverdueTasks().subscribe({
+            next: (tasks) => {
+                this.displayedTasks = tasks;
+                this.checkForNoData();
+            },
+            error: (err) => {
+                console.error('Error fetching overdue tasks', err);
+            }
         });
     }
 
+    /**
+     * Loads the tasks created in the selected range from the server-side activity report.
+     */
     private showActivityTasks(start?: string, end?: string) {
-        if (!start && !end) {
-            this.displayedTasks = [...this.allTasks];
-            return;
-        }
-
-        const startDate = start ? new Date(start) : new Date(0);
-        const endDate   = end ? new Date(end) : new Date();
-
-        this.displayedTasks = this.allTasks.filter(task => {
-            const createdDate = new Date(task.createdAt);
-            return (createdDate >= startDate && createdDate <= endDate);
+        this.taskService.getActivityTasks(start, end).subscribe({
+            next: (tasks) => {
+                this.displayedTasks = tasks;
+                this.checkForNoData();
+            },
+            error: (err) => {
+                console.error('Error fetching activity report', err);
+            }
         });
     }
 
@@ -1,6 +1,10 @@
 import { ComponentFixture, TestBed } from '@angular/core/testing';
 
 import { TasksComponent } from './tasks.component';
+import { TaskService } from '../../services/task.service';
+import { MetricsService } from '../../services/metrics.service';
+import { AuthService } from '../../services/auth.service';
+import { TaskEvent } from '../../model/task';
 
 describe('TasksComponent', () => {
   let component: TasksComponent;
@@ -21,3 +25,35 @@ describe('TasksComponent', () => {
     expect(component).toBeTruthy();
   });
 });
+
+describe('TasksComponent task stream', () => {
+  let component: TasksComponent;
+
+  beforeEach(async () => {
+    await TestBed.configureTestingModule({
+      imports: [TasksComponent],
+      providers: [
+        { provide: TaskService, useValue: {} },
+        { provide: MetricsService, useValue: { calculateTaskMetrics: () => [] } },
+        { provide: AuthService, useValue: {} }
+      ]
+    })
+    .compileComponents();
+
+    component = TestBed.createComponent(TasksComponent).componentInstance;
+  });
+
+  it('should keep the version of a streamed update, so the next edit is checked for conflicts', () => {
+    component.tasks = [{
+      id: 1, title: 'Old', description: '', status: 'PENDING', deadline: '', assignedEmployee: null,
+      assignedEmployeeId: null, assignedEmployeeName: null, createdAt: '', updatedAt: '', version: 1
+    }];
+
+    const event: TaskEvent = { type: 'updated', id: 1, task: { id: 1, title: 'New', status: 'PENDING', version: 2 } };
+    (component as any).applyTaskEvent(event);
+
+    expect(component.tasks.length).toBe(1);
+    expect(component.tasks[0].title).toBe('New');
+    expect(component.tasks[0].version).toBe(2);
+  });
+});
@@ -1,8 +1,9 @@
-import { Component } from '@angular/core';
+import { Component, OnDestroy } from '@angular/core';
+import { Subscription } from 'rxjs';
 import { TableComponent } from '../../components/table/table.component';
 import { SubHeaderComponent } from '../../components/sub-header/sub-header.component';
 import { TaskService } from "../../services/task.service";
-import { Task } from '../../model/task';
+import { Task, TaskChanges, TaskEvent } from '../../model/task';
 import { MetricsService } from "../../services/metrics.service";
 import { TasksModalComponent } from "../../components/modal/tasks-modal/tasks-modal.component";
 import { AuthService } from "../../services/auth.service";
@@ -19,7 +20,7 @@ import { ConfirmModalComponent } from "../../components/modal/confirm-modal/conf
     templateUrl: './tasks.component.html',
     styleUrls: ['./tasks.component.css']
 })
-export class TasksComponent {
+export class TasksComponent implements OnDestroy {
     /** Page title */
     title: string = 'Tasks';
 
@@ -53,6 +54,15 @@ export class TasksComponent {
     /** Stores the task that is pending deletion */
     taskToDelete: Task | null = null;
 
+    /** The open stream of task changes pushed by the server */
+    private taskEvents: Subscription | null = null;
+
+    /** Token for the next delta sync of the admin list; null until the full list has been loaded */
+    private syncToken: string | null = null;
+
+    /** Pending reconnection after the stream ended */
+    private reconnectTimer: ReturnType<typeof setTimeout> | null = null;
+
     constructor(
         private taskService: TaskService,
         private metricsService: MetricsService,
@@ -64,15 +74,89 @@ export class TasksComponent {
      * - Determines if the user is an admin.
      * - Retrieves the user ID.
      * - Initializes table columns.
-     * - Fetches tasks from the backend.
+     * - Fetches tasks from the backend and keeps them current from the change stream.
      */
     ngOnInit(): void {
         this.isAdmin = this.authService.isAdmin();
         this.userId = this.authService.getEmployeeId();
         this.initializeTableColumns();
+        this.watchTasks();
+    }
+
+    /**
+     * Closes the change stream when leaving the page.
+     */
+    ngOnDestroy(): void {
+        this.taskEvents?.unsubscribe();
+        if (this.reconnectTimer) {
+            clearTimeout(this.reconnectTimer);
+        }
+    }
+
+    /**
+     * Opens the change stream, then loads the task list once.
+     * Changes made by anyone are applied as they arrive instead of refetching the list. If the stream
+     * ends or fails, changes may have been missed, so the list is synced again when it reconnects.
+     */
+    private watchTasks(): void {
+        this.reconnectTimer = null;
+        this.taskEvents?.unsubscribe();
+        this.taskEvents = this.taskService.streamTaskEvents().subscribe({
+            next: (event: TaskEvent) => this.applyTaskEvent(event),
+            error: (error) => {
+                console.error('Task stream interrupted:', error);
+                this.scheduleReconnect();
+            },
+            complete: () => this.scheduleReconnect()
+        });
         this.fetchTasks();
     }
 
+    private scheduleReconnect(): void {
+        if (!this.reconnectTimer) {
+            this.reconnectTimer = setTimeout(() => this.watchTasks(), 5000);
+        }
+    }
+
+    /**
+     * Applies one pushed change to the task list.
+     *
+     * @param {TaskEvent} event - The change.
+     */
+    private applyTaskEvent(event: TaskEvent): void {
+        if (event.type === 'deleted' || !event.task) {
+            this.tasks = this.tasks.filter((t) => t.id !== event.id);
+        } else {
+            const task = event.task;
+            this.upsertTask({
+                id: task.id,
+                title: task.title,
+                description: task.description ?? '',
+                status: task.status,
+                deadline: task.deadline ?? '',
+                assignedEmployee: null,
+                assignedEmployeeId: task.assignedEmployeeId ?? null,
+                assignedEmployeeName: event.assignedEmployeeName ?? null,
+                createdAt: task.createdAt ? new Date(task.createdAt).toISOString() : '',
+                updatedAt: task.updatedAt ? new Date(task.updatedAt).toISOString() : '',
+                version: task.version
+            });
+        }
+        this.calculateMetrics();
+    }
+
+    /**
+     * Replaces the task with the same id, or appends it. The stream may deliver a change
+     * before or after the response to the request that made it, so both paths go through here.
+     *
+     * @param {Task} task - The task to store.
+     */
+    private upsertTask(task: Task): void {
+        this.tasks = this.tasks.some((t) => t.id === task.id)
+            ? this.tasks.map((t) => t.id === task.id ? task : t)
+            : [...this.tasks, task];
+    }
+
     /**
      * Initializes table columns based on the user role.
      * - Admins see all task details.
@@ -98,17 +182,32 @@ export class TasksComponent {
 
     /**
      * Fetches tasks from the backend.
-     * - Admins retrieve all tasks.
+     * - Admins retrieve all tasks once, then only what changed since the previous fetch.
      * - Non-admin users retrieve only their assigned tasks.
      */
     fetchTasks(): void {
         if (this.isAdmin) {
-            this.taskService.getTasks().subscribe({
-                next: (tasks: Task[]) => {
-                    this.tasks = tasks;
+            this.taskService.getTaskChanges(this.syncToken).subscribe({
+                next: (changes: TaskChanges) => {
+                    if (this.syncToken === null) {
+                        this.tasks = changes.changed;
+                    } else {
+                        const deleted = new Set(changes.deleted);
+                        this.tasks = this.tasks.filter((t) => !deleted.has(t.id));
+                        changes.changed.forEach((task) => this.upsertTask(task));
+                    }
+                    this.syncToken = changes.nextToken;
                     this.calculateMetrics();
                 },
-                error: (error) => console.error('Error fetching tasks:', error)
+                error: (error) => {
+                    if (error.status === 410 && this.syncToken !== null) {
+                        // Too long since the last sync for the server to list deletions: reload everything
+                        this.syncToken = null;
+                        this.fetchTasks();
+                    } else {
+                        console.error('Error fetching tasks:', error);
+                    }
+                }
             });
         } else {
             const userId = this.authService.getEmployeeId();
@@ -185,7 +284,7 @@ export class TasksComponent {
         if (this.isNew) {
             this.taskService.saveTask(task).subscribe({
                 next: (newTask: Task) => {
-                    this.tasks = [...this.tasks, newTask];
+                    this.upsertTask(newTask);
                     this.calculateMetrics();
                     this.closeModal();
                 },
@@ -194,13 +293,20 @@ export class TasksComponent {
         } else {
             this.taskService.updateTask(task.id!, task).subscribe({
                 next: (updatedTask: Task) => {
-                    this.tasks = this.tasks.map((t) =>
-                        t.id === updatedTask.id ? updatedTask : t
-                    );
+                    this.upsertTask(updatedTask);
                     this.calculateMetrics();
                     this.closeModal();
                 },
-                error: (error) => console.error('Error updating task:', error)
+                error: (error) => {
+                    if (error.status === 409) {
+                        // Someone else changed the task since it was loaded: show their version instead
+                        console.warn('Task was changed by someone else; reloading:', error);
+                        this.closeModal();
+                        this.fetchTasks();
+                    } else {
+                        console.error('Error updating task:', error);
+                    }
+                }
             });
         }
     }
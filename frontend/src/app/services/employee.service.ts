@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from "@angular/common/http";
 import { Observable } from "rxjs";
-import { Employee } from '../model/employee';
+import { Employee, EmployeeLookup } from '../model/employee';
 import {environment} from "../../environments/environment";
 
 @Injectable({
@@ -17,6 +17,13 @@ export class EmployeeService {
         return this.http.get<Employee[]>(this.employeesUrl);
     }
 
+    // Look up employees whose name or username starts with the given prefix
+    lookupEmployees(prefix: string, limit: number = 10): Observable<EmployeeLookup[]> {
+        return this.http.get<EmployeeLookup[]>(`${this.employeesUrl}/lookup`, {
+            params: { prefix, limit }
+        });
+    }
+
     // Save a new employee
     saveEmployee(employee: Employee): Observable<Employee> {
         return this.http.post<Employee>(this.employeesUrl, employee);
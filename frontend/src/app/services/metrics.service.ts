@@ -241,14 +241,30 @@
 // }
 
 import {Injectable} from '@angular/core';
+import {HttpClient} from "@angular/common/http";
+import {map, Observable} from "rxjs";
 import {Task} from "../model/task";
 import {Employee} from "../model/employee";
+import {environment} from "../../environments/environment";
+
+/**
+ * Shape of the server-computed dashboard metrics returned by `/api/metrics/dashboard`.
+ */
+interface DashboardMetrics {
+    totalEmployees: number;
+    totalTasks: number;
+    statusCounts: { [status: string]: number };
+    unassignedTasks: number;
+    overdueTasks: number;
+}
 
 @Injectable({
     providedIn: 'root'
 })
 export class MetricsService {
-    constructor() {
+    private metricsUrl = `${environment.apiUrl}/metrics`;
+
+    constructor(private http: HttpClient) {
     }
 
     /**
@@ -292,33 +308,20 @@ export class MetricsService {
     }
 
     /**
-     * Calculates dashboard metrics for employees and tasks.
+     * Fetches the dashboard metrics, which are aggregated by the backend.
      *
-     * @param employees List of employees.
-     * @param tasks List of tasks.
      * @returns Combined metrics for the dashboard.
      */
-    calculateDashboardMetrics(employees: Employee[], tasks: Task[]): { label: string; value: number }[] {
-        const totalEmployees = employees.length;
-        const totalTasks = tasks.length;
-        const pendingTasks = tasks.filter(task => task.status === 'PENDING').length;
-        const inProgressTasks = tasks.filter(task => task.status === 'IN_PROGRESS').length;
-        const unassignedTasks = tasks.filter(task => task.status === 'UNASSIGNED').length;
-
-        const overdueTasks = tasks.filter(task => {
-            const deadline = new Date(task.deadline);
-            const today = new Date();
-            today.setHours(0, 0, 0, 0); // Start of today
-            return task.status !== 'COMPLETED' && deadline < today;
-        }).length;
-
-        return [
-            {label: 'Total Employees', value: totalEmployees},
-            {label: 'Total Tasks', value: totalTasks},
-            {label: 'Pending Tasks', value: pendingTasks},
-            {label: 'In Progress Tasks', value: inProgressTasks},
-            {label: 'Unassigned Tasks', value: unassignedTasks},
-            {label: 'Overdue Tasks', value: overdueTasks},
-        ];
+    getDashboardMetrics(): Observable<{ label: string; value: number }[]> {
+        return this.http.get<DashboardMetrics>(`${this.metricsUrl}/dashboard`).pipe(
+            map(metrics => [
+                {label: 'Total Employees', value: metrics.totalEmployees},
+                {label: 'Total Tasks', value: metrics.totalTasks},
+                {label: 'Pending Tasks', value: metrics.statusCounts['PENDING'] ?? 0},
+                {label: 'In Progress Tasks', value: metrics.statusCounts['IN_PROGRESS'] ?? 0},
+                {label: 'Unassigned Tasks', value: metrics.unassignedTasks},
+                {label: 'Overdue Tasks', value: metrics.overdueTasks},
+            ])
+        );
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from "@angular/common/http";
-import { Observable } from "rxjs";
-import { Task } from '../model/task';
+import { EMPTY, Observable, expand, map, reduce } from "rxjs";
+import { Task, TaskChanges, TaskEvent, TaskPage, TaskSearchResult } from '../model/task';
 import {environment} from "../../environments/environment";
 
 @Injectable({
@@ -9,6 +9,7 @@ import {environment} from "../../environments/environment";
 })
 export class TaskService {
     private tasksUrl = `${environment.apiUrl}/tasks`;
+    private reportsUrl = `${environment.apiUrl}/reports`;
 
     constructor(private http: HttpClient) {}
 
@@ -31,10 +32,133 @@ export class TaskService {
         return this.http.get<Task>(`${this.tasksUrl}/${id}`);
     }
 
+    /**
+     * Fetches all overdue tasks, computed by the backend, following page cursors until exhausted.
+     *
+     * @returns {Observable<Task[]>} An observable containing the overdue tasks, most overdue first.
+     */
+    getOverdueTasks(): Observable<Task[]> {
+        const fetchPage = (cursor: string | null) =>
+            this.http.get<TaskPage>(`${this.reportsUrl}/overdue`, {
+                params: cursor ? { cursor, limit: 500 } : { limit: 500 }
+            });
+
+        return fetchPage(null).pipe(
+            expand(page => page.nextCursor ? fetchPage(page.nextCursor) : EMPTY),
+            map(page => page.items),
+            reduce((all, items) => all.concat(items), [] as Task[])
+        );
+    }
+
+    /**
+     * Fetches the tasks created within a date range from the streamed activity report.
+     *
+     * @param from First creation date to include (YYYY-MM-DD), or empty for no lower bound.
+     * @param to Last creation date to include (YYYY-MM-DD), or empty for no upper bound.
+     * @returns {Observable<Task[]>} An observable containing the tasks, oldest first.
+     */
+    getActivityTasks(from?: string, to?: string): Observable<Task[]> {
+        const params: Record<string, string> = { format: 'ndjson' };
+        if (from) {
+            params['from'] = from;
+        }
+        if (to) {
+            params['to'] = to;
+        }
+
+        return this.http.get(`${this.reportsUrl}/activity`, { params, responseType: 'text' }).pipe(
+            map(body => body.split('\n')
+                .filter(line => line.trim().length > 0)
+                .map(line => JSON.parse(line) as Task))
+        );
+    }
+
+    /**
+     * Searches task titles and descriptions on the server.
+     *
+     * @param query The search text; words also match as prefixes.
+     * @param page The zero-based page number.
+     * @param size The number of results per page.
+     * @returns {Observable<TaskSearchResult>} An observable containing the ranked results.
+     */
+    searchTasks(query: string, page: number = 0, size: number = 50): Observable<TaskSearchResult> {
+        return this.http.get<TaskSearchResult>(`${this.tasksUrl}/search`, {
+            params: { q: query, page, size }
+        });
+    }
+
+    /**
+     * Fetches the tasks changed and deleted since a previous sync. The request fails with status 410
+     * when the token is too old; start again without one.
+     *
+     * @param since The nextToken of the previous response, or null for the full list.
+     * @returns {Observable<TaskChanges>} An observable containing the changes and the next token.
+     */
+    getTaskChanges(since: string | null): Observable<TaskChanges> {
+        return this.http.get<TaskChanges>(`${this.tasksUrl}/changes`, {
+            params: since ? { since } : {}
+        });
+    }
+
     getTasksByUser(employeeId: number): Observable<Task[]> {
         return this.http.get<Task[]>(`${this.tasksUrl}/user/${employeeId}`);
     }
 
+    /**
+     * Streams task changes pushed by the server (Server-Sent Events). Admins receive every change,
+     * other users changes to their own tasks.
+     *
+     * EventSource cannot send the Authorization header, so the stream is read with fetch. The
+     * observable completes when the server ends the stream and errors if the connection fails;
+     * either way, events may have been missed, so callers should reload before resubscribing.
+     *
+     * @returns {Observable<TaskEvent>} An observable emitting each change as it is committed.
+     */
+    streamTaskEvents(): Observable<TaskEvent> {
+        return new Observable<TaskEvent>(subscriber => {
+            const controller = new AbortController();
+            const token = sessionStorage.getItem('token');
+
+            fetch(`${this.tasksUrl}/stream`, {
+                headers: token ? { Authorization: `Bearer ${token}`, Accept: 'text/event-stream' }
+                               : { Accept: 'text/event-stream' },
+                signal: controller.signal
+            }).then(async response => {
+                if (!response.ok || !response.body) {
+                    throw new Error(`Task stream failed with status ${response.status}`);
+                }
+                const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+                let buffer = '';
+                while (true) {
+                    const { value, done } = await reader.read();
+                    if (done) {
+                        break;
+                    }
+                    buffer += value;
+                    // Events are separated by a blank line; comment lines (":ping") carry no data
+                    let end;
+                    while ((end = buffer.indexOf('\n\n')) >= 0) {
+                        const data = buffer.slice(0, end).split('\n')
+                            .filter(line => line.startsWith('data:'))
+                            .map(line => line.slice(5))
+                            .join('\n');
+                        buffer = buffer.slice(end + 2);
+                        if (data) {
+                            subscriber.next(JSON.parse(data) as TaskEvent);
+                        }
+                    }
+                }
+                subscriber.complete();
+            }).catch(error => {
+                if (!controller.signal.aborted) {
+                    subscriber.error(error);
+                }
+            });
+
+            return () => controller.abort();
+        });
+    }
+
     /**
      * Saves a new task to the backend.
      *
@@ -56,6 +180,18 @@ export class TaskService {
         return this.http.put<Task>(`${this.tasksUrl}/${id}`, task);
     }
 
+    /**
+     * Changes only the given fields of a task. Include the task's version to have the request fail
+     * with status 409 if someone else changed the task since it was loaded.
+     *
+     * @param id The ID of the task to update.
+     * @param changes The fields to change; a field set to null is cleared.
+     * @returns {Observable<Task>} An observable containing the updated task.
+     */
+    patchTask(id: number, changes: Partial<Task>): Observable<Task> {
+        return this.http.patch<Task>(`${this.tasksUrl}/${id}`, changes);
+    }
+
     /**
      * Deletes a task by its ID.
      *